@@ -0,0 +1,103 @@
+package com.bitget.custom.api;
+
+import com.bitget.custom.entity.*;
+import com.bitget.openapi.dto.response.ResponseResult;
+import retrofit2.Call;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.QueryMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 带返回类型的 v2 接口，响应体直接解码为 {@code ResponseResult<T>}，
+ * 通过 {@code client.bitget().v2().createRetrofit(BitgetMixApi.class)} 获取
+ **/
+public interface BitgetMixApi {
+
+    @GET("/api/v2/mix/account/accounts")
+    Call<ResponseResult<List<BitgetAccountsResp>>> accounts(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/account/account")
+    Call<ResponseResult<BitgetAccountResp>> account(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/account/open-count")
+    Call<ResponseResult<BitgetOpenCountResp>> openCount(@QueryMap Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/account/set-leverage")
+    Call<ResponseResult<BitgetSetLeverageResp>> setLeverage(@Body Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/account/set-margin-mode")
+    Call<ResponseResult<BitgetSetMarginModeResp>> setMarginMode(@Body Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/account/set-position-mode")
+    Call<ResponseResult<BitgetSetPositionModeResp>> setPositionMode(@Body Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/position/all-position")
+    Call<ResponseResult<List<BitgetAllPositionResp>>> allPosition(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/position/single-position")
+    Call<ResponseResult<List<BitgetAllPositionResp>>> singlePosition(@QueryMap Map<String, String> paramMap);
+
+    /**
+     * data 为 {list, endId}，list 由调用方转换
+     **/
+    @GET("/api/v2/mix/position/history-position")
+    Call<ResponseResult<Map<String, Object>>> historyPosition(@QueryMap Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/order/place-order")
+    Call<ResponseResult<BitgetPlaceOrderResp>> placeOrder(@Body Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/order/detail")
+    Call<ResponseResult<BitgetOrderDetailResp>> orderDetail(@QueryMap Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/order/batch-place-order")
+    Call<ResponseResult<BitgetBatchPlaceOrderResp>> batchPlaceOrder(@Body Map<String, Object> paramMap);
+
+    @POST("/api/v2/mix/order/batch-cancel-orders")
+    Call<ResponseResult<BitgetBatchCancelOrdersResp>> batchCancelOrders(@Body Map<String, Object> paramMap);
+
+    @GET("/api/v2/mix/order/orders-pending")
+    Call<ResponseResult<BitgetOrdersPendingResp>> ordersPending(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/order/orders-plan-pending")
+    Call<ResponseResult<BitgetOrdersPlanPendingResp>> ordersPlanPending(@QueryMap Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/order/place-tpsl-order")
+    Call<ResponseResult<BitgetPlaceTpslOrderResp>> placeTpslOrder(@Body Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/order/modify-tpsl-order")
+    Call<ResponseResult<BitgetPlaceTpslOrderResp>> modifyTpslOrder(@Body Map<String, String> paramMap);
+
+    @POST("/api/v2/mix/order/close-positions")
+    Call<ResponseResult<BitgetClosePositionsResp>> closePositions(@Body Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/contracts")
+    Call<ResponseResult<List<BitgetContractsResp>>> contracts(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/ticker")
+    Call<ResponseResult<List<BitgetMixMarketTickerResp>>> ticker(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/tickers")
+    Call<ResponseResult<List<BitgetMixMarketTickerResp>>> tickers(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/orderbook")
+    Call<ResponseResult<BitgetMixMarketOrderbookResp>> orderbook(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/query-position-lever")
+    Call<ResponseResult<List<BitgetQueryPositionLeverResp>>> queryPositionLever(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/candles")
+    Call<ResponseResult<List<BitgetMixMarketCandlesResp>>> candles(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/mix/market/history-candles")
+    Call<ResponseResult<List<BitgetMixMarketCandlesResp>>> historyCandles(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/spot/market/tickers")
+    Call<ResponseResult<List<BitgetTickersResp>>> spotTickers(@QueryMap Map<String, String> paramMap);
+
+    @GET("/api/v2/spot/market/candles")
+    Call<ResponseResult<List<BitgetCandlesResp>>> spotCandles(@QueryMap Map<String, String> paramMap);
+}
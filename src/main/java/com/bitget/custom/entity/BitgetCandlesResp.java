@@ -1,10 +1,16 @@
 package com.bitget.custom.entity;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -12,6 +18,7 @@ import java.util.List;
 @Setter
 @ToString
 @NoArgsConstructor
+@JsonDeserialize(using = BitgetCandlesResp.Deserializer.class)
 public class BitgetCandlesResp {
 
     /**
@@ -67,4 +74,43 @@ public class BitgetCandlesResp {
         this.usdtVolume = new BigDecimal(datas.get(6));
         this.quoteVolume = new BigDecimal(datas.get(7));
     }
+
+    /**
+     * 直接按数组下标读取 token，省去中间的 {@code List<String>}，多余的元素跳过
+     */
+    static final class Deserializer extends JsonDeserializer<BitgetCandlesResp> {
+
+        @Override
+        public BitgetCandlesResp deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (BitgetCandlesResp) ctxt.handleUnexpectedToken(BitgetCandlesResp.class, p);
+            }
+            BitgetCandlesResp candle = new BitgetCandlesResp();
+            int index = 0;
+            for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                switch (index++) {
+                    case 0 -> candle.timestamp = p.getValueAsLong();
+                    case 1 -> candle.openPrice = readDecimal(p);
+                    case 2 -> candle.highPrice = readDecimal(p);
+                    case 3 -> candle.lowPrice = readDecimal(p);
+                    case 4 -> candle.closePrice = readDecimal(p);
+                    case 5 -> candle.baseVolume = readDecimal(p);
+                    case 6 -> candle.usdtVolume = readDecimal(p);
+                    case 7 -> candle.quoteVolume = readDecimal(p);
+                    default -> p.skipChildren();
+                }
+            }
+            if (index < 8) {
+                throw new IllegalArgumentException("Kline data format error");
+            }
+            return candle;
+        }
+
+        private static BigDecimal readDecimal(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return new BigDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            }
+            return p.getDecimalValue();
+        }
+    }
 }
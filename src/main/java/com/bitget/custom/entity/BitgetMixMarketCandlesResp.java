@@ -1,10 +1,16 @@
 package com.bitget.custom.entity;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -15,6 +21,7 @@ import java.util.List;
 @Setter
 @ToString
 @NoArgsConstructor
+@JsonDeserialize(using = BitgetMixMarketCandlesResp.Deserializer.class)
 public class BitgetMixMarketCandlesResp {
 
     /**
@@ -65,4 +72,41 @@ public class BitgetMixMarketCandlesResp {
         this.quoteVolume = new BigDecimal(datas.get(6));
     }
 
+    /**
+     * 直接按数组下标读取 token，省去中间的 {@code List<String>}，多余的元素跳过
+     */
+    static final class Deserializer extends JsonDeserializer<BitgetMixMarketCandlesResp> {
+
+        @Override
+        public BitgetMixMarketCandlesResp deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                return (BitgetMixMarketCandlesResp) ctxt.handleUnexpectedToken(BitgetMixMarketCandlesResp.class, p);
+            }
+            BitgetMixMarketCandlesResp candle = new BitgetMixMarketCandlesResp();
+            int index = 0;
+            for (JsonToken t = p.nextToken(); t != JsonToken.END_ARRAY; t = p.nextToken()) {
+                switch (index++) {
+                    case 0 -> candle.timestamp = p.getValueAsLong();
+                    case 1 -> candle.openPrice = readDecimal(p);
+                    case 2 -> candle.highPrice = readDecimal(p);
+                    case 3 -> candle.lowPrice = readDecimal(p);
+                    case 4 -> candle.closePrice = readDecimal(p);
+                    case 5 -> candle.baseVolume = readDecimal(p);
+                    case 6 -> candle.quoteVolume = readDecimal(p);
+                    default -> p.skipChildren();
+                }
+            }
+            if (index < 7) {
+                throw new IllegalArgumentException("Kline data format error");
+            }
+            return candle;
+        }
+
+        private static BigDecimal readDecimal(JsonParser p) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING) {
+                return new BigDecimal(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            }
+            return p.getDecimalValue();
+        }
+    }
 }
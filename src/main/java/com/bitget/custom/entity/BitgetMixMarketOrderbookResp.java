@@ -0,0 +1,31 @@
+package com.bitget.custom.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 合约深度返回结果
+ **/
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BitgetMixMarketOrderbookResp {
+
+    /**
+     * 卖盘 [价格, 数量]，价格由低到高
+     **/
+    private List<List<String>> asks;
+    /**
+     * 买盘 [价格, 数量]，价格由高到低
+     **/
+    private List<List<String>> bids;
+    /**
+     * 深度生成时间戳
+     **/
+    private String ts;
+}
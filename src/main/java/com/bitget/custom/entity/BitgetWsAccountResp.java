@@ -0,0 +1,53 @@
+package com.bitget.custom.entity;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * websocket 私有频道 account 账户推送
+ **/
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BitgetWsAccountResp {
+
+    /**
+     * 保证金币种
+     **/
+    private String marginCoin;
+    /**
+     * 冻结数量
+     **/
+    private String frozen;
+    /**
+     * 可用数量
+     **/
+    private String available;
+    /**
+     * 最大可开仓数量
+     **/
+    private String maxOpenPosAvailable;
+    /**
+     * 最大可转出数量
+     **/
+    private String maxTransferOut;
+    /**
+     * 账户权益
+     **/
+    private String equity;
+    /**
+     * 折算USDT权益
+     **/
+    private String usdtEquity;
+    /**
+     * 全仓风险率
+     **/
+    private String crossedRiskRate;
+    /**
+     * 未实现盈亏
+     **/
+    private String unrealizedPL;
+}
@@ -0,0 +1,108 @@
+package com.bitget.custom.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * websocket 私有频道 orders-algo 计划委托推送
+ **/
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BitgetWsOrderAlgoResp {
+
+    /**
+     * 产品ID，如 BTCUSDT
+     **/
+    private String instId;
+    /**
+     * 计划委托ID
+     **/
+    private String orderId;
+    /**
+     * 自定义订单ID
+     **/
+    private String clientOid;
+    /**
+     * 触发价格
+     **/
+    private String triggerPrice;
+    /**
+     * 触发类型 fill_price 成交价 / mark_price 标记价
+     **/
+    private String triggerType;
+    /**
+     * 触发时间
+     **/
+    private String triggerTime;
+    /**
+     * 委托类型 pl 止盈止损 / tp 止盈 / sl 止损 / normal_plan 计划委托 / track_plan 追踪委托
+     **/
+    private String planType;
+    /**
+     * 委托价格
+     **/
+    private String price;
+    /**
+     * 委托数量
+     **/
+    private String size;
+    /**
+     * 实际成交数量
+     **/
+    private String actualSize;
+    /**
+     * 订单类型 limit / market
+     **/
+    private String orderType;
+    /**
+     * 交易方向 buy / sell
+     **/
+    private String side;
+    /**
+     * 开平仓方向 open / close
+     **/
+    private String tradeSide;
+    /**
+     * 持仓方向 long / short / net
+     **/
+    private String posSide;
+    /**
+     * 保证金币种
+     **/
+    private String marginCoin;
+    /**
+     * 保证金模式 isolated / crossed
+     **/
+    private String marginMode;
+    /**
+     * 订单来源
+     **/
+    private String enterPointSource;
+    /**
+     * 状态 live 未触发 / executed 已触发 / fail_execute 触发失败 / cancelled 已撤销
+     **/
+    private String status;
+    /**
+     * 止盈触发价
+     **/
+    private String stopSurplusTriggerPrice;
+    /**
+     * 止损触发价
+     **/
+    private String stopLossTriggerPrice;
+    /**
+     * 创建时间
+     **/
+    @JsonProperty("cTime")
+    private String cTime;
+    /**
+     * 更新时间
+     **/
+    @JsonProperty("uTime")
+    private String uTime;
+}
@@ -0,0 +1,140 @@
+package com.bitget.custom.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * websocket 私有频道 orders 订单推送
+ **/
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BitgetWsOrderResp {
+
+    /**
+     * 产品ID，如 BTCUSDT
+     **/
+    private String instId;
+    /**
+     * 订单ID
+     **/
+    private String orderId;
+    /**
+     * 自定义订单ID
+     **/
+    private String clientOid;
+    /**
+     * 委托价格
+     **/
+    private String price;
+    /**
+     * 委托数量
+     **/
+    private String size;
+    /**
+     * 订单名义价值(USD)
+     **/
+    private String notionalUsd;
+    /**
+     * 订单类型 limit 限价单 / market 市价单
+     **/
+    private String orderType;
+    /**
+     * 订单有效期
+     **/
+    private String force;
+    /**
+     * 交易方向 buy / sell
+     **/
+    private String side;
+    /**
+     * 持仓方向 long / short / net
+     **/
+    private String posSide;
+    /**
+     * 开平仓方向 open / close
+     **/
+    private String tradeSide;
+    /**
+     * 保证金模式 isolated / crossed
+     **/
+    private String marginMode;
+    /**
+     * 保证金币种
+     **/
+    private String marginCoin;
+    /**
+     * 最新成交价格
+     **/
+    private String fillPrice;
+    /**
+     * 最新成交ID
+     **/
+    private String tradeId;
+    /**
+     * 最新成交数量
+     **/
+    private String baseVolume;
+    /**
+     * 最新成交时间
+     **/
+    private String fillTime;
+    /**
+     * 最新成交手续费
+     **/
+    private String fillFee;
+    /**
+     * 最新成交手续费币种
+     **/
+    private String fillFeeCoin;
+    /**
+     * 成交流动性方向 T taker / M maker
+     **/
+    private String tradeScope;
+    /**
+     * 累计成交数量
+     **/
+    private String accBaseVolume;
+    /**
+     * 成交均价
+     **/
+    private String priceAvg;
+    /**
+     * 订单状态 live 新建 / partially_filled 部分成交 / filled 全部成交 / canceled 已撤销
+     **/
+    private String status;
+    /**
+     * 杠杆倍数
+     **/
+    private String leverage;
+    /**
+     * 是否只减仓 yes / no
+     **/
+    private String reduceOnly;
+    /**
+     * 订单来源
+     **/
+    private String enterPointSource;
+    /**
+     * 预设止盈价格
+     **/
+    private String presetStopSurplusPrice;
+    /**
+     * 预设止损价格
+     **/
+    private String presetStopLossPrice;
+    /**
+     * 创建时间
+     **/
+    @JsonProperty("cTime")
+    private String cTime;
+    /**
+     * 更新时间
+     **/
+    @JsonProperty("uTime")
+    private String uTime;
+}
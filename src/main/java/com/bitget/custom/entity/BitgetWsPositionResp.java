@@ -0,0 +1,112 @@
+package com.bitget.custom.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * websocket 私有频道 positions 持仓推送
+ **/
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class BitgetWsPositionResp {
+
+    /**
+     * 持仓ID
+     **/
+    private String posId;
+    /**
+     * 产品ID，如 BTCUSDT
+     **/
+    private String instId;
+    /**
+     * 保证金币种
+     **/
+    private String marginCoin;
+    /**
+     * 保证金数量
+     **/
+    private String marginSize;
+    /**
+     * 保证金模式 isolated / crossed
+     **/
+    private String marginMode;
+    /**
+     * 持仓方向 long / short
+     **/
+    private String holdSide;
+    /**
+     * 持仓模式 one_way_mode / hedge_mode
+     **/
+    private String posMode;
+    /**
+     * 持仓总量
+     **/
+    private String total;
+    /**
+     * 可平仓数量
+     **/
+    private String available;
+    /**
+     * 冻结数量
+     **/
+    private String frozen;
+    /**
+     * 开仓均价
+     **/
+    private String openPriceAvg;
+    /**
+     * 杠杆倍数
+     **/
+    private String leverage;
+    /**
+     * 已实现盈亏
+     **/
+    private String achievedProfits;
+    /**
+     * 未实现盈亏
+     **/
+    private String unrealizedPL;
+    /**
+     * 未实现收益率
+     **/
+    private String unrealizedPLR;
+    /**
+     * 预估强平价
+     **/
+    private String liquidationPrice;
+    /**
+     * 维持保证金率
+     **/
+    private String keepMarginRate;
+    /**
+     * 保证金率
+     **/
+    private String marginRate;
+    /**
+     * 盈亏平衡价
+     **/
+    private String breakEvenPrice;
+    /**
+     * 资金费用累计
+     **/
+    private String totalFee;
+    /**
+     * 已扣手续费
+     **/
+    private String deductedFee;
+    /**
+     * 创建时间
+     **/
+    @JsonProperty("cTime")
+    private String cTime;
+    /**
+     * 更新时间
+     **/
+    @JsonProperty("uTime")
+    private String uTime;
+}
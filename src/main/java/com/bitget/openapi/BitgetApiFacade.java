@@ -10,30 +10,60 @@ import com.bitget.openapi.service.v1.spot.SpotMarketService;
 import com.bitget.openapi.service.v1.spot.SpotOrderService;
 import com.bitget.openapi.service.v1.spot.SpotWalletService;
 
+/**
+ * 不可变的接口注册表：各版本的 service 及其 Retrofit 代理在构造时创建一次，之后每次调用直接复用
+ */
 public class BitgetApiFacade {
 
-    private final ApiClient apiClient;
+    private final BgEndpoint v1;
+
+    private final BgEndpointV2 v2;
 
     public BitgetApiFacade(ApiClient apiClient) {
-        this.apiClient = apiClient;
+        this.v1 = new BgEndpoint(apiClient);
+        this.v2 = new BgEndpointV2(apiClient);
     }
 
     /**
      * REST API Endpoint
      */
     public BitgetApiFacade.BgEndpoint v1() {
-        return new BitgetApiFacade.BgEndpoint(apiClient);
+        return v1;
     }
 
     public BitgetApiFacade.BgEndpointV2 v2() {
-        return new BitgetApiFacade.BgEndpointV2(apiClient);
+        return v2;
     }
 
     public static class BgEndpoint {
         private final ApiClient apiClient;
 
+        private final BitgetService request;
+
+        private final MixMarketService mixMarket;
+
+        private final MixAccountService mixAccount;
+
+        private final MixOrderService mixOrder;
+
+        private final SpotAccountService spotAccount;
+
+        private final SpotMarketService spotMarket;
+
+        private final SpotOrderService spotOrder;
+
+        private final SpotWalletService spotWallet;
+
         BgEndpoint(ApiClient apiClient) {
             this.apiClient = apiClient;
+            this.request = new BitgetService(apiClient);
+            this.mixMarket = new MixMarketService(apiClient);
+            this.mixAccount = new MixAccountService(apiClient);
+            this.mixOrder = new MixOrderService(apiClient);
+            this.spotAccount = new SpotAccountService(apiClient);
+            this.spotMarket = new SpotMarketService(apiClient);
+            this.spotOrder = new SpotOrderService(apiClient);
+            this.spotWallet = new SpotWalletService(apiClient);
         }
 
         public <T> T createRetrofit(Class<T> clazz) {
@@ -44,64 +74,88 @@ public class BitgetApiFacade {
          * bitget service
          */
         public BitgetService request() {
-            return new BitgetService(apiClient);
+            return request;
         }
 
         /**
          * market service
          */
         public MixMarketService mixMarket() {
-            return new MixMarketService(apiClient);
+            return mixMarket;
         }
 
         /**
          * account service
          */
         public MixAccountService mixAccount() {
-            return new MixAccountService(apiClient);
+            return mixAccount;
         }
 
         /**
          * order service
          */
         public MixOrderService mixOrder() {
-            return new MixOrderService(apiClient);
+            return mixOrder;
         }
 
         /**
          * account service
          */
         public SpotAccountService spotAccount() {
-            return new SpotAccountService(apiClient);
+            return spotAccount;
         }
 
         /**
          * market service
          */
         public SpotMarketService spotMarket() {
-            return new SpotMarketService(apiClient);
+            return spotMarket;
         }
 
         /**
          * order service
          */
         public SpotOrderService spotOrder() {
-            return new SpotOrderService(apiClient);
+            return spotOrder;
         }
 
         /**
          * wallet service
          */
         public SpotWalletService spotWallet() {
-            return new SpotWalletService(apiClient);
+            return spotWallet;
         }
     }
 
     public static class BgEndpointV2 {
         private final ApiClient apiClient;
 
+        private final BitgetService request;
+
+        private final com.bitget.openapi.service.v2.mix.MixMarketService mixMarket;
+
+        private final com.bitget.openapi.service.v2.mix.MixAccountService mixAccount;
+
+        private final com.bitget.openapi.service.v2.mix.MixOrderService mixOrder;
+
+        private final com.bitget.openapi.service.v2.spot.SpotAccountService spotAccount;
+
+        private final com.bitget.openapi.service.v2.spot.SpotMarketService spotMarket;
+
+        private final com.bitget.openapi.service.v2.spot.SpotOrderService spotOrder;
+
+        private final com.bitget.openapi.service.v2.spot.SpotWalletService spotWallet;
+
         BgEndpointV2(ApiClient apiClient) {
             this.apiClient = apiClient;
+            this.request = new BitgetService(apiClient);
+            this.mixMarket = new com.bitget.openapi.service.v2.mix.MixMarketService(apiClient);
+            this.mixAccount = new com.bitget.openapi.service.v2.mix.MixAccountService(apiClient);
+            this.mixOrder = new com.bitget.openapi.service.v2.mix.MixOrderService(apiClient);
+            this.spotAccount = new com.bitget.openapi.service.v2.spot.SpotAccountService(apiClient);
+            this.spotMarket = new com.bitget.openapi.service.v2.spot.SpotMarketService(apiClient);
+            this.spotOrder = new com.bitget.openapi.service.v2.spot.SpotOrderService(apiClient);
+            this.spotWallet = new com.bitget.openapi.service.v2.spot.SpotWalletService(apiClient);
         }
 
         public <T> T createRetrofit(Class<T> clazz) {
@@ -112,56 +166,56 @@ public class BitgetApiFacade {
          * bitget service
          */
         public BitgetService request() {
-            return new BitgetService(apiClient);
+            return request;
         }
 
         /**
          * market service
          */
         public com.bitget.openapi.service.v2.mix.MixMarketService mixMarket() {
-            return new com.bitget.openapi.service.v2.mix.MixMarketService(apiClient);
+            return mixMarket;
         }
 
         /**
          * account service
          */
         public com.bitget.openapi.service.v2.mix.MixAccountService mixAccount() {
-            return new com.bitget.openapi.service.v2.mix.MixAccountService(apiClient);
+            return mixAccount;
         }
 
         /**
          * order service
          */
         public com.bitget.openapi.service.v2.mix.MixOrderService mixOrder() {
-            return new com.bitget.openapi.service.v2.mix.MixOrderService(apiClient);
+            return mixOrder;
         }
 
         /**
          * account service
          */
         public com.bitget.openapi.service.v2.spot.SpotAccountService spotAccount() {
-            return new com.bitget.openapi.service.v2.spot.SpotAccountService(apiClient);
+            return spotAccount;
         }
 
         /**
          * market service
          */
         public com.bitget.openapi.service.v2.spot.SpotMarketService spotMarket() {
-            return new com.bitget.openapi.service.v2.spot.SpotMarketService(apiClient);
+            return spotMarket;
         }
 
         /**
          * order service
          */
         public com.bitget.openapi.service.v2.spot.SpotOrderService spotOrder() {
-            return new com.bitget.openapi.service.v2.spot.SpotOrderService(apiClient);
+            return spotOrder;
         }
 
         /**
          * wallet service
          */
         public com.bitget.openapi.service.v2.spot.SpotWalletService spotWallet() {
-            return new com.bitget.openapi.service.v2.spot.SpotWalletService(apiClient);
+            return spotWallet;
         }
     }
 }
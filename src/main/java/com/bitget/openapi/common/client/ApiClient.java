@@ -4,8 +4,7 @@ import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import com.bitget.openapi.common.constant.HttpHeader;
 import com.bitget.openapi.common.domain.ClientParameter;
-import com.bitget.openapi.common.enums.SignTypeEnum;
-import com.bitget.openapi.common.utils.SignatureUtils;
+import com.bitget.openapi.common.utils.RequestSigner;
 import com.bitget.openapi.dto.response.ResponseResult;
 import okhttp3.*;
 import okio.Buffer;
@@ -15,8 +14,10 @@ import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -32,21 +33,30 @@ public class ApiClient {
      */
     private final ClientParameter parameter;
 
+    /**
+     * 已创建的 Retrofit 代理，同一接口只创建一次
+     */
+    private final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
     ApiClient(ClientParameter parameter) {
         this.parameter = parameter;
         retrofit = new Retrofit.Builder()
                 .baseUrl(parameter.getBaseUrl())
+                .addConverterFactory(new ResponseResultConverterFactory())
                 .addConverterFactory(GsonConverterFactory.create())
                 .client(httpClient())
                 .build();
     }
 
     public <T> T create(Class<T> clazz) {
-        return retrofit.create(clazz);
+        return clazz.cast(services.computeIfAbsent(clazz, retrofit::create));
     }
 
+    /**
+     * 基于共享连接池派生，每个账号只追加自己的签名拦截器和超时
+     */
     private OkHttpClient httpClient() {
-        return new OkHttpClient.Builder()
+        return BitgetHttpTransport.shared().newBuilder()
                 .addInterceptor(new SignInterceptor(parameter))
                 .addInterceptor(new HttpStatusInterceptor())
                 .connectTimeout(parameter.getTimeout(), TimeUnit.SECONDS)
@@ -61,12 +71,18 @@ public class ApiClient {
 
         private final ClientParameter clientParameter;
 
+        /**
+         * 账户密钥只在创建客户端时解析一次
+         */
+        private final RequestSigner signer;
+
         SignInterceptor(ClientParameter clientParameter) {
             this.clientParameter = clientParameter;
+            this.signer = new RequestSigner(clientParameter.getSecretKey(), clientParameter.getSignType());
         }
 
         @Override
-        public Response intercept(Chain chain) {
+        public Response intercept(Chain chain) throws IOException {
             Request original = chain.request();
             String timestamp = String.valueOf(System.currentTimeMillis());
             String contentType = "application/json";
@@ -78,21 +94,14 @@ public class ApiClient {
             if (StringUtils.isNotBlank(sortedQuery)) {
                 url = url + "?" + sortedQuery;
             }
+            byte[] body = original.body() == null ? null : bodyToBytes(original.body());
+            Request request;
             try {
-                String sign = SignatureUtils.generate(timestamp,
+                String sign = signer.sign(timestamp,
                         original.method(),
                         original.url().url().getPath(),
                         sortedQuery, // original.url().encodedQuery(),
-                        original.body() == null ? "" : bodyToString(original),
-                        clientParameter.getSecretKey());
-                if (SignTypeEnum.RSA == clientParameter.getSignType()) {
-                    sign = SignatureUtils.restGenerateRsaSignature(timestamp,
-                            original.method(),
-                            original.url().url().getPath(),
-                            sortedQuery, // original.url().encodedQuery(),
-                            original.body() == null ? "" : bodyToString(original),
-                            clientParameter.getSecretKey());
-                }
+                        body);
 
                 String localFormat = "locale=%s";
                 Request.Builder requestBuilder = original.newBuilder()
@@ -104,20 +113,24 @@ public class ApiClient {
                         .addHeader(HttpHeader.LOCALE, clientParameter.getLocale())
                         .addHeader(HttpHeader.ACCESS_TIMESTAMP, timestamp)
                         .url(url);
+                if (body != null) {
+                    // 发送签名时序列化好的字节，避免请求体再序列化一次
+                    requestBuilder.method(original.method(), RequestBody.create(body, original.body().contentType()));
+                }
 
-                Request request = requestBuilder.build();
-                return chain.proceed(request);
+                request = requestBuilder.build();
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
+            // 网络异常以 IOException 抛出，异步调用时由 Callback.onFailure 接收，不会在调度线程上抛出
+            return chain.proceed(request);
         }
 
-        private String bodyToString(Request request) {
+        private byte[] bodyToBytes(RequestBody requestBody) {
             try {
-                Request copy = request.newBuilder().build();
                 Buffer buffer = new Buffer();
-                copy.body().writeTo(buffer);
-                return buffer.readUtf8();
+                requestBody.writeTo(buffer);
+                return buffer.readByteArray();
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
@@ -179,7 +192,7 @@ public class ApiClient {
             }
 
             if (response.body() == null) {
-                throw new RuntimeException("empty response body httpCode:" + response.code());
+                throw new IOException("empty response body httpCode:" + response.code());
             }
 
             try {
@@ -189,7 +202,7 @@ public class ApiClient {
                 ResponseBody body = ResponseBody.create(contentType, JSON.toJSONString(bizResponse));
                 return response.newBuilder().code(200).body(body).build();
             } catch (Exception e) {
-                throw new RuntimeException("parse response error:" + e.getMessage());
+                throw new IOException("parse response error:" + e.getMessage(), e);
             }
         }
     }
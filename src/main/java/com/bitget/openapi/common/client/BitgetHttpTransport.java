@@ -0,0 +1,133 @@
+package com.bitget.openapi.common.client;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * 所有账号、websocket 与通用 HTTP 工具共用的 OkHttp 传输层
+ * <p>
+ * 连接池与调度器只有一份，各账号通过 {@link #newBuilder()} 派生自己的客户端（签名拦截器、超时），
+ * 派生客户端与共享客户端的连接地址一致，可以复用同一批连接；
+ * {@link #keepAlive} 在启动时预建连接，并定时请求公共接口保持连接活跃，下单时不必重新 DNS / TCP / TLS 握手
+ */
+@Slf4j
+public final class BitgetHttpTransport {
+
+    /**
+     * 保活请求的间隔，需小于服务端与负载均衡的空闲断开时间
+     */
+    public static final long KEEP_ALIVE_INTERVAL_SECONDS = 30L;
+
+    /**
+     * 每次预热并发的请求数，HTTP/1.1 下即预建的连接数，HTTP/2 下多余的请求复用同一条连接
+     */
+    public static final int WARM_UP_CONNECTIONS = 4;
+
+    /**
+     * 预热与保活请求的公共接口，不需要签名
+     */
+    private static final String WARM_UP_PATH = "api/v2/public/time";
+
+    private static final BitgetHttpTransport SHARED = new BitgetHttpTransport();
+
+    private final OkHttpClient client;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bitget-http-keep-alive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 已启动保活的地址，同一地址只保活一次
+     */
+    private final Map<HttpUrl, ScheduledFuture<?>> keepAlives = new ConcurrentHashMap<>();
+
+    private BitgetHttpTransport() {
+        // 会话接口通过 enqueue 异步执行，默认每个 host 只允许 5 个并发请求，请求频率由账号限流器控制
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(128);
+        dispatcher.setMaxRequestsPerHost(64);
+        client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(32, 5, TimeUnit.MINUTES))
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public static BitgetHttpTransport shared() {
+        return SHARED;
+    }
+
+    /**
+     * 基于共享连接池与调度器派生客户端，调用方只追加拦截器、超时等不影响连接复用的配置
+     */
+    public OkHttpClient.Builder newBuilder() {
+        return client.newBuilder();
+    }
+
+    public OkHttpClient client() {
+        return client;
+    }
+
+    /**
+     * 并发请求公共接口预建连接，返回的 future 在所有请求结束后完成，单个请求失败不影响其他请求
+     *
+     * @param baseUrl 接口地址，需以 / 结尾
+     */
+    public CompletableFuture<Void> warmUp(String baseUrl) {
+        HttpUrl url = HttpUrl.get(baseUrl).resolve(WARM_UP_PATH);
+        CompletableFuture<?>[] futures = new CompletableFuture[WARM_UP_CONNECTIONS];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = ping(url);
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * 立即预热，之后每 {@link #KEEP_ALIVE_INTERVAL_SECONDS} 秒再预热一次，同一地址重复调用无效
+     */
+    public void keepAlive(String baseUrl) {
+        keepAlives.computeIfAbsent(HttpUrl.get(baseUrl), url -> timer.scheduleWithFixedDelay(() -> {
+            try {
+                warmUp(url.toString());
+            } catch (Exception e) {
+                log.error("BitgetHttpTransport: 连接保活异常 url={}", url, e);
+            }
+        }, 0, KEEP_ALIVE_INTERVAL_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 停止所有地址的保活，已建立的连接按连接池的空闲时间回收
+     */
+    public void stopKeepAlive() {
+        keepAlives.values().forEach(future -> future.cancel(false));
+        keepAlives.clear();
+    }
+
+    private CompletableFuture<Void> ping(HttpUrl url) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        client.newCall(new Request.Builder().url(url).get().build()).enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                response.close();
+                future.complete(null);
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("BitgetHttpTransport: 预热请求失败 url={} error={}", url, e.getMessage());
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+}
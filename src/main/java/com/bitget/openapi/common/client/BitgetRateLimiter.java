@@ -0,0 +1,173 @@
+package com.bitget.openapi.common.client;
+
+import com.bitget.openapi.common.enums.EndpointGroupEnum;
+import com.bitget.openapi.common.enums.RequestPriorityEnum;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个账号的客户端限流器，每个接口组一个令牌桶
+ * 按 IP 限频的接口组（{@link EndpointGroupEnum#isIpScoped()}）在所有限流器之间共用同一个令牌桶
+ * <p>
+ * {@link #acquire} 不阻塞调用线程：有令牌时返回已完成的 future，否则按优先级排队，
+ * 由共享的调度线程在令牌补充后依次完成；被调用方取消的等待者直接跳过，不占用令牌
+ */
+public class BitgetRateLimiter {
+
+    private static final CompletableFuture<Void> GRANTED = CompletableFuture.completedFuture(null);
+
+    /**
+     * 所有账号共用一个调度线程，只负责到点发放令牌
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bitget-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 按 IP 限频的接口组，本进程所有账号共用
+     */
+    private static final Map<EndpointGroupEnum, TokenBucket> IP_BUCKETS = new EnumMap<>(EndpointGroupEnum.class);
+
+    static {
+        for (EndpointGroupEnum group : EndpointGroupEnum.values()) {
+            if (group.isIpScoped()) {
+                IP_BUCKETS.put(group, new TokenBucket(group.getPermitsPerSecond()));
+            }
+        }
+    }
+
+    private final Map<EndpointGroupEnum, TokenBucket> buckets = new EnumMap<>(EndpointGroupEnum.class);
+
+    public BitgetRateLimiter() {
+        for (EndpointGroupEnum group : EndpointGroupEnum.values()) {
+            buckets.put(group, group.isIpScoped() ? IP_BUCKETS.get(group) : new TokenBucket(group.getPermitsPerSecond()));
+        }
+    }
+
+    /**
+     * 按接口组默认优先级获取一个令牌
+     */
+    public CompletableFuture<Void> acquire(EndpointGroupEnum group) {
+        return acquire(group, group.getDefaultPriority());
+    }
+
+    /**
+     * 获取一个令牌，返回的 future 在获得令牌时完成，完成回调在调度线程上执行，不应阻塞
+     */
+    public CompletableFuture<Void> acquire(EndpointGroupEnum group, RequestPriorityEnum priority) {
+        return buckets.get(group).acquire(priority == null ? group.getDefaultPriority() : priority);
+    }
+
+    /**
+     * 当前排队等待令牌的请求数
+     */
+    public int getWaiting(EndpointGroupEnum group) {
+        return buckets.get(group).waiting();
+    }
+
+    private static final class TokenBucket {
+
+        private final double permitsPerNano;
+
+        private final double capacity;
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        private int waiting;
+
+        private boolean drainScheduled;
+
+        @SuppressWarnings("unchecked")
+        private final ArrayDeque<CompletableFuture<Void>>[] lanes = new ArrayDeque[RequestPriorityEnum.values().length];
+
+        TokenBucket(int permitsPerSecond) {
+            this.permitsPerNano = permitsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+            this.capacity = permitsPerSecond;
+            this.tokens = permitsPerSecond;
+            this.lastRefillNanos = System.nanoTime();
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new ArrayDeque<>();
+            }
+        }
+
+        synchronized CompletableFuture<Void> acquire(RequestPriorityEnum priority) {
+            refill();
+            if (waiting == 0 && tokens >= 1) {
+                tokens -= 1;
+                return GRANTED;
+            }
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            lanes[priority.ordinal()].addLast(future);
+            waiting++;
+            scheduleDrain();
+            return future;
+        }
+
+        synchronized int waiting() {
+            return waiting;
+        }
+
+        private void drain() {
+            List<CompletableFuture<Void>> granted = new ArrayList<>();
+            synchronized (this) {
+                drainScheduled = false;
+                refill();
+                for (int i = 0; i < lanes.length && waiting > 0; i++) {
+                    ArrayDeque<CompletableFuture<Void>> lane = lanes[i];
+                    while (!lane.isEmpty()) {
+                        CompletableFuture<Void> future = lane.peekFirst();
+                        if (future.isDone()) {
+                            lane.pollFirst();
+                            waiting--;
+                            continue;
+                        }
+                        if (tokens < 1) {
+                            break;
+                        }
+                        lane.pollFirst();
+                        waiting--;
+                        tokens -= 1;
+                        granted.add(future);
+                    }
+                    if (tokens < 1) {
+                        break;
+                    }
+                }
+                if (waiting > 0) {
+                    scheduleDrain();
+                }
+            }
+            // 在锁外完成，避免回调里再次 acquire 时与本桶互相等待
+            for (CompletableFuture<Void> future : granted) {
+                future.complete(null);
+            }
+        }
+
+        private void scheduleDrain() {
+            if (drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+            long delayNanos = tokens >= 1 ? 0L : (long) Math.ceil((1 - tokens) / permitsPerNano);
+            SCHEDULER.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.bitget.openapi.common.client;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 单个账号的查询请求合并器
+ * <p>
+ * 相同 key（请求路径 + 参数）的并发请求只发起一次 HTTP 调用，其余调用方等待同一个结果；
+ * 可选短时缓存，在 ttl 内直接返回上次成功的结果。异常结果不缓存。
+ * 返回的对象由多个调用方共享，调用方不应修改
+ */
+public class BitgetRequestCoalescer {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 每次 invalidate 加一，失效前发起的请求返回后不再写入缓存
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param key    请求标识，需包含路径和全部参数
+     * @param ttl    结果缓存时长，为空或为 0 时只合并并发请求
+     * @param loader 实际发起请求，只有第一个调用方会执行
+     * @return 每个调用方拿到独立的 future，取消不影响其他调用方
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(String key, Duration ttl, Supplier<CompletableFuture<T>> loader) {
+        Cached cached = cache.get(key);
+        if (cached != null && System.nanoTime() - cached.expiresAtNanos < 0) {
+            return CompletableFuture.completedFuture((T) cached.value);
+        }
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing.copy();
+        }
+        long gen = generation.get();
+        CompletableFuture<T> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+        loading.whenComplete((value, e) -> {
+            if (e == null && ttl != null && !ttl.isZero() && !ttl.isNegative() && gen == generation.get()) {
+                cache.put(key, new Cached(value, System.nanoTime() + ttl.toNanos()));
+            }
+            inFlight.remove(key, created);
+            if (e == null) {
+                created.complete(value);
+            } else {
+                created.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+        return (CompletableFuture<T>) created.copy();
+    }
+
+    /**
+     * 清空缓存并让之后的调用重新发起请求，下单、撤单、平仓等会改变账户状态的操作成功后调用
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+        inFlight.clear();
+    }
+
+    private record Cached(Object value, long expiresAtNanos) {
+    }
+}
@@ -15,6 +15,9 @@ import org.apache.commons.lang3.Validate;
 public class BitgetRestClient {
     private final ApiClient apiClient;
     private final ClientParameter configuration;
+    private final BitgetApiFacade facade;
+    private final BitgetRateLimiter rateLimiter = new BitgetRateLimiter();
+    private final BitgetRequestCoalescer coalescer = new BitgetRequestCoalescer();
 
     private BitgetRestClient(Builder builder) {
         configuration = builder.configuration;
@@ -28,6 +31,7 @@ public class BitgetRestClient {
         configuration.setLocale(ObjectUtils.defaultIfNull(configuration.getLocale(), SupportedLocaleEnum.EN_US.getName()));
 
         apiClient = new ApiClient(configuration);
+        facade = new BitgetApiFacade(apiClient);
     }
 
     public static Builder builder() {
@@ -35,10 +39,24 @@ public class BitgetRestClient {
     }
 
     /**
-     * mix api
+     * mix api，返回构造时创建的接口注册表，不会在每次调用时重建 service 和代理
      */
     public BitgetApiFacade bitget() {
-        return new BitgetApiFacade(apiClient);
+        return facade;
+    }
+
+    /**
+     * 账号级限流器，按接口组限制请求频率，按 IP 限频的接口组与其他账号共用令牌桶
+     */
+    public BitgetRateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * 账号级查询请求合并器
+     */
+    public BitgetRequestCoalescer coalescer() {
+        return coalescer;
     }
 
     /**
@@ -0,0 +1,45 @@
+package com.bitget.openapi.common.client;
+
+import com.bitget.openapi.dto.response.ResponseResult;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * 带泛型参数的 {@code ResponseResult<T>} 使用 Jackson 直接从响应流解码为最终类型，
+ * 不再经过 Gson 解码为 Map 再序列化、反序列化一遍；其他返回类型和请求体仍交给后面的转换器
+ */
+final class ResponseResultConverterFactory extends Converter.Factory {
+
+    /**
+     * 与业务层 JsonUtil 的反序列化配置保持一致
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(JsonParser.Feature.ALLOW_SINGLE_QUOTES, true)
+            .configure(JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES, true);
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (!(type instanceof ParameterizedType parameterized) || parameterized.getRawType() != ResponseResult.class) {
+            return null;
+        }
+        ObjectReader reader = MAPPER.readerFor(MAPPER.getTypeFactory().constructType(type));
+        return body -> {
+            try (body) {
+                return reader.readValue(body.byteStream());
+            }
+        };
+    }
+}
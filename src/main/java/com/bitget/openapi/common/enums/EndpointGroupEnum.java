@@ -0,0 +1,49 @@
+package com.bitget.openapi.common.enums;
+
+import lombok.Getter;
+
+/**
+ * 按 Bitget 文档限频规则划分的接口组，按 uid 限频的组同一账号共用一个令牌桶，按 IP 限频的组本进程内所有账号共用一个令牌桶
+ */
+@Getter
+public enum EndpointGroupEnum {
+    PLACE_ORDER(10, false, RequestPriorityEnum.ORDER, "下单 10次/1s (uid)"),
+    BATCH_PLACE_ORDER(5, false, RequestPriorityEnum.ORDER, "批量下单 5次/1s (uid)"),
+    CANCEL_ORDER(10, false, RequestPriorityEnum.ORDER, "撤单 10次/1s (uid)"),
+    CLOSE_POSITIONS(1, false, RequestPriorityEnum.ORDER, "一键市价平仓 1次/1s (uid)"),
+    TPSL_ORDER(10, false, RequestPriorityEnum.ORDER, "止盈止损计划委托 10次/1s (uid)"),
+    ORDER_QUERY(10, false, RequestPriorityEnum.QUERY, "订单详情、当前委托、当前计划委托 10次/1s (uid)"),
+    ACCOUNT_SETTING(5, false, RequestPriorityEnum.QUERY, "调整杠杆、保证金模式、持仓模式 5次/1s (uid)"),
+    /**
+     * 文档中这些接口各自单独限频，这里有意合用一个 10次/1s 的令牌桶，同一账号的账户类查询合计不超过该值；
+     * 比分别限频保守，并发查询时宁可排队多等，也不触发 429
+     */
+    ACCOUNT(10, false, RequestPriorityEnum.QUERY, "账户、仓位、可开数量、历史仓位 合计 10次/1s (uid)"),
+    POSITION_LEVER(10, true, RequestPriorityEnum.MARKET, "仓位档位梯度 10次/1s (IP)"),
+    MARKET(20, true, RequestPriorityEnum.MARKET, "行情、K线、深度、合约信息 20次/1s (IP)"),
+    ;
+
+    /**
+     * 每秒允许的请求数，同时作为令牌桶容量
+     */
+    private final int permitsPerSecond;
+
+    /**
+     * 是否按 IP 限频
+     */
+    private final boolean ipScoped;
+
+    /**
+     * 调用方未指定优先级时使用的默认优先级
+     */
+    private final RequestPriorityEnum defaultPriority;
+
+    private final String comment;
+
+    EndpointGroupEnum(int permitsPerSecond, boolean ipScoped, RequestPriorityEnum defaultPriority, String comment) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.ipScoped = ipScoped;
+        this.defaultPriority = defaultPriority;
+        this.comment = comment;
+    }
+}
@@ -0,0 +1,21 @@
+package com.bitget.openapi.common.enums;
+
+import lombok.Getter;
+
+/**
+ * 限流排队优先级，令牌不足时高优先级的等待者先获得令牌
+ */
+@Getter
+public enum RequestPriorityEnum {
+    ORDER("下单、撤单、平仓"),
+    QUERY("账户、仓位、订单查询"),
+    MARKET("行情轮询"),
+    BACKGROUND("历史数据下载等后台任务"),
+    ;
+
+    private final String comment;
+
+    RequestPriorityEnum(String comment) {
+        this.comment = comment;
+    }
+}
@@ -4,14 +4,56 @@ import com.alibaba.fastjson.JSON;
 import com.bitget.openapi.common.exception.BitgetApiException;
 import com.bitget.openapi.dto.response.ResponseResult;
 
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 public class ResponseUtils {
     public static final String SUCCESS = "200";
 
     public static ResponseResult handleResponse(ResponseResult response) {
+        checkSuccess(response);
+        return response;
+    }
+
+    /**
+     * 按类型解码的响应使用，与 {@link #handleResponse(ResponseResult)} 的错误处理相同
+     */
+    public static <T> ResponseResult<T> handleTypedResponse(ResponseResult<T> response) {
+        checkSuccess(response);
+        return response;
+    }
+
+    private static void checkSuccess(ResponseResult<?> response) {
         if (!SUCCESS.equals(response.getHttpCode())) {
             throw new BitgetApiException(JSON.toJSONString(response), response.getHttpCode(), response.getCode(), response.getMsg());
         }
+    }
 
-        return response;
+    /**
+     * 同步等待异步请求结果，IOException 原样抛出，便于同步接口保持原有的异常签名；请求被取消时抛出 IOException
+     */
+    public static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CancellationException e) {
+            throw new IOException("Canceled", e);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof CancellationException ce) {
+                throw new IOException("Canceled", ce);
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
     }
 }
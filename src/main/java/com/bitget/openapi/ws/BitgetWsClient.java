@@ -4,6 +4,7 @@ import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.request.ws.WsBaseReq;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface BitgetWsClient {
 
@@ -18,4 +19,39 @@ public interface BitgetWsClient {
     void subscribe(List<SubscribeReq> list, SubscriptionListener listener);
 
     void login();
+
+    /**
+     * 异步建立连接，连接成功（需要登录时为登录成功）后完成
+     */
+    CompletableFuture<BitgetWsClient> connectAsync();
+
+    /**
+     * 异步登录，收到登录成功事件后完成，超时则异常完成
+     */
+    CompletableFuture<BitgetWsClient> loginAsync();
+
+    /**
+     * 当前连接状态
+     */
+    WsConnectionState getState();
+
+    /**
+     * ping -> pong 往返延迟直方图
+     */
+    LatencyHistogram getPingLatency();
+
+    /**
+     * 重连指标
+     */
+    WsReconnectStats getReconnectStats();
+
+    /**
+     * 行情消息延迟统计
+     */
+    WsLatencyRecorder getLatencyRecorder();
+
+    /**
+     * 主动关闭连接，关闭后不再自动重连
+     */
+    void close();
 }
@@ -0,0 +1,260 @@
+package com.bitget.openapi.ws;
+
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 公共频道 websocket 连接池
+ * <p>
+ * 同一个推送地址下的所有订阅共享连接：相同频道只向服务端订阅一次，按引用计数管理，
+ * 收到的消息分发给该频道的所有监听器；单条连接的频道数达到上限后自动新建连接分片。
+ */
+@Slf4j
+public class BitgetWsConnectionPool {
+
+    /**
+     * 官方建议单条连接订阅少于50个频道以保证连接稳定
+     */
+    public static final int DEFAULT_MAX_CHANNELS_PER_CONNECTION = 50;
+
+    private final String pushUrl;
+
+    private final int maxChannelsPerConnection;
+
+    /**
+     * 深度频道 REST 快照加载器，可为空
+     */
+    private volatile BookSnapshotLoader bookSnapshotLoader;
+
+    /**
+     * 所有连接分片共用的监听器分发器，可为空
+     */
+    private volatile WsDispatcher dispatcher;
+
+    /**
+     * 所有连接分片共用的行情延迟统计
+     */
+    private final WsLatencyRecorder latencyRecorder = new WsLatencyRecorder();
+
+    private final List<Shard> shards = new ArrayList<>();
+
+    private final Map<WsChannelKey, Channel> channels = new HashMap<>();
+
+    public BitgetWsConnectionPool(String pushUrl) {
+        this(pushUrl, DEFAULT_MAX_CHANNELS_PER_CONNECTION);
+    }
+
+    public BitgetWsConnectionPool(String pushUrl, int maxChannelsPerConnection) {
+        if (maxChannelsPerConnection <= 0) {
+            throw new IllegalArgumentException("maxChannelsPerConnection must be positive");
+        }
+        this.pushUrl = pushUrl;
+        this.maxChannelsPerConnection = maxChannelsPerConnection;
+    }
+
+    /**
+     * 设置深度频道 REST 快照加载器，只对之后新建的连接生效
+     */
+    public BitgetWsConnectionPool bookSnapshotLoader(BookSnapshotLoader bookSnapshotLoader) {
+        this.bookSnapshotLoader = bookSnapshotLoader;
+        return this;
+    }
+
+    /**
+     * 设置监听器分发器，只对之后新建的连接生效，连接池关闭时一并关闭
+     */
+    public BitgetWsConnectionPool dispatcher(WsDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+        return this;
+    }
+
+    public WsDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public WsLatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * 订阅频道，已被其他订阅者订阅的频道只增加引用计数
+     */
+    public synchronized WsSubscription subscribe(List<SubscribeReq> list, SubscriptionListener listener) {
+        Objects.requireNonNull(listener, "listener is null");
+        List<WsChannelKey> keys = new ArrayList<>(list.size());
+        Map<Shard, List<SubscribeReq>> pending = new LinkedHashMap<>();
+        for (SubscribeReq req : list) {
+            WsChannelKey key = WsChannelKey.of(req);
+            if (keys.contains(key)) {
+                continue;
+            }
+            keys.add(key);
+            Channel channel = channels.get(key);
+            if (channel == null) {
+                Shard shard = acquireShard();
+                channel = new Channel(key, req, shard);
+                channels.put(key, channel);
+                shard.channelCount++;
+                pending.computeIfAbsent(shard, s -> new ArrayList<>()).add(req);
+            }
+            channel.listeners.add(listener);
+        }
+        pending.forEach((shard, reqs) -> {
+            Map<WsChannelKey, SubscriptionListener> dispatchers = new HashMap<>();
+            for (SubscribeReq req : reqs) {
+                dispatchers.put(WsChannelKey.of(req), channels.get(WsChannelKey.of(req)));
+            }
+            shard.subscribe(reqs, dispatchers);
+        });
+        return new WsSubscription(this, Collections.unmodifiableList(keys), listener);
+    }
+
+    /**
+     * 释放订阅，频道引用计数归零时退订，连接上没有频道时关闭连接
+     */
+    synchronized void release(WsSubscription subscription) {
+        Map<Shard, List<SubscribeReq>> pending = new LinkedHashMap<>();
+        for (WsChannelKey key : subscription.getChannels()) {
+            Channel channel = channels.get(key);
+            if (channel == null) {
+                continue;
+            }
+            channel.listeners.remove(subscription.getListener());
+            if (channel.listeners.isEmpty()) {
+                channels.remove(key);
+                channel.shard.channelCount--;
+                pending.computeIfAbsent(channel.shard, s -> new ArrayList<>()).add(channel.req);
+            }
+        }
+        pending.forEach((shard, reqs) -> {
+            if (shard.channelCount == 0) {
+                shards.remove(shard);
+                shard.client.close();
+                log.info("BitgetWsConnectionPool: 连接已无订阅频道，关闭连接 url={}", pushUrl);
+            } else {
+                shard.client.unsubscribe(reqs);
+            }
+        });
+    }
+
+    /**
+     * 当前连接数
+     */
+    public synchronized int connectionCount() {
+        return shards.size();
+    }
+
+    /**
+     * 当前订阅频道数
+     */
+    public synchronized int channelCount() {
+        return channels.size();
+    }
+
+    /**
+     * 关闭所有连接
+     */
+    public synchronized void close() {
+        shards.forEach(shard -> shard.client.close());
+        shards.clear();
+        channels.clear();
+        WsDispatcher current = dispatcher;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    private Shard acquireShard() {
+        for (Shard shard : shards) {
+            if (shard.channelCount < maxChannelsPerConnection) {
+                return shard;
+            }
+        }
+        Shard shard = new Shard((BitgetWsHandle) BitgetWsHandle.builder()
+                .pushUrl(pushUrl)
+                .bookSnapshotLoader(bookSnapshotLoader)
+                .latencyRecorder(latencyRecorder)
+                .dispatcher(dispatcher)
+                .build());
+        shards.add(shard);
+        log.info("BitgetWsConnectionPool: 新建连接分片 url={}, 当前连接数={}", pushUrl, shards.size());
+        return shard;
+    }
+
+    /**
+     * 连接分片
+     */
+    private static final class Shard {
+        private final BitgetWsHandle client;
+        private int channelCount;
+
+        private Shard(BitgetWsHandle client) {
+            this.client = client;
+        }
+
+        /**
+         * 每个频道注册各自的分发器，合并成一条订阅消息发送
+         */
+        private void subscribe(List<SubscribeReq> reqs, Map<WsChannelKey, SubscriptionListener> dispatchers) {
+            reqs.forEach(req -> client.registerListener(req, dispatchers.get(WsChannelKey.of(req))));
+            client.subscribe(reqs);
+        }
+    }
+
+    /**
+     * 池内频道，负责把消息分发给所有订阅者
+     */
+    private static final class Channel implements SubscriptionListener {
+        private final WsChannelKey key;
+        private final SubscribeReq req;
+        private final Shard shard;
+        private final List<SubscriptionListener> listeners = new CopyOnWriteArrayList<>();
+
+        private Channel(WsChannelKey key, SubscribeReq req, Shard shard) {
+            this.key = key;
+            this.req = req;
+            this.shard = shard;
+        }
+
+        @Override
+        public void onReceive(String data) {
+            for (SubscriptionListener listener : listeners) {
+                try {
+                    listener.onReceive(data);
+                } catch (Exception e) {
+                    log.error("BitgetWsConnectionPool: 监听器处理消息异常 channel={}", key, e);
+                }
+            }
+        }
+
+        @Override
+        public void onMessage(WsMessage message) {
+            for (SubscriptionListener listener : listeners) {
+                try {
+                    listener.onMessage(message);
+                } catch (Exception e) {
+                    log.error("BitgetWsConnectionPool: 监听器处理消息异常 channel={}", key, e);
+                }
+            }
+        }
+
+        /**
+         * 所有订阅者都使用合并模式时频道才合并，否则逐条分发
+         */
+        @Override
+        public boolean isConflated() {
+            if (listeners.isEmpty()) {
+                return false;
+            }
+            for (SubscriptionListener listener : listeners) {
+                if (!listener.isConflated()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
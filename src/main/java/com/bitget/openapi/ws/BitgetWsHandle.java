@@ -1,58 +1,71 @@
 package com.bitget.openapi.ws;
 
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
+import com.bitget.openapi.common.client.BitgetHttpTransport;
 import com.bitget.openapi.common.enums.SignTypeEnum;
 import com.bitget.openapi.common.utils.DateUtil;
 import com.bitget.openapi.common.utils.SignatureUtils;
 import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.request.ws.WsBaseReq;
 import com.bitget.openapi.dto.request.ws.WsLoginReq;
-import lombok.Data;
 import okhttp3.*;
+import okio.ByteString;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.Validate;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.zip.CRC32;
+import java.util.concurrent.*;
+import java.util.zip.DataFormatException;
 
 public class BitgetWsHandle implements BitgetWsClient {
     public static final String WS_OP_LOGIN = "login";
     public static final String WS_OP_SUBSCRIBE = "subscribe";
     public static final String WS_OP_UNSUBSCRIBE = "unsubscribe";
 
-    private WebSocket webSocket;
-    private volatile boolean loginStatus = false;
-    private volatile boolean connectStatus = false;
-    private volatile boolean reconnectStatus = false;
+    private volatile WebSocket webSocket;
+    private volatile WsConnectionState state = WsConnectionState.IDLE;
+
+    /**
+     * 当前这一次连接的结果，每次(重)连接都会替换
+     */
+    private volatile CompletableFuture<BitgetWsClient> connectFuture = new CompletableFuture<>();
+    private volatile CompletableFuture<BitgetWsClient> loginFuture;
 
     private BitgetClientBuilder builder;
-    private Map<String, SubscriptionListener> scribeMap = new ConcurrentHashMap<>();
-    private Map<SubscribeReq, BookInfo> allBook = new ConcurrentHashMap<>();
+    private final BitgetWsRouter router = new BitgetWsRouter();
+    private Map<WsChannelKey, OrderBookSynchronizer> allBook = new ConcurrentHashMap<>();
 
     private Set<SubscribeReq> allSuribe = Collections.synchronizedSet(new HashSet<>());
 
+    /**
+     * ping -> pong 往返延迟，跨重连累计
+     */
+    private final LatencyHistogram pingLatency = new LatencyHistogram();
+
+    private final WsReconnectSupervisor reconnectSupervisor;
+
     private BitgetWsHandle(BitgetClientBuilder builder) {
         this.builder = builder;
-        webSocket = initClient();
+        this.reconnectSupervisor = new WsReconnectSupervisor(builder.reconnectInitialDelayMillis, builder.reconnectMaxDelayMillis,
+                builder.replayBatchSize, builder.replayIntervalMillis);
+        initClient();
     }
 
-    private static void printLog(String msg, String type) {
+    static void printLog(String msg, String type) {
         System.out.println("[" + DateUtil.getUnixTime() + "] [" + type.toUpperCase() + "] " + msg);
     }
 
-    private WebSocket initClient() {
-        OkHttpClient client = new OkHttpClient.Builder()
+    /**
+     * 发起连接，不阻塞调用线程；连接结果通过 connectFuture 通知
+     */
+    private synchronized CompletableFuture<BitgetWsClient> initClient() {
+        if (state == WsConnectionState.CLOSED) {
+            return connectFuture;
+        }
+        // 与 REST 共用连接池和调度器，重连时不再新建
+        OkHttpClient client = BitgetHttpTransport.shared().newBuilder()
                 .writeTimeout(60, TimeUnit.SECONDS)
                 .readTimeout(60, TimeUnit.SECONDS)
                 .connectTimeout(60, TimeUnit.SECONDS)
@@ -62,22 +75,139 @@ public class BitgetWsHandle implements BitgetWsClient {
                 .url(builder.pushUrl)
                 .build();
 
-        webSocket = client.newWebSocket(request, new BitgetWsListener(this));
-
-        if (builder.isLogin) {
-            login();
+        if (connectFuture.isDone()) {
+            connectFuture = new CompletableFuture<>();
         }
+        CompletableFuture<BitgetWsClient> future = connectFuture;
+        state = WsConnectionState.CONNECTING;
+        WebSocket socket = client.newWebSocket(request, new BitgetWsListener(this));
+        webSocket = socket;
         printLog("start connect ....", "info");
-        while (!connectStatus) {
-        }
 
-        return webSocket;
+        future.orTimeout(builder.connectTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((c, e) -> {
+            if (e instanceof TimeoutException && webSocket == socket) {
+                printLog("connect timeout after " + builder.connectTimeoutMillis + "ms", "error");
+                // 取消后会触发 onFailure，由重连流程接管
+                socket.cancel();
+            }
+        });
+
+        if (builder.isLogin) {
+            // 提前创建登录结果，保证之后的订阅都排在登录成功之后
+            loginAsync();
+        }
+        return future;
     }
 
     public static BitgetClientBuilder builder() {
         return new BitgetClientBuilder();
     }
 
+    @Override
+    public CompletableFuture<BitgetWsClient> connectAsync() {
+        if (builder.isLogin) {
+            CompletableFuture<BitgetWsClient> login = loginFuture;
+            return login != null ? login : loginAsync();
+        }
+        return connectFuture;
+    }
+
+    @Override
+    public synchronized CompletableFuture<BitgetWsClient> loginAsync() {
+        Validate.notNull(builder.apiKey, "apiKey is null");
+        Validate.notNull(builder.secretKey, "secretKey is null");
+        Validate.notNull(builder.passPhrase, "passphrase is null");
+
+        if (loginFuture != null && !loginFuture.isCompletedExceptionally()
+                && (state == WsConnectionState.LOGGING_IN || state == WsConnectionState.LOGGED_IN)) {
+            return loginFuture;
+        }
+        CompletableFuture<BitgetWsClient> future = new CompletableFuture<>();
+        loginFuture = future;
+        connectFuture.thenRun(() -> {
+            WebSocket socket = webSocket;
+            state = WsConnectionState.LOGGING_IN;
+            printLog("login in ......", "info");
+            sendMessage(new WsBaseReq<>(WS_OP_LOGIN, buildArgs()));
+            // 超时从连接建立、发出登录消息后开始计算
+            future.orTimeout(builder.loginTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((c, e) -> {
+                if (e == null) {
+                    printLog("login in ......end", "info");
+                    return;
+                }
+                printLog("login failed:" + e, "error");
+                if (socket != null && webSocket == socket && state != WsConnectionState.CLOSED) {
+                    // 登录失败或超时时断开连接，由重连流程按退避时间重新连接、登录并重放订阅
+                    socket.cancel();
+                }
+            });
+        });
+        return future;
+    }
+
+    @Override
+    public WsConnectionState getState() {
+        return state;
+    }
+
+    @Override
+    public LatencyHistogram getPingLatency() {
+        return pingLatency;
+    }
+
+    @Override
+    public WsLatencyRecorder getLatencyRecorder() {
+        return builder.latencyRecorder;
+    }
+
+    @Override
+    public WsReconnectStats getReconnectStats() {
+        return reconnectSupervisor.getStats();
+    }
+
+    /**
+     * 断线后按退避时间延时重连，不在 OkHttp 回调线程上直接重连
+     */
+    private void reConnect() {
+        state = WsConnectionState.RECONNECTING;
+        long delay = reconnectSupervisor.onDisconnected(this::doReconnect);
+        printLog("reconnect in " + delay + "ms ...", "info");
+    }
+
+    private void doReconnect() {
+        if (state == WsConnectionState.CLOSED) {
+            return;
+        }
+        printLog("start reconnection ...", "info");
+        initClient();
+        WebSocket socket = webSocket;
+        connectAsync().thenRun(() -> reconnectSupervisor.onReconnected(new ArrayList<>(allSuribe),
+                batch -> sendMessage(new WsBaseReq<>(WS_OP_SUBSCRIBE, batch)),
+                () -> webSocket == socket));
+    }
+
+    @Override
+    public synchronized void close() {
+        state = WsConnectionState.CLOSED;
+        WebSocket socket = webSocket;
+        webSocket = null;
+        if (socket != null) {
+            socket.close(1000, "client closed");
+        }
+        connectFuture.completeExceptionally(new IllegalStateException("websocket closed"));
+    }
+
+    /**
+     * 连接（需要登录时为登录）就绪后执行
+     */
+    private CompletableFuture<Void> whenReady(Runnable action) {
+        CompletableFuture<BitgetWsClient> ready = builder.isLogin && loginFuture != null ? loginFuture : connectFuture;
+        return ready.thenRun(action).exceptionally(e -> {
+            printLog("websocket not ready, message will be replayed after reconnect:" + e, "error");
+            return null;
+        });
+    }
+
     @Override
     public void sendMessage(WsBaseReq<?> req) {
         printLog("send message:" + JSONObject.toJSONString(req), "info");
@@ -87,16 +217,22 @@ public class BitgetWsHandle implements BitgetWsClient {
     @Override
     public void sendMessage(String message) {
         //printLog("start send message:" + message, "INFO");
-        webSocket.send(message);
+        WebSocket socket = webSocket;
+        if (socket == null) {
+            printLog("websocket is not connected, drop message:" + message, "error");
+            return;
+        }
+        socket.send(message);
     }
 
     @Override
     public void unsubscribe(List<SubscribeReq> channels) {
         allSuribe.removeAll(channels);
         channels.forEach(channel -> {
-            scribeMap.remove(channel.getInstType() + "_" + channel.getChannel() + "_" + channel.getInstId());
+            router.remove(channel);
+            allBook.remove(WsChannelKey.of(channel));
         });
-        sendMessage(new WsBaseReq<>(WS_OP_UNSUBSCRIBE, channels));
+        whenReady(() -> sendMessage(new WsBaseReq<>(WS_OP_UNSUBSCRIBE, channels)));
     }
 
     @Override
@@ -110,35 +246,28 @@ public class BitgetWsHandle implements BitgetWsClient {
         }
 
         allSuribe.addAll(channels);
-        sendMessage(new WsBaseReq<>(WS_OP_SUBSCRIBE, channels));
+        whenReady(() -> sendMessage(new WsBaseReq<>(WS_OP_SUBSCRIBE, channels)));
     }
 
     @Override
     public void subscribe(List<SubscribeReq> channels, SubscriptionListener listener) {
-        channels.forEach(channel -> scribeMap.put(channel.getInstType() + "_" + channel.getChannel() + "_" + channel.getInstId(), listener));
+        channels.forEach(channel -> registerListener(channel, listener));
         subscribe(channels);
     }
 
+    /**
+     * 只注册频道监听器，不发送订阅消息
+     */
+    void registerListener(SubscribeReq channel, SubscriptionListener listener) {
+        router.register(channel, listener);
+    }
+
+    /**
+     * 阻塞等待登录完成，建议优先使用 {@link #loginAsync()}
+     */
     @Override
     public void login() {
-        Validate.notNull(builder.apiKey, "apiKey is null");
-        Validate.notNull(builder.secretKey, "secretKey is null");
-        Validate.notNull(builder.passPhrase, "passphrase is null");
-
-        List<WsLoginReq> args = buildArgs();
-        sendMessage(new WsBaseReq<>(WS_OP_LOGIN, args));
-        //休眠1s，等待登录结果
-        printLog("login in ......", "info");
-        while (!this.loginStatus) {
-            try {
-                Thread.sleep(10000);
-                args = buildArgs();
-                sendMessage(new WsBaseReq<>(WS_OP_LOGIN, args));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
-        printLog("login in ......end", "info");
+        loginAsync().join();
     }
 
     private List<WsLoginReq> buildArgs() {
@@ -156,14 +285,6 @@ public class BitgetWsHandle implements BitgetWsClient {
         return args;
     }
 
-    private void sleep(long s) {
-        try {
-            Thread.sleep(s);
-        } catch (Exception e) {
-
-        }
-    }
-
     private String sha256_HMAC(String timeStamp, String secret) {
         String hash = "";
         try {
@@ -184,177 +305,302 @@ public class BitgetWsHandle implements BitgetWsClient {
         return hash;
     }
 
-    private final class BitgetWsListener extends WebSocketListener {
+    private final class BitgetWsListener extends WebSocketListener implements WsHeartbeatScheduler.Heartbeat {
 
-        ScheduledExecutorService service;
         private BitgetWsClient bitgetWsClient;
 
+        private volatile WebSocket socket;
+        private volatile Runnable cancelHeartbeat;
+        private volatile long lastReceiveNanos;
+        private volatile long lastPingNanos;
+
+        /**
+         * 未收到 pong 的 ping 发送时间，0 表示没有等待中的 ping
+         */
+        private volatile long pendingPingNanos;
+
+        /**
+         * 二进制帧解压器，首次收到二进制帧时创建，只在读线程上使用
+         */
+        private WsFrameDecoder frameDecoder;
+
+        private final WsDispatcher.Target deliverTarget = this::deliver;
+
         public BitgetWsListener(BitgetWsClient bitgetWsClient) {
             this.bitgetWsClient = bitgetWsClient;
         }
 
+        /**
+         * 过期连接（已被重连替换或被主动关闭）的回调直接忽略
+         */
+        private boolean isStale(WebSocket socket) {
+            return socket != BitgetWsHandle.this.webSocket;
+        }
+
         @Override
         public void onOpen(final WebSocket webSocket, final Response response) {
-            connectStatus = true;
-            reconnectStatus = false;
-            //连接成功后，设置定时器，每隔25s，自动向服务器发送心跳，保持与服务器连接
-            Runnable runnable = () -> {
-                // task to run goes here
-                bitgetWsClient.sendMessage("ping");
-            };
+            if (isStale(webSocket)) {
+                webSocket.close(1000, "stale connection");
+                return;
+            }
+            state = WsConnectionState.CONNECTED;
+            //连接成功后注册到共享心跳定时器，定时发送 ping 并检测空闲连接
+            long now = System.nanoTime();
+            this.socket = webSocket;
+            this.lastReceiveNanos = now;
+            this.lastPingNanos = now;
+            this.cancelHeartbeat = WsHeartbeatScheduler.shared().register(this);
+            connectFuture.complete(BitgetWsHandle.this);
+        }
+
+        @Override
+        public void onTick(long nowNanos) {
+            WebSocket current = socket;
+            if (current == null || isStale(current)) {
+                stopHeartbeat();
+                return;
+            }
+            if (nowNanos - lastReceiveNanos > TimeUnit.MILLISECONDS.toNanos(builder.idleTimeoutMillis)) {
+                printLog("no message received in " + builder.idleTimeoutMillis + "ms, recycle connection", "error");
+                stopHeartbeat();
+                // 取消后会触发 onFailure，由重连流程接管
+                current.cancel();
+                return;
+            }
+            if (nowNanos - lastPingNanos >= TimeUnit.MILLISECONDS.toNanos(builder.pingIntervalMillis)) {
+                lastPingNanos = nowNanos;
+                pendingPingNanos = nowNanos;
+                current.send("ping");
+            }
+        }
+
+        /**
+         * Inflater 内部自带同步，释放后读线程如仍在解压会抛出异常并被忽略
+         */
+        private void releaseFrameDecoder() {
+            if (frameDecoder != null) {
+                frameDecoder.close();
+                frameDecoder = null;
+            }
+        }
 
-            service = Executors.newSingleThreadScheduledExecutor();
-            // 第二个参数为首次执行的延时时间，第三个参数为定时执行的间隔时间
-            service.scheduleAtFixedRate(runnable, 25, 25, TimeUnit.SECONDS);
+        private void stopHeartbeat() {
+            Runnable cancel = cancelHeartbeat;
+            if (cancel != null) {
+                cancel.run();
+            }
         }
 
         @Override
         public void onClosing(WebSocket webSocket, int code, String reason) {
             System.out.println("Connection is about to disconnect！");
-            close();
-            if (!reconnectStatus) {
-                reConnect();
-            }
-
+            disconnected(webSocket);
         }
 
         @Override
         public void onClosed(final WebSocket webSocket, final int code, final String reason) {
             System.out.println("Connection dropped！" + reason);
-            close();
-            if (!reconnectStatus) {
-                reConnect();
-            }
+            disconnected(webSocket);
         }
 
         @Override
         public void onFailure(final WebSocket webSocket, final Throwable t, final Response response) {
             t.printStackTrace();
-            close();
-            if (!reconnectStatus) {
+            disconnected(webSocket);
+        }
 
-                reConnect();
+        /**
+         * 二进制帧：使用连接复用的 Inflater 解压后直接交给流式解析器，不生成中间字符串
+         * 无法按 deflate 解压时按未压缩的 UTF-8 文本处理
+         */
+        @Override
+        public void onMessage(final WebSocket webSocket, final ByteString bytes) {
+            long now = System.nanoTime();
+            long receiveEpochMillis = System.currentTimeMillis();
+            lastReceiveNanos = now;
+            try {
+                byte[] buf;
+                int len;
+                try {
+                    len = frameDecoder().inflate(bytes);
+                    buf = frameDecoder.buffer();
+                } catch (DataFormatException e) {
+                    buf = bytes.toByteArray();
+                    len = buf.length;
+                }
+                if (isPong(buf, len)) {
+                    onPong(now);
+                    return;
+                }
+                WsMessage wsMessage = router.parse(buf, 0, len);
+                wsMessage.receiveNanos = now;
+                wsMessage.receiveEpochMillis = receiveEpochMillis;
+                try {
+                    handle(wsMessage);
+                } finally {
+                    wsMessage.releaseBuffer();
+                }
+            } catch (Exception e) {
+                printLog("receive error binary msg, size:" + bytes.size() + "," + e, "error");
             }
         }
 
-//        @Override
-//        public void onMessage(final WebSocket webSocket, final ByteString bytes) {
-//            final String s = uncompress(bytes.toByteArray());
-//            onMessage(webSocket,s);
-//        }
-
         @Override
         public void onMessage(final WebSocket webSocket, final String message) {
+            long now = System.nanoTime();
+            long receiveEpochMillis = System.currentTimeMillis();
+            lastReceiveNanos = now;
             try {
                 if (message.equals("pong")) {
-                    //printLog("Keep connected:" + message, "info");
-                    return;
-                }
-                JSONObject jsonObject = JSONObject.parseObject(message);
-                if (jsonObject.containsKey("code") && !jsonObject.get("code").toString().equals("0")) {
-                    printLog("code not is 0 msg:" + message, "error");
-                    if (Objects.nonNull(builder.errorListener)) {
-                        builder.errorListener.onReceive(message);
-                    }
+                    onPong(now);
                     return;
                 }
+                WsMessage wsMessage = router.parse(message);
+                wsMessage.receiveNanos = now;
+                wsMessage.receiveEpochMillis = receiveEpochMillis;
+                handle(wsMessage);
+            } catch (Exception e) {
+                printLog("receive error msg:" + message, "error");
+            }
+        }
 
-                if (jsonObject.containsKey("event") && jsonObject.get("event").equals("login")) {
-                    printLog("login msg:" + message, "info");
-                    loginStatus = true;
-                    return;
-                }
-                SubscriptionListener listener = null;
-                if (jsonObject.containsKey("data")) {
-                    listener = getListener(jsonObject);
+        private WsFrameDecoder frameDecoder() {
+            if (frameDecoder == null) {
+                frameDecoder = new WsFrameDecoder();
+            }
+            return frameDecoder;
+        }
 
-                    //check sum
-                    boolean checkSumFlag = checkSum(jsonObject);
-                    if (!checkSumFlag) {
-                        return;
-                    }
+        private boolean isPong(byte[] buf, int len) {
+            return len == 4 && buf[0] == 'p' && buf[1] == 'o' && buf[2] == 'n' && buf[3] == 'g';
+        }
 
-                    if (Objects.nonNull(listener)) {
-                        listener.onReceive(message);
-                        return;
-                    }
-                    if (Objects.nonNull(builder.listener)) {
-                        builder.listener.onReceive(message);
-                        return;
-                    }
-                }
-                printLog("receive op msg:" + message, "info");
-            } catch (Exception e) {
-                printLog("receive error msg:" + message, "error");
+        private void onPong(long now) {
+            long sent = pendingPingNanos;
+            if (sent != 0) {
+                pendingPingNanos = 0;
+                pingLatency.record(now - sent);
             }
         }
 
-        private boolean checkSum(JSONObject jsonObject) {
-            try {
-                if (!jsonObject.containsKey("arg") || !jsonObject.containsKey("action")) {
-                    return true;
+        private void handle(WsMessage wsMessage) {
+            if (WS_OP_LOGIN.equals(wsMessage.getEvent())) {
+                printLog("login msg:" + wsMessage.getRaw(), "info");
+                state = WsConnectionState.LOGGED_IN;
+                if (loginFuture != null) {
+                    loginFuture.complete(BitgetWsHandle.this);
                 }
-                String arg = jsonObject.get("arg").toString();
-                String action = jsonObject.get("action").toString();
-                SubscribeReq subscribeReq = JSONObject.parseObject(arg, SubscribeReq.class);
+                return;
+            }
 
-                if (!StringUtils.equalsIgnoreCase(subscribeReq.getChannel(), "books")) {
-                    return true;
+            if (wsMessage.isError()) {
+                String message = wsMessage.getRaw();
+                printLog("code not is 0 msg:" + message, "error");
+                if (state == WsConnectionState.LOGGING_IN && loginFuture != null) {
+                    loginFuture.completeExceptionally(new IllegalStateException("login failed:" + message));
                 }
-                JSONArray data = (JSONArray) jsonObject.get("data");
-                BitgetWsHandle.BookInfo bookInfo = JSONObject.parseObject(JSONObject.toJSONString(data.get(0)), BitgetWsHandle.BookInfo.class);
-
-                if (StringUtils.equalsIgnoreCase(action, "snapshot")) {
-                    allBook.put(subscribeReq, bookInfo);
-                    return true;
+                if (Objects.nonNull(builder.errorListener)) {
+                    builder.errorListener.onReceive(message);
                 }
-                if (StringUtils.equalsIgnoreCase(action, "update")) {
-                    BookInfo all = allBook.get(subscribeReq);
-                    boolean checkNum = all.merge(bookInfo).checkSum(Integer.parseInt(bookInfo.getChecksum()), 25);
-
-                    if (!checkNum) {
-                        ArrayList<SubscribeReq> subList = new ArrayList<>();
-                        subList.add(subscribeReq);
-                        this.bitgetWsClient.subscribe(subList);
-                    }
+                return;
+            }
 
-                    return checkNum;
+            if (wsMessage.hasData()) {
+                if (wsMessage.getBookData() != null) {
+                    dispatchBook(wsMessage);
+                } else {
+                    dispatch(wsMessage);
                 }
-
-            } catch (Exception e) {
-                e.printStackTrace();
+                return;
             }
+            printLog("receive op msg:" + wsMessage.getRaw(), "info");
+        }
 
-
-            return true;
+        /**
+         * 配置了分发器时读线程只发布消息，由分发线程回调监听器；否则在读线程上直接回调
+         */
+        private void dispatch(WsMessage message) {
+            WsDispatcher dispatcher = builder.dispatcher;
+            if (dispatcher == null) {
+                deliver(message);
+                return;
+            }
+            // 复用缓冲区在读线程返回后会被覆盖
+            message.detachBuffer();
+            if (message.isConflated()) {
+                dispatcher.publishLatest(message, deliverTarget);
+            } else {
+                dispatcher.publish(message, deliverTarget);
+            }
         }
 
-        private SubscriptionListener getListener(JSONObject jsonObject) {
+        private void deliver(WsMessage message) {
+            SubscriptionListener listener = router.lookup(message);
+            if (Objects.isNull(listener)) {
+                listener = builder.listener;
+            }
+            if (Objects.isNull(listener)) {
+                return;
+            }
+            message.dispatchNanos = System.nanoTime();
             try {
-                if (jsonObject.containsKey("arg")) {
-                    SubscribeReq subscribeReq = JSONObject.parseObject(jsonObject.get("arg").toString(), SubscribeReq.class);
-                    return scribeMap.get(subscribeReq.getInstType() + "_" + subscribeReq.getChannel() + "_" + subscribeReq.getInstId());
+                Object lock = message.bookLock;
+                if (lock == null) {
+                    listener.onMessage(message);
+                } else {
+                    synchronized (lock) {
+                        listener.onMessage(message);
+                    }
                 }
-            } catch (Exception e) {
-
+            } finally {
+                builder.latencyRecorder.record(message, System.nanoTime());
             }
-            return null;
+        }
 
+        /**
+         * 深度推送先在读线程上交给同步器维护本地订单簿，订单簿一致时才通知监听器
+         * 监听器在同步器的锁内回调，可安全读取订单簿；异步分发时读到的是回调时刻的最新订单簿
+         */
+        private void dispatchBook(WsMessage message) {
+            OrderBookSynchronizer synchronizer = allBook.computeIfAbsent(message.getChannelKey(),
+                    key -> new OrderBookSynchronizer(key, builder.bookSnapshotLoader, () -> resubscribe(key)));
+            synchronized (synchronizer) {
+                try {
+                    if (!synchronizer.onMessage(message.getAction(), message.getBookData())) {
+                        return;
+                    }
+                } catch (NumberFormatException e) {
+                    printLog("invalid book data:" + message.getChannelKey() + "," + e.getMessage(), "error");
+                    synchronizer.getOrderBook().clear();
+                    resubscribe(message.getChannelKey());
+                    return;
+                }
+            }
+            message.orderBook = synchronizer.getOrderBook();
+            message.bookLock = synchronizer;
+            dispatch(message);
         }
 
-        private void close() {
-            loginStatus = false;
-            connectStatus = false;
-            webSocket.close(1000, "Long time no message was sent or received！");
-            webSocket = null;
+        private void resubscribe(WsChannelKey key) {
+            ArrayList<SubscribeReq> subList = new ArrayList<>();
+            subList.add(SubscribeReq.builder().instType(key.instType()).channel(key.channel()).instId(key.instId()).build());
+            this.bitgetWsClient.subscribe(subList);
         }
 
-        private void reConnect() {
-            reconnectStatus = true;
-            printLog("start reconnection ...", "info");
-            initClient();
-            if (CollectionUtils.isNotEmpty(allSuribe)) {
-                subscribe(new ArrayList<>(allSuribe));
+        private void disconnected(WebSocket socket) {
+            stopHeartbeat();
+            releaseFrameDecoder();
+            if (isStale(socket)) {
+                return;
+            }
+            webSocket = null;
+            socket.close(1000, "Long time no message was sent or received！");
+            connectFuture.completeExceptionally(new IllegalStateException("websocket disconnected"));
+            if (loginFuture != null) {
+                loginFuture.completeExceptionally(new IllegalStateException("websocket disconnected"));
+            }
+            if (state != WsConnectionState.CLOSED && state != WsConnectionState.RECONNECTING) {
+                reConnect();
             }
         }
 
@@ -372,6 +618,36 @@ public class BitgetWsHandle implements BitgetWsClient {
         private SubscriptionListener listener;
         private SubscriptionListener errorListener;
 
+        private long connectTimeoutMillis = 10_000L;
+        private long loginTimeoutMillis = 10_000L;
+
+        private long pingIntervalMillis = 25_000L;
+
+        /**
+         * 超过该时间未收到任何消息（包括 pong）则主动回收连接
+         */
+        private long idleTimeoutMillis = 40_000L;
+
+        private long reconnectInitialDelayMillis = 500L;
+
+        private long reconnectMaxDelayMillis = 30_000L;
+
+        /**
+         * 重连后每条订阅消息包含的频道数
+         */
+        private int replayBatchSize = 20;
+
+        /**
+         * 重连后订阅批次之间的间隔
+         */
+        private long replayIntervalMillis = 150L;
+
+        private BookSnapshotLoader bookSnapshotLoader;
+
+        private WsLatencyRecorder latencyRecorder = new WsLatencyRecorder();
+
+        private WsDispatcher dispatcher;
+
         public BitgetClientBuilder listener(SubscriptionListener listener) {
             this.listener = listener;
             return this;
@@ -412,79 +688,83 @@ public class BitgetWsHandle implements BitgetWsClient {
             return this;
         }
 
-        public BitgetWsClient build() {
-            return new BitgetWsHandle(this);
+        public BitgetClientBuilder connectTimeoutMillis(long connectTimeoutMillis) {
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            return this;
         }
 
-    }
+        public BitgetClientBuilder loginTimeoutMillis(long loginTimeoutMillis) {
+            this.loginTimeoutMillis = loginTimeoutMillis;
+            return this;
+        }
 
-    @Data
-    static class BookInfo {
-        private List<String[]> asks;
-        private List<String[]> bids;
-        private String checksum;
-        private String ts;
+        public BitgetClientBuilder pingIntervalMillis(long pingIntervalMillis) {
+            this.pingIntervalMillis = pingIntervalMillis;
+            return this;
+        }
 
-        public BookInfo() {
+        public BitgetClientBuilder idleTimeoutMillis(long idleTimeoutMillis) {
+            this.idleTimeoutMillis = idleTimeoutMillis;
+            return this;
         }
 
-        public BookInfo merge(BookInfo updateInfo) {
-            this.asks = merge(this.asks, updateInfo.getAsks(), false);
-            printLog("asks sort uniq:" + JSONObject.toJSONString(this.asks), "info");
-            this.bids = merge(this.bids, updateInfo.getBids(), true);
-            printLog("bids sort uniq:" + JSONObject.toJSONString(this.bids), "info");
+        public BitgetClientBuilder reconnectInitialDelayMillis(long reconnectInitialDelayMillis) {
+            this.reconnectInitialDelayMillis = reconnectInitialDelayMillis;
             return this;
         }
 
-        //isReverse: true->desc,false->asc
-        private List<String[]> merge(List<String[]> allList, List<String[]> updateList, boolean isReverse) {
-            Map<String, String[]> priceAndValue = allList.stream().collect(Collectors.toMap(o -> o[0], o -> o));
-            for (String[] update : updateList) {
-                if (new BigDecimal(update[1]).compareTo(BigDecimal.ZERO) == 0) {
-                    priceAndValue.remove(update[0]);
-                    continue;
-                }
-                priceAndValue.put(update[0], update);
+        public BitgetClientBuilder reconnectMaxDelayMillis(long reconnectMaxDelayMillis) {
+            this.reconnectMaxDelayMillis = reconnectMaxDelayMillis;
+            return this;
+        }
 
-            }
+        public BitgetClientBuilder replayBatchSize(int replayBatchSize) {
+            this.replayBatchSize = replayBatchSize;
+            return this;
+        }
 
-            List<String[]> newAllList = new ArrayList<>(priceAndValue.values());
-            if (isReverse) {
-                newAllList.sort((o1, o2) -> new BigDecimal(o2[0]).compareTo(new BigDecimal(o1[0])));
-            } else {
-                newAllList.sort(Comparator.comparing(o -> new BigDecimal(o[0])));
-            }
+        public BitgetClientBuilder replayIntervalMillis(long replayIntervalMillis) {
+            this.replayIntervalMillis = replayIntervalMillis;
+            return this;
+        }
 
-            return newAllList;
+        /**
+         * 行情延迟统计，多条连接可共用同一个
+         */
+        public BitgetClientBuilder latencyRecorder(WsLatencyRecorder latencyRecorder) {
+            this.latencyRecorder = latencyRecorder;
+            return this;
         }
 
-        public <T> Predicate<T> distinctByKey(Function<? super T, Object> keyExtractor) {
-            Map<Object, Boolean> map = new ConcurrentHashMap<>();
-            return t -> map.putIfAbsent(keyExtractor.apply(t), Boolean.TRUE) == null;
+        /**
+         * 监听器分发器，设置后监听器在分发线程上回调，读线程只负责解析和发布；多条连接可共用同一个
+         */
+        public BitgetClientBuilder dispatcher(WsDispatcher dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
         }
 
-        public boolean checkSum(int checkSum, int gear) {
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < gear; i++) {
-                if (i < this.getBids().size()) {
-                    String[] bids = this.getBids().get(i);
-                    sb.append(bids[0]).append(":").append(bids[1]).append(":");
-                }
+        /**
+         * 深度频道序列中断时用于拉取 REST 快照，不设置时退回重新订阅
+         */
+        public BitgetClientBuilder bookSnapshotLoader(BookSnapshotLoader bookSnapshotLoader) {
+            this.bookSnapshotLoader = bookSnapshotLoader;
+            return this;
+        }
 
-                if (i < this.getAsks().size()) {
-                    String[] asks = this.getAsks().get(i);
-                    sb.append(asks[0]).append(":").append(asks[1]).append(":");
-                }
-            }
-            String s = sb.toString();
-            String str = s.substring(0, s.length() - 1);
+        /**
+         * 创建客户端并立即发起连接，不等待连接结果
+         */
+        public BitgetWsClient build() {
+            return new BitgetWsHandle(this);
+        }
 
-            CRC32 crc32 = new CRC32();
-            crc32.update(str.getBytes());
-            int value = (int) crc32.getValue();
-            printLog("check val:" + str, "info");
-            printLog("start checknum mergeVal:" + value + ",checkVal:" + checkSum, "info");
-            return value == checkSum;
+        /**
+         * 创建客户端，连接（需要登录时为登录）成功后完成
+         */
+        public CompletableFuture<BitgetWsClient> buildAsync() {
+            return build().connectAsync();
         }
+
     }
 }
@@ -11,33 +11,37 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Objects;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class BitgetWsListener extends WebSocketListener {
-    ScheduledExecutorService service;
     private BitgetWsClient bitgetWsClient;
 
+    /**
+     * 取消共享心跳的回调
+     */
+    private volatile Runnable cancelHeartbeat;
+
     public BitgetWsListener(BitgetWsClient bitgetWsClient) {
         this.bitgetWsClient = bitgetWsClient;
     }
 
     @Override
     public void onOpen(final WebSocket webSocket, final Response response) {
-        Runnable runnable = new Runnable() {
-            public void run() {
+        long interval = TimeUnit.SECONDS.toNanos(25);
+        long[] lastPing = {System.nanoTime()};
+        cancelHeartbeat = WsHeartbeatScheduler.shared().register(now -> {
+            if (now - lastPing[0] >= interval) {
+                lastPing[0] = now;
                 bitgetWsClient.sendMessage("ping");
             }
-        };
-        service = Executors.newSingleThreadScheduledExecutor();
-        service.scheduleAtFixedRate(runnable, 25, 25, TimeUnit.SECONDS);
+        });
     }
 
     @Override
     public void onClosing(WebSocket webSocket, int code, String reason) {
         log.info("Connection is about to disconnect！");
+        stopHeartbeat();
         webSocket.close(1000, "Long time no message was sent or received！");
         webSocket = null;
     }
@@ -50,8 +54,12 @@ public class BitgetWsListener extends WebSocketListener {
     @Override
     public void onFailure(final WebSocket webSocket, final Throwable t, final Response response) {
         log.info("Connection failed,Please reconnect!");
-        if (Objects.nonNull(service)) {
-            service.shutdown();
+        stopHeartbeat();
+    }
+
+    private void stopHeartbeat() {
+        if (Objects.nonNull(cancelHeartbeat)) {
+            cancelHeartbeat.run();
         }
     }
 
@@ -0,0 +1,498 @@
+package com.bitget.openapi.ws;
+
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * websocket 消息路由器
+ * 使用 Jackson 流式解析，每条消息只扫描一遍：arg 字段只读取一次，ticker 数据直接解码为原始类型，
+ * 监听器通过 instType -> channel -> instId 三级表查找，不再拼接字符串 key
+ */
+final class BitgetWsRouter {
+
+    public static final String CHANNEL_TICKER = "ticker";
+
+    /**
+     * 深度频道前缀：books / books1 / books5 / books15
+     */
+    public static final String CHANNEL_BOOKS = "books";
+
+    /**
+     * K线频道前缀：candle1m / candle5m / candle1H 等
+     */
+    public static final String CHANNEL_CANDLE = "candle";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 只用于 {@link WsDataListener} 的 data 反序列化
+     */
+    private static final ObjectMapper DATA_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * 10 的整数次幂，22 以内均可被 double 精确表示
+     */
+    private static final double[] POW10 = new double[23];
+
+    /**
+     * 不丢精度的最大尾数 2^53
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    static {
+        POW10[0] = 1d;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10d;
+        }
+    }
+
+    /**
+     * instType -> channel -> instId -> 路由，缺失的字段统一使用空字符串
+     */
+    private final Map<String, Map<String, Map<String, Route>>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 同一频道可注册多个监听器（例如同一账号的多个策略共用一条私有连接），消息依次分发给每个监听器；同一监听器重复注册只保留一次
+     * 同一频道的 {@link WsDataListener} 共用一次反序列化结果，data 类型必须一致，否则抛出 IllegalArgumentException
+     */
+    void register(SubscribeReq req, SubscriptionListener listener) {
+        routes.computeIfAbsent(nullToEmpty(req.getInstType()), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(nullToEmpty(req.getChannel()), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(nullToEmpty(req.getInstId()), k -> new Route())
+                .add(listener);
+    }
+
+    /**
+     * 移除频道的全部监听器
+     */
+    void remove(SubscribeReq req) {
+        Map<String, Map<String, Route>> channels = routes.get(nullToEmpty(req.getInstType()));
+        if (channels == null) {
+            return;
+        }
+        Map<String, Route> instIds = channels.get(nullToEmpty(req.getChannel()));
+        if (instIds != null) {
+            instIds.remove(nullToEmpty(req.getInstId()));
+        }
+    }
+
+    SubscriptionListener lookup(WsMessage message) {
+        Map<String, Map<String, Route>> channels = routes.get(nullToEmpty(message.instType));
+        if (channels == null) {
+            return null;
+        }
+        Map<String, Route> instIds = channels.get(nullToEmpty(message.channel));
+        Route route = instIds == null ? null : instIds.get(nullToEmpty(message.instId));
+        if (route == null || route.listeners.isEmpty()) {
+            return null;
+        }
+        return route.listeners.size() == 1 ? route.listeners.get(0) : route;
+    }
+
+    /**
+     * 单次扫描解析消息，未知字段直接跳过
+     * Bitget 推送中 arg 总在 data 之前，因此解析 data 时频道已知
+     */
+    WsMessage parse(String raw) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(raw)) {
+            return parse(new WsMessage(raw), parser);
+        }
+    }
+
+    /**
+     * 直接解析 UTF-8 字节（解压后的二进制帧），不生成中间字符串
+     * 字节数组在回调返回后会被复用，见 {@link WsMessage#getRaw()}
+     */
+    WsMessage parse(byte[] buf, int off, int len) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(buf, off, len)) {
+            return parse(new WsMessage(buf, off, len), parser);
+        }
+    }
+
+    private WsMessage parse(WsMessage message, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return message;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "event" -> message.event = parser.getValueAsString();
+                case "code" -> message.code = parser.getValueAsString();
+                case "msg" -> message.msg = parser.getValueAsString();
+                case "action" -> message.action = parser.getValueAsString();
+                case "ts" -> message.ts = readLong(parser);
+                case "arg" -> readArg(parser, message);
+                case "data" -> readData(parser, message, true);
+                default -> parser.skipChildren();
+            }
+        }
+        return message;
+    }
+
+    /**
+     * 解码合并模式下跳过的 data，由 {@link WsMessage} 在首次读取时调用
+     */
+    void decode(WsMessage message) {
+        try (JsonParser parser = message.createParser(JSON_FACTORY)) {
+            if (parser == null || parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("data".equals(field)) {
+                    readData(parser, message, false);
+                    return;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void readArg(JsonParser parser, WsMessage message) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "instType" -> message.instType = parser.getValueAsString();
+                case "channel" -> message.channel = parser.getValueAsString();
+                case "instId" -> message.instId = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * @param conflatable 为 true 且监听器使用合并模式时只标记消息，data 留到读取时再解码
+     */
+    private void readData(JsonParser parser, WsMessage message, boolean conflatable) throws IOException {
+        message.hasData = true;
+        boolean ticker = CHANNEL_TICKER.equals(message.channel);
+        boolean books = !ticker && message.channel != null && message.channel.startsWith(CHANNEL_BOOKS);
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        if (!ticker && !books && message.channel != null && message.channel.startsWith(CHANNEL_CANDLE)) {
+            message.candles = readCandles(parser);
+            return;
+        }
+        if (conflatable && !books) {
+            SubscriptionListener listener = lookup(message);
+            if (listener != null && listener.isConflated()) {
+                message.conflated = true;
+                message.decoder = this;
+                parser.skipChildren();
+                return;
+            }
+        }
+        if (!ticker && !books) {
+            // arg 已在 data 之前解析，可以先找到监听器，按其声明的类型直接反序列化
+            Class<?> dataType = dataType(lookup(message));
+            if (dataType != null) {
+                message.data = DATA_MAPPER.readValue(parser,
+                        DATA_MAPPER.getTypeFactory().constructCollectionType(List.class, dataType));
+            } else {
+                parser.skipChildren();
+            }
+            return;
+        }
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            if (ticker) {
+                message.ticker = readTicker(parser, message.instId);
+            } else {
+                message.bookData = readBook(parser);
+            }
+            // ticker 与深度每次只推送一条，其余元素跳过
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * K线格式为 [ts, open, high, low, close, baseVolume, quoteVolume, ...]，多余元素跳过
+     */
+    private static List<WsCandle> readCandles(JsonParser parser) throws IOException {
+        List<WsCandle> candles = new ArrayList<>();
+        String[] values = new String[7];
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (count < values.length) {
+                    values[count] = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+                count++;
+            }
+            if (count >= values.length) {
+                candles.add(new WsCandle(Long.parseLong(values[0]), values[1], values[2], values[3], values[4], values[5], values[6]));
+            }
+        }
+        return candles;
+    }
+
+    private static WsBookData readBook(JsonParser parser) throws IOException {
+        WsBookData data = new WsBookData();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "asks" -> readLevels(parser, data, false);
+                case "bids" -> readLevels(parser, data, true);
+                case "checksum" -> data.checksum = readLong(parser);
+                case "seq" -> data.seq = readLong(parser);
+                case "pseq" -> data.pseq = readLong(parser);
+                case "ts" -> data.ts = readLong(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 档位格式为 [价格, 数量]，多余元素跳过
+     */
+    private static void readLevels(JsonParser parser, WsBookData data, boolean bid) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_ARRAY) {
+            parser.nextToken();
+            String price = parser.getValueAsString();
+            parser.nextToken();
+            String size = parser.getValueAsString();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                parser.skipChildren();
+            }
+            if (bid) {
+                data.addBid(price, size);
+            } else {
+                data.addAsk(price, size);
+            }
+        }
+    }
+
+    private static WsTicker readTicker(JsonParser parser, String defaultInstId) throws IOException {
+        String instId = defaultInstId;
+        String lastPr = null;
+        double bidPr = Double.NaN, askPr = Double.NaN, bidSz = Double.NaN, askSz = Double.NaN;
+        double markPrice = Double.NaN, indexPrice = Double.NaN;
+        long ts = 0L;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field) {
+                case "instId" -> instId = parser.getValueAsString();
+                case "lastPr" -> lastPr = readString(parser);
+                case "bidPr" -> bidPr = readDouble(parser);
+                case "askPr" -> askPr = readDouble(parser);
+                case "bidSz" -> bidSz = readDouble(parser);
+                case "askSz" -> askSz = readDouble(parser);
+                case "markPrice" -> markPrice = readDouble(parser);
+                case "indexPrice" -> indexPrice = readDouble(parser);
+                case "ts" -> ts = readLong(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new WsTicker(instId, lastPr, bidPr, askPr, bidSz, askSz, markPrice, indexPrice, ts);
+    }
+
+    /**
+     * 读取数值，兼容字符串形式的数字，直接基于解析器的字符缓冲区转换，缺失或为空时返回 NaN
+     */
+    static double readDouble(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getDoubleValue();
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return Double.NaN;
+        }
+        return parseDouble(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    /**
+     * 读取标量的原始文本，缺失或为空时返回 null
+     */
+    static String readString(JsonParser parser) throws IOException {
+        if (!parser.currentToken().isScalarValue()) {
+            parser.skipChildren();
+            return null;
+        }
+        String text = parser.getValueAsString();
+        return text == null || text.isEmpty() ? null : text;
+    }
+
+    static long readLong(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return 0L;
+        }
+        char[] buf = parser.getTextCharacters();
+        int off = parser.getTextOffset();
+        int len = parser.getTextLength();
+        if (len == 0) {
+            return 0L;
+        }
+        if (len > 18) {
+            return Long.parseLong(new String(buf, off, len));
+        }
+        long value = 0L;
+        for (int i = off; i < off + len; i++) {
+            char c = buf[i];
+            if (c < '0' || c > '9') {
+                return Long.parseLong(new String(buf, off, len));
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 普通十进制小数快速转换：尾数不超过 2^53 且小数位不超过 22 位时，一次 IEEE 除法即为正确舍入结果；
+     * 其他情况（科学计数法、超长数字）回退到 {@link Double#parseDouble(String)}
+     */
+    static double parseDouble(char[] buf, int off, int len) {
+        if (len == 0) {
+            return Double.NaN;
+        }
+        int i = off;
+        int end = off + len;
+        boolean negative = false;
+        if (buf[i] == '-' || buf[i] == '+') {
+            negative = buf[i] == '-';
+            i++;
+        }
+        long mantissa = 0L;
+        int digits = 0;
+        int scale = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            char c = buf[i];
+            if (c >= '0' && c <= '9') {
+                if (digits >= 18) {
+                    return Double.parseDouble(new String(buf, off, len));
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (mantissa != 0) {
+                    digits++;
+                }
+                if (dot) {
+                    scale++;
+                }
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.parseDouble(new String(buf, off, len));
+            }
+        }
+        if (scale >= POW10.length || mantissa > MAX_EXACT_MANTISSA) {
+            return Double.parseDouble(new String(buf, off, len));
+        }
+        double value = scale == 0 ? mantissa : mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * 监听器声明的 data 元素类型，多个监听器时取其中的 {@link WsDataListener}，没有时返回空
+     */
+    private static Class<?> dataType(SubscriptionListener listener) {
+        if (listener instanceof WsDataListener<?> dataListener) {
+            return dataListener.dataType();
+        }
+        if (listener instanceof Route route) {
+            return route.dataType;
+        }
+        return null;
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    /**
+     * 单个频道的监听器列表，单个监听器异常不影响其他监听器
+     */
+    private static final class Route implements SubscriptionListener {
+        private final CopyOnWriteArrayList<SubscriptionListener> listeners = new CopyOnWriteArrayList<>();
+
+        /**
+         * 频道内 {@link WsDataListener} 的 data 元素类型，没有时为空
+         */
+        private volatile Class<?> dataType;
+
+        synchronized void add(SubscriptionListener listener) {
+            if (listener instanceof WsDataListener<?> dataListener) {
+                if (dataType != null && dataType != dataListener.dataType()) {
+                    throw new IllegalArgumentException("data type conflict, registered:" + dataType.getName()
+                            + " new:" + dataListener.dataType().getName());
+                }
+                dataType = dataListener.dataType();
+            }
+            listeners.addIfAbsent(listener);
+        }
+
+        @Override
+        public void onReceive(String data) {
+            for (SubscriptionListener listener : listeners) {
+                try {
+                    listener.onReceive(data);
+                } catch (Exception e) {
+                    BitgetWsHandle.printLog("listener error:" + e, "error");
+                }
+            }
+        }
+
+        @Override
+        public void onMessage(WsMessage message) {
+            for (SubscriptionListener listener : listeners) {
+                try {
+                    listener.onMessage(message);
+                } catch (Exception e) {
+                    BitgetWsHandle.printLog("listener error, channel:" + message.getChannel() + "," + e, "error");
+                }
+            }
+        }
+
+        /**
+         * 所有监听器都使用合并模式时才合并
+         */
+        @Override
+        public boolean isConflated() {
+            for (SubscriptionListener listener : listeners) {
+                if (!listener.isConflated()) {
+                    return false;
+                }
+            }
+            return !listeners.isEmpty();
+        }
+    }
+}
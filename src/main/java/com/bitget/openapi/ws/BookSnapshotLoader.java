@@ -0,0 +1,13 @@
+package com.bitget.openapi.ws;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 深度全量快照加载器，订单簿序列中断时通过 REST 接口拉取快照
+ * 实现方不应在调用线程（websocket 读线程）上阻塞
+ */
+@FunctionalInterface
+public interface BookSnapshotLoader {
+
+    CompletableFuture<WsBookData> load(WsChannelKey key);
+}
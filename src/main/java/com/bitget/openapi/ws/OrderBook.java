@@ -0,0 +1,317 @@
+package com.bitget.openapi.ws;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * 本地订单簿
+ * 价格按 {@link #PRICE_SCALE} 位小数换算为 long 刻度，两侧各用一组有序原始数组保存，
+ * 最优价位于数组末尾：增量更新只需二分查找并移动少量元素，前N档按下标直接访问
+ * 非线程安全，由所属连接的读线程维护，监听器只应在回调线程内读取
+ */
+public class OrderBook {
+
+    /**
+     * 价格刻度的小数位数，long 可表示的最大价格约为 9.2 亿
+     */
+    public static final int PRICE_SCALE = 10;
+
+    /**
+     * Bitget 校验和使用的档位数
+     */
+    public static final int CHECKSUM_GEAR = 25;
+
+    private static final long[] POW10 = new long[PRICE_SCALE + 1];
+
+    static {
+        POW10[0] = 1L;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10L;
+        }
+    }
+
+    private final String instId;
+
+    private final Side bids = new Side(true);
+
+    private final Side asks = new Side(false);
+
+    private final CRC32 crc32 = new CRC32();
+
+    private byte[] checksumBuffer = new byte[2048];
+
+    private long seq;
+
+    private long ts;
+
+    public OrderBook(String instId) {
+        this.instId = instId;
+    }
+
+    /**
+     * 全量快照，替换当前全部档位
+     */
+    public void applySnapshot(WsBookData data) {
+        clear();
+        apply(data);
+    }
+
+    /**
+     * 增量更新，数量为0表示删除该档位
+     */
+    public void applyUpdate(WsBookData data) {
+        apply(data);
+    }
+
+    private void apply(WsBookData data) {
+        for (int i = 0; i < data.bidCount(); i++) {
+            bids.update(data.bidPrice(i), data.bidSize(i));
+        }
+        for (int i = 0; i < data.askCount(); i++) {
+            asks.update(data.askPrice(i), data.askSize(i));
+        }
+        if (data.seq != 0) {
+            seq = data.seq;
+        }
+        ts = data.ts;
+    }
+
+    public void clear() {
+        bids.size = 0;
+        asks.size = 0;
+        seq = 0;
+        ts = 0;
+    }
+
+    public boolean isEmpty() {
+        return bids.size == 0 && asks.size == 0;
+    }
+
+    public String getInstId() {
+        return instId;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getTs() {
+        return ts;
+    }
+
+    public int bidDepth() {
+        return bids.size;
+    }
+
+    public int askDepth() {
+        return asks.size;
+    }
+
+    /**
+     * 第 level 档买价（0 为买一）
+     */
+    public double bidPrice(int level) {
+        return toPrice(bids.priceTicks(level));
+    }
+
+    public double bidSize(int level) {
+        return bids.sizeValue(level);
+    }
+
+    /**
+     * 第 level 档卖价（0 为卖一）
+     */
+    public double askPrice(int level) {
+        return toPrice(asks.priceTicks(level));
+    }
+
+    public double askSize(int level) {
+        return asks.sizeValue(level);
+    }
+
+    public long bidPriceTicks(int level) {
+        return bids.priceTicks(level);
+    }
+
+    public long askPriceTicks(int level) {
+        return asks.priceTicks(level);
+    }
+
+    /**
+     * 校验本地订单簿与推送中的校验和是否一致
+     */
+    public boolean verify(long expected) {
+        return checksum(CHECKSUM_GEAR) == (int) expected;
+    }
+
+    /**
+     * 按 Bitget 规则计算校验和：前 gear 档依次拼接 买价:买量:卖价:卖量，取 CRC32 的有符号整数值
+     * 直接写入复用的字节缓冲区，不创建中间字符串
+     */
+    public int checksum(int gear) {
+        int len = 0;
+        for (int i = 0; i < gear; i++) {
+            if (i < bids.size) {
+                len = write(len, bids.priceText(i));
+                len = write(len, bids.sizeText(i));
+            }
+            if (i < asks.size) {
+                len = write(len, asks.priceText(i));
+                len = write(len, asks.sizeText(i));
+            }
+        }
+        crc32.reset();
+        // 去掉末尾多余的分隔符
+        crc32.update(checksumBuffer, 0, Math.max(len - 1, 0));
+        return (int) crc32.getValue();
+    }
+
+    private int write(int offset, String text) {
+        int need = offset + text.length() + 1;
+        if (need > checksumBuffer.length) {
+            checksumBuffer = Arrays.copyOf(checksumBuffer, Math.max(need, checksumBuffer.length * 2));
+        }
+        for (int i = 0; i < text.length(); i++) {
+            checksumBuffer[offset++] = (byte) text.charAt(i);
+        }
+        checksumBuffer[offset++] = ':';
+        return offset;
+    }
+
+    private static double toPrice(long ticks) {
+        return (double) ticks / POW10[PRICE_SCALE];
+    }
+
+    /**
+     * 十进制价格文本转换为刻度，超出 {@link #PRICE_SCALE} 的小数位必须为0
+     */
+    static long toTicks(String text) {
+        long integer = 0L;
+        long fraction = 0L;
+        int fractionDigits = 0;
+        boolean dot = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !dot) {
+                dot = true;
+            } else if (c >= '0' && c <= '9') {
+                if (!dot) {
+                    integer = integer * 10 + (c - '0');
+                } else if (fractionDigits < PRICE_SCALE) {
+                    fraction = fraction * 10 + (c - '0');
+                    fractionDigits++;
+                } else if (c != '0') {
+                    throw new NumberFormatException("price scale exceeds " + PRICE_SCALE + ": " + text);
+                }
+            } else {
+                throw new NumberFormatException("invalid price: " + text);
+            }
+        }
+        return Math.multiplyExact(integer, POW10[PRICE_SCALE]) + fraction * POW10[PRICE_SCALE - fractionDigits];
+    }
+
+    private static boolean isZero(String size) {
+        for (int i = 0; i < size.length(); i++) {
+            char c = size.charAt(i);
+            if (c != '0' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 订单簿单侧，keys 升序保存，最优价在末尾
+     * 买盘 key 为价格刻度，卖盘 key 为价格刻度的相反数
+     */
+    private static final class Side {
+        private final boolean bid;
+        private long[] keys = new long[64];
+        private String[] prices = new String[64];
+        private String[] sizes = new String[64];
+        private int size;
+
+        private Side(boolean bid) {
+            this.bid = bid;
+        }
+
+        void update(String priceText, String sizeText) {
+            long ticks = toTicks(priceText);
+            long key = bid ? ticks : -ticks;
+            int idx = Arrays.binarySearch(keys, 0, size, key);
+            if (isZero(sizeText)) {
+                if (idx >= 0) {
+                    remove(idx);
+                }
+                return;
+            }
+            if (idx >= 0) {
+                prices[idx] = priceText;
+                sizes[idx] = sizeText;
+                return;
+            }
+            insert(-(idx + 1), key, priceText, sizeText);
+        }
+
+        private void insert(int idx, long key, String priceText, String sizeText) {
+            if (size == keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+            }
+            int move = size - idx;
+            if (move > 0) {
+                System.arraycopy(keys, idx, keys, idx + 1, move);
+                System.arraycopy(prices, idx, prices, idx + 1, move);
+                System.arraycopy(sizes, idx, sizes, idx + 1, move);
+            }
+            keys[idx] = key;
+            prices[idx] = priceText;
+            sizes[idx] = sizeText;
+            size++;
+        }
+
+        private void remove(int idx) {
+            int move = size - idx - 1;
+            if (move > 0) {
+                System.arraycopy(keys, idx + 1, keys, idx, move);
+                System.arraycopy(prices, idx + 1, prices, idx, move);
+                System.arraycopy(sizes, idx + 1, sizes, idx, move);
+            }
+            size--;
+            prices[size] = null;
+            sizes[size] = null;
+        }
+
+        /**
+         * 第 level 档（0 为最优价）在数组中的下标
+         */
+        private int index(int level) {
+            if (level < 0 || level >= size) {
+                throw new IndexOutOfBoundsException("level " + level + " out of depth " + size);
+            }
+            return size - 1 - level;
+        }
+
+        long priceTicks(int level) {
+            long key = keys[index(level)];
+            return bid ? key : -key;
+        }
+
+        /**
+         * 数量只在读取时转换，更新路径不做数值解析
+         */
+        double sizeValue(int level) {
+            return Double.parseDouble(sizes[index(level)]);
+        }
+
+        String priceText(int level) {
+            return prices[index(level)];
+        }
+
+        String sizeText(int level) {
+            return sizes[index(level)];
+        }
+    }
+}
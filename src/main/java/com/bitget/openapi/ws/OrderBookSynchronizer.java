@@ -0,0 +1,221 @@
+package com.bitget.openapi.ws;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+
+/**
+ * 订单簿同步器，按 seq / pseq 检查增量推送是否连续
+ * <p>
+ * 序列中断、校验和不一致或缺少初始快照时进入重同步：期间的增量推送先缓存，
+ * 通过 {@link BookSnapshotLoader} 拉取 REST 快照后回放时间戳更新的缓存增量，无需等待重新订阅的往返。
+ * 回放的增量 pseq 须与前一条的 seq 连续，且快照不早于触发重同步的增量，满足时直接沿用恢复后的订单簿并继续校验和检查；
+ * 回放无法衔接、未配置加载器或加载失败时退回重新订阅。REST 快照恢复后首次校验和不一致时同样退回重新订阅，避免反复拉取快照。
+ * <p>
+ * 所有方法在同步器的锁内执行，读取订单簿时应持有同一把锁
+ */
+@Slf4j
+public class OrderBookSynchronizer {
+
+    /**
+     * 重同步期间最多缓存的增量条数，超出后放弃缓存，等待推送快照
+     */
+    public static final int DEFAULT_MAX_PENDING = 1000;
+
+    private final WsChannelKey key;
+
+    private final OrderBook book;
+
+    private final BookSnapshotLoader snapshotLoader;
+
+    private final Runnable resubscribe;
+
+    private final int maxPending;
+
+    private final ArrayDeque<WsBookData> pending = new ArrayDeque<>();
+
+    private boolean resyncing;
+
+    /**
+     * 订单簿由 REST 快照恢复且尚未通过校验和检查
+     */
+    private boolean restRecovered;
+
+    /**
+     * 触发当前重同步的增量时间戳，REST 快照不得早于该时间
+     */
+    private long resyncFromTs;
+
+    /**
+     * 每次发起重同步或收到推送快照时递增，用于丢弃过期的 REST 快照
+     */
+    private long generation;
+
+    private long resyncCount;
+
+    public OrderBookSynchronizer(WsChannelKey key, BookSnapshotLoader snapshotLoader, Runnable resubscribe) {
+        this(key, snapshotLoader, resubscribe, DEFAULT_MAX_PENDING);
+    }
+
+    public OrderBookSynchronizer(WsChannelKey key, BookSnapshotLoader snapshotLoader, Runnable resubscribe, int maxPending) {
+        this.key = key;
+        this.book = new OrderBook(key.instId());
+        this.snapshotLoader = snapshotLoader;
+        this.resubscribe = resubscribe;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 处理一条深度推送
+     *
+     * @return 订单簿是否处于一致状态，不一致时不应通知监听器
+     */
+    public synchronized boolean onMessage(String action, WsBookData data) {
+        if (!"update".equalsIgnoreCase(action)) {
+            return onSnapshot(data);
+        }
+        if (resyncing) {
+            buffer(data);
+            return false;
+        }
+        if (book.isEmpty()) {
+            resync("update before snapshot", data);
+            return false;
+        }
+        if (data.getPseq() != 0 && book.getSeq() != 0 && data.getPseq() != book.getSeq()) {
+            resync("sequence gap, expect pseq=" + book.getSeq() + " actual=" + data.getPseq(), data);
+            return false;
+        }
+        book.applyUpdate(data);
+        if (data.getChecksum() != 0) {
+            if (!book.verify(data.getChecksum())) {
+                if (restRecovered) {
+                    restRecovered = false;
+                    resubscribe("checksum mismatch after rest snapshot, checkVal=" + data.getChecksum());
+                } else {
+                    resync("checksum mismatch, checkVal=" + data.getChecksum(), null);
+                }
+                return false;
+            }
+            restRecovered = false;
+        }
+        return true;
+    }
+
+    private boolean onSnapshot(WsBookData data) {
+        generation++;
+        pending.clear();
+        resyncing = false;
+        restRecovered = false;
+        book.applySnapshot(data);
+        if (data.getChecksum() != 0 && !book.verify(data.getChecksum())) {
+            resync("snapshot checksum mismatch, checkVal=" + data.getChecksum(), null);
+            return false;
+        }
+        return true;
+    }
+
+    private void resync(String reason, WsBookData data) {
+        resyncCount++;
+        resyncing = true;
+        book.clear();
+        pending.clear();
+        resyncFromTs = data == null ? 0 : data.getTs();
+        buffer(data);
+        long gen = ++generation;
+        log.warn("OrderBookSynchronizer: 订单簿开始重同步 channel={} reason={}", key, reason);
+        if (snapshotLoader == null) {
+            resubscribe.run();
+            return;
+        }
+        try {
+            snapshotLoader.load(key).whenComplete((snapshot, e) -> onRestSnapshot(gen, snapshot, e));
+        } catch (Exception e) {
+            onRestSnapshot(gen, null, e);
+        }
+    }
+
+    private synchronized void onRestSnapshot(long gen, WsBookData snapshot, Throwable error) {
+        if (gen != generation || !resyncing) {
+            return;
+        }
+        if (error != null || snapshot == null) {
+            log.error("OrderBookSynchronizer: REST 快照加载失败，改为重新订阅 channel={}", key, error);
+            resubscribe.run();
+            return;
+        }
+        if (!replayable(snapshot)) {
+            resubscribe("rest snapshot cannot be joined with buffered updates, snapshotTs=" + snapshot.getTs());
+            return;
+        }
+        book.applySnapshot(snapshot);
+        int replayed = 0;
+        for (WsBookData data : pending) {
+            if (data.getTs() > snapshot.getTs()) {
+                book.applyUpdate(data);
+                replayed++;
+            }
+        }
+        pending.clear();
+        resyncing = false;
+        restRecovered = true;
+        log.info("OrderBookSynchronizer: 订单簿已通过 REST 快照恢复 channel={} replayed={}", key, replayed);
+    }
+
+    /**
+     * 快照不早于触发重同步的增量，且待回放的增量 pseq 逐条衔接前一条的 seq
+     */
+    private boolean replayable(WsBookData snapshot) {
+        if (snapshot.getTs() < resyncFromTs) {
+            return false;
+        }
+        long prevSeq = 0;
+        for (WsBookData data : pending) {
+            if (prevSeq != 0 && data.getPseq() != 0 && data.getPseq() != prevSeq) {
+                return false;
+            }
+            prevSeq = data.getSeq();
+        }
+        return true;
+    }
+
+    /**
+     * 放弃当前订单簿和缓存，重新订阅等待推送快照
+     */
+    private void resubscribe(String reason) {
+        resyncCount++;
+        resyncing = true;
+        book.clear();
+        pending.clear();
+        generation++;
+        log.warn("OrderBookSynchronizer: 订单簿重新订阅 channel={} reason={}", key, reason);
+        resubscribe.run();
+    }
+
+    private void buffer(WsBookData data) {
+        if (data == null) {
+            return;
+        }
+        if (pending.size() >= maxPending) {
+            // 缓存溢出后无法保证回放完整，放弃 REST 快照，等待推送快照
+            log.warn("OrderBookSynchronizer: 重同步缓存溢出，等待推送快照 channel={}", key);
+            pending.clear();
+            generation++;
+            resubscribe.run();
+            return;
+        }
+        pending.addLast(data);
+    }
+
+    public OrderBook getOrderBook() {
+        return book;
+    }
+
+    public synchronized boolean isResyncing() {
+        return resyncing;
+    }
+
+    public synchronized long getResyncCount() {
+        return resyncCount;
+    }
+}
@@ -3,4 +3,20 @@ package com.bitget.openapi.ws;
 @FunctionalInterface
 public interface SubscriptionListener {
     void onReceive(String data);
+
+    /**
+     * 接收已解析的消息，默认回调原始字符串
+     */
+    default void onMessage(WsMessage message) {
+        onReceive(message.getRaw());
+    }
+
+    /**
+     * 是否使用合并模式：消费者繁忙时同一频道同一产品只保留最新一条原始消息，
+     * data 在读取时才解码，被覆盖的条数计入 {@link WsDispatcher#getConflatedCount()}。
+     * 只在配置了 {@link WsDispatcher} 时生效，深度频道需要逐条应用，不支持合并
+     */
+    default boolean isConflated() {
+        return false;
+    }
 }
@@ -0,0 +1,95 @@
+package com.bitget.openapi.ws;
+
+import java.util.Arrays;
+
+/**
+ * books 系列频道解码后的深度数据，价格和数量保留原始文本（校验和需要原始文本）
+ * 档位按 价格、数量 交替平铺存储，避免每档创建数组对象
+ */
+public class WsBookData {
+
+    private String[] asks = new String[32];
+    private int askCount;
+
+    private String[] bids = new String[32];
+    private int bidCount;
+
+    /**
+     * 校验和，没有时为0
+     */
+    long checksum;
+
+    /**
+     * 当前序列号，没有时为0
+     */
+    long seq;
+
+    /**
+     * 上一条推送的序列号，没有时为0
+     */
+    long pseq;
+
+    long ts;
+
+    public void addAsk(String price, String size) {
+        if (askCount * 2 == asks.length) {
+            asks = Arrays.copyOf(asks, asks.length * 2);
+        }
+        asks[askCount * 2] = price;
+        asks[askCount * 2 + 1] = size;
+        askCount++;
+    }
+
+    public void addBid(String price, String size) {
+        if (bidCount * 2 == bids.length) {
+            bids = Arrays.copyOf(bids, bids.length * 2);
+        }
+        bids[bidCount * 2] = price;
+        bids[bidCount * 2 + 1] = size;
+        bidCount++;
+    }
+
+    public int askCount() {
+        return askCount;
+    }
+
+    public String askPrice(int i) {
+        return asks[i * 2];
+    }
+
+    public String askSize(int i) {
+        return asks[i * 2 + 1];
+    }
+
+    public int bidCount() {
+        return bidCount;
+    }
+
+    public String bidPrice(int i) {
+        return bids[i * 2];
+    }
+
+    public String bidSize(int i) {
+        return bids[i * 2 + 1];
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public long getPseq() {
+        return pseq;
+    }
+
+    public long getTs() {
+        return ts;
+    }
+
+    public void setTs(long ts) {
+        this.ts = ts;
+    }
+}
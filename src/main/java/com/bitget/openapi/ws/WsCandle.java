@@ -0,0 +1,16 @@
+package com.bitget.openapi.ws;
+
+/**
+ * candle 频道解码后的K线，价格和数量保留原始字符串，由调用方按需转换为 BigDecimal
+ *
+ * @param ts          K线开始时间（毫秒）
+ * @param open        开盘价
+ * @param high        最高价
+ * @param low         最低价
+ * @param close       收盘价（未收盘时为最新价）
+ * @param baseVolume  成交量（基础币）
+ * @param quoteVolume 成交额（计价币）
+ */
+public record WsCandle(long ts, String open, String high, String low, String close, String baseVolume,
+                       String quoteVolume) {
+}
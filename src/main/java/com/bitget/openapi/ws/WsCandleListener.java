@@ -0,0 +1,25 @@
+package com.bitget.openapi.ws;
+
+import java.util.List;
+
+/**
+ * candle 频道监听器，直接接收解码后的 {@link WsCandle}
+ * snapshot 推送包含最近一批K线，update 推送包含当前K线（跨周期时可能包含上一根）
+ */
+@FunctionalInterface
+public interface WsCandleListener extends SubscriptionListener {
+
+    void onCandles(WsMessage message, List<WsCandle> candles);
+
+    @Override
+    default void onReceive(String data) {
+    }
+
+    @Override
+    default void onMessage(WsMessage message) {
+        List<WsCandle> candles = message.getCandles();
+        if (candles != null) {
+            onCandles(message, candles);
+        }
+    }
+}
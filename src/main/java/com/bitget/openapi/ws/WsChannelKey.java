@@ -0,0 +1,14 @@
+package com.bitget.openapi.ws;
+
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+
+/**
+ * websocket 频道唯一标识：产品类型 + 频道名 + 产品ID
+ * 与 {@link SubscribeReq} 不同，不包含 coin 等可变字段，可安全作为 Map 的 key
+ */
+public record WsChannelKey(String instType, String channel, String instId) {
+
+    public static WsChannelKey of(SubscribeReq req) {
+        return new WsChannelKey(req.getInstType(), req.getChannel(), req.getInstId());
+    }
+}
@@ -0,0 +1,49 @@
+package com.bitget.openapi.ws;
+
+/**
+ * websocket 连接生命周期状态
+ */
+public enum WsConnectionState {
+
+    /**
+     * 尚未发起连接
+     */
+    IDLE,
+
+    /**
+     * 正在建立连接
+     */
+    CONNECTING,
+
+    /**
+     * 连接已建立（未登录或无需登录）
+     */
+    CONNECTED,
+
+    /**
+     * 已发送登录请求，等待登录结果
+     */
+    LOGGING_IN,
+
+    /**
+     * 登录成功
+     */
+    LOGGED_IN,
+
+    /**
+     * 连接断开，等待重连
+     */
+    RECONNECTING,
+
+    /**
+     * 已主动关闭，不再重连
+     */
+    CLOSED;
+
+    /**
+     * 是否已建立可用连接
+     */
+    public boolean isOpen() {
+        return this == CONNECTED || this == LOGGING_IN || this == LOGGED_IN;
+    }
+}
@@ -0,0 +1,44 @@
+package com.bitget.openapi.ws;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 带类型的频道监听器，路由器解析到 data 时直接按 {@link #dataType()} 反序列化，
+ * 用于私有频道等消息量不大但字段较多的频道
+ *
+ * @param <T> data 数组元素类型
+ */
+public interface WsDataListener<T> extends SubscriptionListener {
+
+    Class<T> dataType();
+
+    void onData(WsMessage message, List<T> data);
+
+    @Override
+    default void onReceive(String data) {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    default void onMessage(WsMessage message) {
+        List<?> data = message.getData();
+        if (data != null) {
+            onData(message, (List<T>) data);
+        }
+    }
+
+    static <T> WsDataListener<T> of(Class<T> dataType, Consumer<List<T>> consumer) {
+        return new WsDataListener<>() {
+            @Override
+            public Class<T> dataType() {
+                return dataType;
+            }
+
+            @Override
+            public void onData(WsMessage message, List<T> data) {
+                consumer.accept(data);
+            }
+        };
+    }
+}
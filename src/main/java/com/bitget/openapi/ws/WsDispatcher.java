@@ -0,0 +1,314 @@
+package com.bitget.openapi.ws;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * websocket 消息分发器
+ * <p>
+ * 读线程只负责解析并把消息发布到预分配的环形队列，由各分区的分发线程回调监听器，
+ * 慢监听器不会阻塞 socket 读取。消息按 instId 分区，同一产品的消息保持顺序。
+ * 队列满时丢弃新消息并计数，不阻塞读线程。
+ * <p>
+ * 合并模式的消息通过 {@link #publishLatest} 发布：每个频道+产品一个信箱，只保存最新一条，
+ * 队列中最多只有一个待处理的信箱引用，消费者跟不上时中间的推送被覆盖并计数。
+ */
+@Slf4j
+public class WsDispatcher implements AutoCloseable {
+
+    public static final int DEFAULT_PARTITIONS = 2;
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int SPIN_TRIES = 100;
+
+    private static final long SLEEP_NANOS = 100_000L;
+
+    private final Partition[] partitions;
+
+    private final WsWaitStrategy waitStrategy;
+
+    private final Map<WsChannelKey, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    private volatile boolean running = true;
+
+    public WsDispatcher() {
+        this(DEFAULT_PARTITIONS, DEFAULT_CAPACITY, WsWaitStrategy.BLOCKING);
+    }
+
+    /**
+     * @param partitionCount 分区（分发线程）数量
+     * @param capacity       每个分区的队列容量，向上取整为2的幂
+     * @param waitStrategy   队列为空时的等待策略
+     */
+    public WsDispatcher(int partitionCount, int capacity, WsWaitStrategy waitStrategy) {
+        if (partitionCount <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("partitionCount and capacity must be positive");
+        }
+        this.waitStrategy = waitStrategy;
+        int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition(size);
+            Thread thread = new Thread(partitions[i], "bitget-ws-dispatch-" + i);
+            thread.setDaemon(true);
+            partitions[i].consumer = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * 发布消息，由分发线程调用 target
+     *
+     * @return 队列已满或分发器已关闭时返回 false，消息被丢弃
+     */
+    public boolean publish(WsMessage message, Target target) {
+        if (!running) {
+            return false;
+        }
+        String instId = message.getInstId();
+        int index = instId == null ? 0 : (instId.hashCode() & 0x7fffffff) % partitions.length;
+        return partitions[index].offer(message, target);
+    }
+
+    /**
+     * 合并发布：信箱中已有未处理的消息时直接覆盖，否则把信箱放入队列
+     *
+     * @return 队列已满或分发器已关闭时返回 false，消息被丢弃
+     */
+    public boolean publishLatest(WsMessage message, Target target) {
+        if (!running) {
+            return false;
+        }
+        WsChannelKey key = message.getChannelKey();
+        Mailbox mailbox = mailboxes.get(key);
+        if (mailbox == null) {
+            mailbox = mailboxes.computeIfAbsent(key, k -> new Mailbox());
+        }
+        mailbox.target = target;
+        if (mailbox.latest.getAndSet(message) != null) {
+            mailbox.conflated.increment();
+            return true;
+        }
+        if (publish(message, mailbox)) {
+            return true;
+        }
+        // 未能入队时撤回，避免信箱一直非空而不再入队
+        mailbox.latest.compareAndSet(message, null);
+        return false;
+    }
+
+    /**
+     * 各分区当前排队的消息总数
+     */
+    public long getDepth() {
+        long depth = 0;
+        for (Partition partition : partitions) {
+            depth += partition.depth();
+        }
+        return depth;
+    }
+
+    public long getDepth(int partition) {
+        return partitions[partition].depth();
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    public long getPublishedCount() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            count += partition.published.sum();
+        }
+        return count;
+    }
+
+    /**
+     * 因队列已满而丢弃的消息数
+     */
+    public long getDroppedCount() {
+        long count = 0;
+        for (Partition partition : partitions) {
+            count += partition.dropped.sum();
+        }
+        return count;
+    }
+
+    public long getDroppedCount(int partition) {
+        return partitions[partition].dropped.sum();
+    }
+
+    /**
+     * 合并模式下被新消息覆盖、未回调的推送数
+     */
+    public long getConflatedCount() {
+        long count = 0;
+        for (Mailbox mailbox : mailboxes.values()) {
+            count += mailbox.conflated.sum();
+        }
+        return count;
+    }
+
+    public long getConflatedCount(WsChannelKey key) {
+        Mailbox mailbox = mailboxes.get(key);
+        return mailbox == null ? 0L : mailbox.conflated.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.consumer);
+        }
+    }
+
+    /**
+     * 消息的实际处理方，在分发线程上执行
+     */
+    @FunctionalInterface
+    public interface Target {
+        void deliver(WsMessage message);
+    }
+
+    /**
+     * 合并模式信箱，作为队列元素的处理方时取出当前最新的消息
+     */
+    private static final class Mailbox implements Target {
+        private final AtomicReference<WsMessage> latest = new AtomicReference<>();
+        private final LongAdder conflated = new LongAdder();
+        private volatile Target target;
+
+        @Override
+        public void deliver(WsMessage ignored) {
+            WsMessage message = latest.getAndSet(null);
+            if (message != null) {
+                target.deliver(message);
+            }
+        }
+    }
+
+    /**
+     * 预分配的槽位，sequence 表示槽位状态：等于写入序号时可写，等于写入序号+1时可读
+     */
+    private static final class Slot {
+        private volatile long sequence;
+        private WsMessage message;
+        private Target target;
+    }
+
+    /**
+     * 多生产者单消费者有界环形队列
+     */
+    private final class Partition implements Runnable {
+        private final Slot[] slots;
+        private final int mask;
+        private final AtomicLong tail = new AtomicLong();
+        private volatile long head;
+        private volatile boolean waiting;
+        private final LongAdder published = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private Thread consumer;
+
+        private Partition(int capacity) {
+            this.slots = new Slot[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < capacity; i++) {
+                slots[i] = new Slot();
+                slots[i].sequence = i;
+            }
+        }
+
+        private boolean offer(WsMessage message, Target target) {
+            while (true) {
+                long t = tail.get();
+                Slot slot = slots[(int) (t & mask)];
+                long diff = slot.sequence - t;
+                if (diff == 0) {
+                    if (tail.compareAndSet(t, t + 1)) {
+                        slot.message = message;
+                        slot.target = target;
+                        slot.sequence = t + 1;
+                        published.increment();
+                        if (waiting) {
+                            LockSupport.unpark(consumer);
+                        }
+                        return true;
+                    }
+                } else if (diff < 0) {
+                    dropped.increment();
+                    return false;
+                }
+            }
+        }
+
+        private long depth() {
+            return tail.get() - head;
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (running) {
+                long h = head;
+                Slot slot = slots[(int) (h & mask)];
+                if (slot.sequence != h + 1) {
+                    idle = await(idle);
+                    continue;
+                }
+                idle = 0;
+                WsMessage message = slot.message;
+                Target target = slot.target;
+                slot.message = null;
+                slot.target = null;
+                slot.sequence = h + slots.length;
+                head = h + 1;
+                try {
+                    target.deliver(message);
+                } catch (Throwable e) {
+                    log.error("WsDispatcher: 消息处理异常 channel={} instId={}", message.getChannel(), message.getInstId(), e);
+                }
+            }
+        }
+
+        private int await(int idle) {
+            switch (waitStrategy) {
+                case BUSY_SPIN -> Thread.onSpinWait();
+                case YIELDING -> {
+                    if (idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                case SLEEPING -> {
+                    if (idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(SLEEP_NANOS);
+                    }
+                }
+                case BLOCKING -> {
+                    if (idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        waiting = true;
+                        // 设置等待标记后再检查一次，避免错过发布方的唤醒
+                        if (slots[(int) (head & mask)].sequence != head + 1 && running) {
+                            LockSupport.park(this);
+                        }
+                        waiting = false;
+                    }
+                }
+            }
+            return Math.min(idle + 1, SPIN_TRIES);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.bitget.openapi.ws;
+
+import okio.ByteString;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 二进制帧解压器，每条连接一个，只在该连接的读线程上使用
+ * 复用同一个 {@link Inflater}（raw deflate）和输出缓冲区，解压结果直接交给流式解析器
+ */
+final class WsFrameDecoder {
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    /**
+     * 偶发的超大消息会让缓冲区扩容，超过该大小时用完即缩回，避免长期占用内存
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    private final Inflater inflater = new Inflater(true);
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    /**
+     * 解压二进制帧，结果位于 {@link #buffer()} 的 [0, 返回值) 区间，下次调用前有效
+     *
+     * @throws DataFormatException 不是 deflate 数据
+     */
+    int inflate(ByteString frame) throws DataFormatException {
+        if (buffer.length > MAX_RETAINED_BUFFER_SIZE) {
+            buffer = new byte[INITIAL_BUFFER_SIZE];
+        }
+        inflater.reset();
+        inflater.setInput(frame.asByteBuffer());
+        int length = 0;
+        while (!inflater.finished()) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int count = inflater.inflate(buffer, length, buffer.length - length);
+            if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                break;
+            }
+            length += count;
+        }
+        // 未压缩的文本也可能被误认为 deflate 数据，要求恰好解压完全部输入
+        if (!inflater.finished() || inflater.getRemaining() > 0) {
+            throw new DataFormatException("incomplete deflate frame");
+        }
+        return length;
+    }
+
+    byte[] buffer() {
+        return buffer;
+    }
+
+    void close() {
+        inflater.end();
+    }
+}
@@ -0,0 +1,88 @@
+package com.bitget.openapi.ws;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 所有 websocket 连接共用的心跳定时器
+ * 单个守护线程按固定节拍轮询已注册的连接，由连接自己判断是否需要发送 ping 或回收空闲连接，
+ * 不再为每条连接创建线程；重连退避、订阅回放等轻量延时任务也复用该线程
+ */
+@Slf4j
+public final class WsHeartbeatScheduler {
+
+    /**
+     * 节拍间隔，心跳间隔与空闲超时的精度以此为准
+     */
+    public static final long TICK_MILLIS = 1000L;
+
+    private static final WsHeartbeatScheduler SHARED = new WsHeartbeatScheduler();
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bitget-ws-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Set<Heartbeat> heartbeats = ConcurrentHashMap.newKeySet();
+
+    private WsHeartbeatScheduler() {
+        timer.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public static WsHeartbeatScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * 注册心跳，返回值用于取消注册
+     */
+    public Runnable register(Heartbeat heartbeat) {
+        heartbeats.add(heartbeat);
+        return () -> heartbeats.remove(heartbeat);
+    }
+
+    /**
+     * 延时执行轻量任务，任务不应阻塞
+     */
+    public void schedule(Runnable task, long delayMillis) {
+        timer.schedule(() -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.error("WsHeartbeatScheduler: 延时任务执行异常", e);
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int size() {
+        return heartbeats.size();
+    }
+
+    private void tick() {
+        long now = System.nanoTime();
+        for (Heartbeat heartbeat : heartbeats) {
+            try {
+                heartbeat.onTick(now);
+            } catch (Exception e) {
+                log.error("WsHeartbeatScheduler: 心跳处理异常", e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Heartbeat {
+
+        /**
+         * 每个节拍回调一次，不应阻塞
+         *
+         * @param nowNanos 当前 {@link System#nanoTime()}
+         */
+        void onTick(long nowNanos);
+    }
+}
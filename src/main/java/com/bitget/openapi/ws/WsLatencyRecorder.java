@@ -0,0 +1,137 @@
+package com.bitget.openapi.ws;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 行情消息延迟统计
+ * <p>
+ * 每条行情消息记录三段延迟：交易所时间 -> 本地收到、收到 -> 开始回调监听器、监听器执行耗时，
+ * 按频道和产品分别累计直方图，并保留每个产品最近一条消息的时间戳，便于判断慢监听器或 GC 停顿对信号的影响。
+ * 记录过程在首次出现新频道/产品后不再分配对象。
+ */
+public class WsLatencyRecorder {
+
+    private final Map<String, Stats> byChannel = new ConcurrentHashMap<>();
+
+    private final Map<String, Stats> byInstId = new ConcurrentHashMap<>();
+
+    /**
+     * 监听器回调结束后记录
+     *
+     * @param doneNanos 监听器返回时的 {@link System#nanoTime()}
+     */
+    public void record(WsMessage message, long doneNanos) {
+        if (message.getChannel() == null || message.dispatchNanos == 0) {
+            return;
+        }
+        long exchangeLatencyNanos = message.getExchangeTs() > 0
+                ? TimeUnit.MILLISECONDS.toNanos(message.getExchangeLatencyMillis()) : -1L;
+        long queueNanos = message.dispatchNanos - message.receiveNanos;
+        long listenerNanos = doneNanos - message.dispatchNanos;
+        byChannel.computeIfAbsent(message.getChannel(), k -> new Stats())
+                .record(message, exchangeLatencyNanos, queueNanos, listenerNanos);
+        if (message.getInstId() != null) {
+            byInstId.computeIfAbsent(message.getInstId(), k -> new Stats())
+                    .record(message, exchangeLatencyNanos, queueNanos, listenerNanos);
+        }
+    }
+
+    /**
+     * 按频道查询，没有数据时为空
+     */
+    public Stats channel(String channel) {
+        return byChannel.get(channel);
+    }
+
+    /**
+     * 按产品查询，如 BTCUSDT，没有数据时为空
+     */
+    public Stats instId(String instId) {
+        return byInstId.get(instId);
+    }
+
+    public Map<String, Stats> getChannels() {
+        return byChannel;
+    }
+
+    public Map<String, Stats> getInstIds() {
+        return byInstId;
+    }
+
+    /**
+     * 一组延迟直方图及最近一条消息的时间戳
+     */
+    public static class Stats {
+
+        private final LatencyHistogram exchangeToReceive = new LatencyHistogram();
+
+        private final LatencyHistogram receiveToDispatch = new LatencyHistogram();
+
+        private final LatencyHistogram listener = new LatencyHistogram();
+
+        private volatile long lastExchangeTs;
+
+        private volatile long lastReceiveEpochMillis;
+
+        private void record(WsMessage message, long exchangeLatencyNanos, long queueNanos, long listenerNanos) {
+            if (exchangeLatencyNanos >= 0) {
+                exchangeToReceive.record(exchangeLatencyNanos);
+            }
+            receiveToDispatch.record(queueNanos);
+            listener.record(listenerNanos);
+            lastExchangeTs = message.getExchangeTs();
+            lastReceiveEpochMillis = message.receiveEpochMillis;
+        }
+
+        /**
+         * 交易所时间到本地收到，受本地时钟偏差影响
+         */
+        public LatencyHistogram getExchangeToReceive() {
+            return exchangeToReceive;
+        }
+
+        /**
+         * 本地收到到开始回调监听器（解析、排队耗时）
+         */
+        public LatencyHistogram getReceiveToDispatch() {
+            return receiveToDispatch;
+        }
+
+        /**
+         * 监听器执行耗时
+         */
+        public LatencyHistogram getListener() {
+            return listener;
+        }
+
+        /**
+         * 最近一条消息的交易所时间（毫秒）
+         */
+        public long getLastExchangeTs() {
+            return lastExchangeTs;
+        }
+
+        /**
+         * 最近一条消息的本地收到时间（毫秒）
+         */
+        public long getLastReceiveEpochMillis() {
+            return lastReceiveEpochMillis;
+        }
+
+        /**
+         * 最近一条消息距今的时长（毫秒），按交易所时间计算，没有数据时为 -1
+         */
+        public long getAgeMillis() {
+            long exchangeTs = lastExchangeTs;
+            return exchangeTs > 0 ? System.currentTimeMillis() - exchangeTs : -1L;
+        }
+
+        @Override
+        public String toString() {
+            return "exchangeToReceive[" + exchangeToReceive + "], receiveToDispatch[" + receiveToDispatch
+                    + "], listener[" + listener + "]";
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.bitget.openapi.ws;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 路由器单次解析后的 websocket 消息
+ * arg 字段只解析一次，ticker 频道的数据直接解码为 {@link WsTicker}，深度频道解码为 {@link WsBookData}
+ */
+@Getter
+public class WsMessage {
+
+    /**
+     * 原始消息，二进制帧按需生成
+     */
+    @Getter(AccessLevel.NONE)
+    private String raw;
+
+    /**
+     * 二进制帧解压后的字节，位于连接复用的缓冲区中，回调返回后失效
+     */
+    @Getter(AccessLevel.NONE)
+    private byte[] rawBytes;
+
+    @Getter(AccessLevel.NONE)
+    private int rawOffset;
+
+    @Getter(AccessLevel.NONE)
+    private int rawLength;
+
+    @Getter(AccessLevel.NONE)
+    private boolean detached;
+
+    /**
+     * 深度消息所属的订单簿同步器，监听器需在其锁内回调
+     */
+    @Getter(AccessLevel.NONE)
+    Object bookLock;
+
+    /**
+     * 合并模式的消息，data 尚未解码，见 {@link SubscriptionListener#isConflated()}
+     */
+    @Getter(AccessLevel.NONE)
+    boolean conflated;
+
+    /**
+     * data 待解码时指向路由器，解码后置空
+     */
+    @Getter(AccessLevel.NONE)
+    BitgetWsRouter decoder;
+
+    /**
+     * 事件类型：login / subscribe / unsubscribe / error，行情推送时为空
+     */
+    String event;
+
+    /**
+     * 错误码，成功或行情推送时为空
+     */
+    String code;
+
+    String msg;
+
+    /**
+     * 推送动作：snapshot 全量 / update 增量
+     */
+    String action;
+
+    String instType;
+
+    String channel;
+
+    String instId;
+
+    /**
+     * 消息时间戳（毫秒），没有时为0
+     */
+    long ts;
+
+    @Getter(AccessLevel.NONE)
+    boolean hasData;
+
+    /**
+     * ticker 频道解码结果，其他频道为空
+     */
+    WsTicker ticker;
+
+    /**
+     * 深度频道解码结果，其他频道为空
+     */
+    WsBookData bookData;
+
+    /**
+     * 按 {@link WsDataListener#dataType()} 反序列化的 data，没有类型监听器时为空
+     */
+    List<?> data;
+
+    /**
+     * K线频道解码结果，按时间升序，其他频道为空
+     */
+    List<WsCandle> candles;
+
+    /**
+     * 应用本条推送后的本地订单簿，仅深度频道有值，只应在回调线程内读取
+     */
+    OrderBook orderBook;
+
+    /**
+     * 收到消息时的本地时间（毫秒），用于计算交易所到本地的延迟
+     */
+    long receiveEpochMillis;
+
+    /**
+     * 收到消息时的 {@link System#nanoTime()}
+     */
+    long receiveNanos;
+
+    /**
+     * 开始回调监听器时的 {@link System#nanoTime()}，尚未分发时为0
+     */
+    long dispatchNanos;
+
+    WsMessage(String raw) {
+        this.raw = raw;
+    }
+
+    WsMessage(byte[] rawBytes, int rawOffset, int rawLength) {
+        this.rawBytes = rawBytes;
+        this.rawOffset = rawOffset;
+        this.rawLength = rawLength;
+    }
+
+    /**
+     * 原始消息文本
+     * 二进制帧只在首次调用时生成字符串，且只能在监听器回调内调用；需要保留原文的监听器应在回调内取出
+     */
+    public String getRaw() {
+        if (raw == null && rawBytes != null) {
+            raw = new String(rawBytes, rawOffset, rawLength, StandardCharsets.UTF_8);
+        }
+        return raw;
+    }
+
+    /**
+     * 异步分发前调用：把原始字节从复用缓冲区复制出来，之后 {@link #getRaw()} 在任意线程有效
+     */
+    void detachBuffer() {
+        if (rawBytes != null && !detached) {
+            rawBytes = Arrays.copyOfRange(rawBytes, rawOffset, rawOffset + rawLength);
+            rawOffset = 0;
+            detached = true;
+        }
+    }
+
+    /**
+     * 基于原始消息创建解析器，没有原始消息时返回 null
+     */
+    JsonParser createParser(JsonFactory factory) throws IOException {
+        if (rawBytes != null) {
+            return factory.createParser(rawBytes, rawOffset, rawLength);
+        }
+        return raw == null ? null : factory.createParser(raw);
+    }
+
+    /**
+     * ticker 频道解码结果，其他频道为空；合并模式下首次读取时解码
+     */
+    public WsTicker getTicker() {
+        decodeData();
+        return ticker;
+    }
+
+    /**
+     * 按 {@link WsDataListener#dataType()} 反序列化的 data，没有类型监听器时为空
+     */
+    public List<?> getData() {
+        decodeData();
+        return data;
+    }
+
+    /**
+     * K线频道解码结果，合并模式下首次读取时解码
+     */
+    public List<WsCandle> getCandles() {
+        decodeData();
+        return candles;
+    }
+
+    private void decodeData() {
+        BitgetWsRouter router = decoder;
+        if (router != null) {
+            decoder = null;
+            router.decode(this);
+        }
+    }
+
+    /**
+     * 是否为合并模式下的消息
+     */
+    public boolean isConflated() {
+        return conflated;
+    }
+
+    /**
+     * 回调结束后释放对复用缓冲区的引用，已复制的缓冲区保留
+     */
+    void releaseBuffer() {
+        if (detached) {
+            return;
+        }
+        rawBytes = null;
+    }
+
+    /**
+     * 交易所生成数据的时间（毫秒）：优先使用 data 中的时间戳，没有时使用消息时间戳
+     * 合并模式下 data 延迟解码，监听器未读取时在这里解码，与 {@link #getTicker()} 一样只能在回调内或异步分发的消息上调用
+     */
+    public long getExchangeTs() {
+        decodeData();
+        if (ticker != null && ticker.ts() > 0) {
+            return ticker.ts();
+        }
+        if (bookData != null && bookData.getTs() > 0) {
+            return bookData.getTs();
+        }
+        return ts;
+    }
+
+    /**
+     * 交易所到本地收到的延迟（毫秒），依赖本地时钟与交易所时钟同步，没有时间戳时为 -1
+     */
+    public long getExchangeLatencyMillis() {
+        long exchangeTs = getExchangeTs();
+        return exchangeTs > 0 ? receiveEpochMillis - exchangeTs : -1L;
+    }
+
+    /**
+     * 是否包含 data 字段
+     */
+    public boolean hasData() {
+        return hasData;
+    }
+
+    /**
+     * 是否为错误消息
+     */
+    public boolean isError() {
+        return code != null && !"0".equals(code);
+    }
+
+    public WsChannelKey getChannelKey() {
+        return new WsChannelKey(instType, channel, instId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.bitget.openapi.ws;
+
+/**
+ * websocket 重连指标快照，用于评估断线造成的数据缺口
+ *
+ * @param attempts            累计重连尝试次数
+ * @param reconnects          累计重连成功次数
+ * @param totalDowntimeMillis 累计断线时长（毫秒）
+ * @param lastDowntimeMillis  最近一次断线时长（毫秒）
+ * @param lastReplayMillis    最近一次订阅回放耗时（毫秒）
+ * @param down                当前是否处于断线状态
+ */
+public record WsReconnectStats(long attempts, long reconnects, long totalDowntimeMillis,
+                               long lastDowntimeMillis, long lastReplayMillis, boolean down) {
+}
@@ -0,0 +1,130 @@
+package com.bitget.openapi.ws;
+
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * websocket 重连调度
+ * <p>
+ * 断线后按指数退避加随机抖动延时重连，避免交易所故障期间密集重连；
+ * 重连成功后把订阅按批次分开发送，批次之间留出间隔，避免单条订阅消息过大（官方限制单条消息不超过4096字节）
+ * 以及超过每秒10条消息的频率限制。
+ */
+public class WsReconnectSupervisor {
+
+    private final long initialDelayMillis;
+
+    private final long maxDelayMillis;
+
+    private final int replayBatchSize;
+
+    private final long replayIntervalMillis;
+
+    private int attempt;
+
+    private long downSinceNanos;
+
+    private long attempts;
+
+    private long reconnects;
+
+    private long totalDowntimeMillis;
+
+    private long lastDowntimeMillis;
+
+    private volatile long lastReplayMillis;
+
+    public WsReconnectSupervisor(long initialDelayMillis, long maxDelayMillis, int replayBatchSize, long replayIntervalMillis) {
+        if (replayBatchSize <= 0) {
+            throw new IllegalArgumentException("replayBatchSize must be positive");
+        }
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.replayBatchSize = replayBatchSize;
+        this.replayIntervalMillis = replayIntervalMillis;
+    }
+
+    /**
+     * 连接断开，按退避时间延时执行重连
+     *
+     * @return 本次重连的延时（毫秒）
+     */
+    public synchronized long onDisconnected(Runnable reconnect) {
+        if (downSinceNanos == 0) {
+            downSinceNanos = System.nanoTime();
+        }
+        long delay = nextDelayMillis(attempt++);
+        attempts++;
+        WsHeartbeatScheduler.shared().schedule(reconnect, delay);
+        return delay;
+    }
+
+    /**
+     * 第 attempt 次（从0开始）重连的延时：基础延时按2的幂增长直到上限，实际延时在基础延时的一半到全部之间随机
+     */
+    long nextDelayMillis(int attempt) {
+        long base = initialDelayMillis << Math.min(attempt, 30);
+        if (base <= 0 || base > maxDelayMillis) {
+            base = maxDelayMillis;
+        }
+        long half = base / 2;
+        return half + ThreadLocalRandom.current().nextLong(base - half + 1);
+    }
+
+    /**
+     * 连接（需要登录时为登录）恢复后调用，分批回放订阅
+     *
+     * @param subscriptions 需要回放的订阅
+     * @param sender        发送一批订阅
+     * @param current       连接是否仍是本次恢复的连接，回放过程中再次断线则放弃剩余批次
+     */
+    public void onReconnected(List<SubscribeReq> subscriptions, Consumer<List<SubscribeReq>> sender, BooleanSupplier current) {
+        synchronized (this) {
+            attempt = 0;
+            if (downSinceNanos == 0) {
+                return;
+            }
+            lastDowntimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - downSinceNanos);
+            totalDowntimeMillis += lastDowntimeMillis;
+            reconnects++;
+            downSinceNanos = 0;
+        }
+        long replayStart = System.nanoTime();
+        List<List<SubscribeReq>> batches = new ArrayList<>();
+        for (int i = 0; i < subscriptions.size(); i += replayBatchSize) {
+            batches.add(new ArrayList<>(subscriptions.subList(i, Math.min(i + replayBatchSize, subscriptions.size()))));
+        }
+        if (batches.isEmpty()) {
+            lastReplayMillis = 0;
+            return;
+        }
+        for (int i = 0; i < batches.size(); i++) {
+            List<SubscribeReq> batch = batches.get(i);
+            boolean last = i == batches.size() - 1;
+            Runnable send = () -> {
+                if (!current.getAsBoolean()) {
+                    return;
+                }
+                sender.accept(batch);
+                if (last) {
+                    lastReplayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - replayStart);
+                }
+            };
+            if (i == 0) {
+                send.run();
+            } else {
+                WsHeartbeatScheduler.shared().schedule(send, i * replayIntervalMillis);
+            }
+        }
+    }
+
+    public synchronized WsReconnectStats getStats() {
+        return new WsReconnectStats(attempts, reconnects, totalDowntimeMillis, lastDowntimeMillis, lastReplayMillis, downSinceNanos != 0);
+    }
+}
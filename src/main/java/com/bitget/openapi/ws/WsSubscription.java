@@ -0,0 +1,42 @@
+package com.bitget.openapi.ws;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 连接池中的一次订阅，取消订阅后引用计数减一，计数归零时才真正向服务端退订
+ */
+public class WsSubscription {
+
+    private final BitgetWsConnectionPool pool;
+    private final List<WsChannelKey> channels;
+    private final SubscriptionListener listener;
+    private final AtomicBoolean active = new AtomicBoolean(true);
+
+    WsSubscription(BitgetWsConnectionPool pool, List<WsChannelKey> channels, SubscriptionListener listener) {
+        this.pool = pool;
+        this.channels = channels;
+        this.listener = listener;
+    }
+
+    public List<WsChannelKey> getChannels() {
+        return channels;
+    }
+
+    SubscriptionListener getListener() {
+        return listener;
+    }
+
+    public boolean isActive() {
+        return active.get();
+    }
+
+    /**
+     * 取消订阅，重复调用无副作用
+     */
+    public void unsubscribe() {
+        if (active.compareAndSet(true, false)) {
+            pool.release(this);
+        }
+    }
+}
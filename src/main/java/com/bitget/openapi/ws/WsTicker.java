@@ -0,0 +1,18 @@
+package com.bitget.openapi.ws;
+
+/**
+ * ticker 频道解码后的行情，价格均为原始类型，避免每条推送创建字符串和 BigDecimal
+ *
+ * @param instId     产品ID，如 BTCUSDT
+ * @param lastPr     最新成交价
+ * @param bidPr      买一价
+ * @param askPr      卖一价
+ * @param bidSz      买一量
+ * @param askSz      卖一量
+ * @param markPrice  标记价格
+ * @param indexPrice 指数价格
+ * @param ts         数据时间戳（毫秒）
+ */
+public record WsTicker(String instId, String lastPr, double bidPr, double askPr, double bidSz, double askSz,
+                       double markPrice, double indexPrice, long ts) {
+}
@@ -0,0 +1,41 @@
+package com.bitget.openapi.ws;
+
+import java.util.function.Consumer;
+
+/**
+ * ticker 频道监听器，直接接收解码后的 {@link WsTicker}
+ */
+@FunctionalInterface
+public interface WsTickerListener extends SubscriptionListener {
+
+    void onTicker(WsTicker ticker);
+
+    @Override
+    default void onReceive(String data) {
+    }
+
+    @Override
+    default void onMessage(WsMessage message) {
+        WsTicker ticker = message.getTicker();
+        if (ticker != null) {
+            onTicker(ticker);
+        }
+    }
+
+    /**
+     * 只关心最新价格的 ticker 监听器，使用合并模式，见 {@link SubscriptionListener#isConflated()}
+     */
+    static WsTickerListener latest(Consumer<WsTicker> consumer) {
+        return new WsTickerListener() {
+            @Override
+            public void onTicker(WsTicker ticker) {
+                consumer.accept(ticker);
+            }
+
+            @Override
+            public boolean isConflated() {
+                return true;
+            }
+        };
+    }
+}
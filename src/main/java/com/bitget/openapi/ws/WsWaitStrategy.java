@@ -0,0 +1,27 @@
+package com.bitget.openapi.ws;
+
+/**
+ * 分发线程在队列为空时的等待策略
+ */
+public enum WsWaitStrategy {
+
+    /**
+     * 挂起线程，由发布方唤醒；CPU 占用最低，唤醒有微秒级延迟
+     */
+    BLOCKING,
+
+    /**
+     * 短暂自旋后按固定间隔休眠；不需要发布方唤醒，延迟取决于休眠间隔
+     */
+    SLEEPING,
+
+    /**
+     * 自旋后让出 CPU；延迟低，空闲时仍占用部分 CPU
+     */
+    YIELDING,
+
+    /**
+     * 持续自旋；延迟最低，每个分区独占一个 CPU 核
+     */
+    BUSY_SPIN
+}
@@ -32,6 +32,36 @@ public final class BitgetConstant {
      **/
     public static final String BG_CHANNEL_TICKER = "ticker";
 
+    /**
+     * K线频道前缀，拼接周期使用，如 candle1m / candle4H
+     **/
+    public static final String BG_CHANNEL_CANDLE = "candle";
+
+    /**
+     * 私有频道 订单
+     **/
+    public static final String BG_CHANNEL_ORDERS = "orders";
+
+    /**
+     * 私有频道 持仓
+     **/
+    public static final String BG_CHANNEL_POSITIONS = "positions";
+
+    /**
+     * 私有频道 账户
+     **/
+    public static final String BG_CHANNEL_ACCOUNT = "account";
+
+    /**
+     * 私有频道 计划委托
+     **/
+    public static final String BG_CHANNEL_ORDERS_ALGO = "orders-algo";
+
+    /**
+     * 私有频道订阅全部产品时使用的 instId / coin
+     **/
+    public static final String BG_WS_ALL_DEFAULT = "default";
+
     /**
      * 持仓方向 long 多仓
      **/
@@ -146,5 +176,10 @@ public final class BitgetConstant {
      **/
     public static final String BG_FORCE_GTC = "gtc";
 
+    /**
+     * 账户、仓位、计划委托查询合并的结果缓存时长（毫秒）
+     * 同一账号多个策略同时查询时共用一次请求，下单、撤单、平仓成功后立即失效
+     **/
+    public static final long BG_QUERY_COALESCE_TTL_MILLIS = 200L;
 
 }
@@ -0,0 +1,13 @@
+package com.hy.common.enums;
+
+/**
+ * 行情价格当前的来源
+ */
+public enum MarketFeedSource {
+
+    //websocket 推送，正常情况下的主行情源
+    WEBSOCKET,
+
+    //websocket 推送失效时的 REST 全量快照回退
+    REST
+}
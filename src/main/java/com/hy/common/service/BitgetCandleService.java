@@ -0,0 +1,533 @@
+package com.hy.common.service;
+
+import com.bitget.custom.entity.BitgetMixMarketCandlesResp;
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+import com.bitget.openapi.dto.response.ResponseResult;
+import com.bitget.openapi.ws.WsCandle;
+import com.bitget.openapi.ws.WsCandleListener;
+import com.hy.common.enums.BitgetEnum;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static com.hy.common.constants.BitgetConstant.*;
+
+/**
+ * 合约K线实时维护服务
+ * 通过 websocket candle 频道在内存中维护每个 (交易对, 周期) 最近的K线，出现新K线时发布上一根K线的收盘事件，
+ * 只在首次订阅和检测到缺口时调用 REST 接口补齐
+ **/
+@Slf4j
+@Service
+public class BitgetCandleService {
+
+    /**
+     * 超过该时长没有收到推送视为失效，调用方应回退到 REST
+     **/
+    private static final long STALE_MILLIS = 60_000L;
+
+    /**
+     * REST K线接口单次最多返回条数
+     **/
+    private static final int REST_LIMIT = 1000;
+
+    /**
+     * 本地存储与最新K线之间最多通过 REST 补齐的根数，超过时放弃已存的旧数据，以内存中的连续K线重写存储
+     **/
+    private static final int MAX_BACKFILL_BARS = 10 * REST_LIMIT;
+
+    private final BitgetCustomService bitgetCustomService;
+
+    /**
+     * 本地K线存储，启动时先读已存K线，收盘K线持久化
+     **/
+    private final CandleStoreService candleStore;
+
+    /**
+     * key 为 交易对 + 周期
+     **/
+    private final Map<CandleKey, CandleSeries> seriesMap = new ConcurrentHashMap<>();
+
+    /**
+     * 首次加载、补齐缺口和写本地存储使用的执行器，避免在 websocket 回调线程上请求 REST 或写文件
+     **/
+    private final Executor repairExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bitget-candle-repair-", 0).factory());
+
+    public BitgetCandleService(BitgetCustomService bitgetCustomService, CandleStoreService candleStore) {
+        this.bitgetCustomService = bitgetCustomService;
+        this.candleStore = candleStore;
+    }
+
+    /**
+     * 订阅合约K线，同一交易对和周期只订阅一次，容量取各订阅方的最大值
+     * 首次订阅时在后台先读本地已存K线、通过 REST 补齐之后的部分，再订阅 websocket 推送，本方法不等待加载完成；
+     * 收到首次推送之前 {@link CandleSeries#isLive()} 为 false，{@link #getCandles} 返回空列表
+     *
+     * @param session   补齐缺口使用的会话
+     * @param symbol    交易对
+     * @param timeFrame K线周期
+     * @param capacity  内存中保留的K线根数
+     * @param listener  K线收盘监听器，可为空
+     */
+    public CandleSeries subscribeContractCandles(BitgetCustomService.BitgetSession session, String symbol, BitgetEnum timeFrame, int capacity, BarClosedListener listener) {
+        CandleKey key = new CandleKey(symbol, timeFrame);
+        boolean[] created = new boolean[1];
+        CandleSeries series = seriesMap.computeIfAbsent(key, k -> {
+            created[0] = true;
+            return new CandleSeries(session, symbol, timeFrame, capacity);
+        });
+        series.ensureCapacity(capacity);
+        if (listener != null) {
+            series.listeners.add(listener);
+        }
+        if (created[0]) {
+            repairExecutor.execute(() -> {
+                series.load();
+                SubscribeReq req = SubscribeReq.builder()
+                        .instType(BG_PRODUCT_TYPE_USDT_FUTURES)
+                        .channel(BG_CHANNEL_CANDLE + timeFrame.getCode())
+                        .instId(symbol)
+                        .build();
+                WsCandleListener candleListener = (message, candles) -> series.onCandles(candles);
+                bitgetCustomService.subscribeWsClientContractPublic(List.of(req), candleListener);
+            });
+        }
+        return series;
+    }
+
+    /**
+     * 获取最近 limit 根K线（含未收盘的当前K线）
+     * 未订阅、推送已失效或根数不足时返回空列表，调用方应回退到 REST
+     */
+    public List<BitgetMixMarketCandlesResp> getCandles(String symbol, BitgetEnum timeFrame, int limit) {
+        CandleSeries series = seriesMap.get(new CandleKey(symbol, timeFrame));
+        if (series == null || !series.isLive()) {
+            return Collections.emptyList();
+        }
+        List<BitgetMixMarketCandlesResp> candles = series.getCandles(limit);
+        return candles.size() < limit ? Collections.emptyList() : candles;
+    }
+
+    private record CandleKey(String symbol, BitgetEnum timeFrame) {
+    }
+
+    /**
+     * K线收盘监听器，在 websocket 分发线程上回调，耗时计算应交给其他线程
+     */
+    @FunctionalInterface
+    public interface BarClosedListener {
+
+        /**
+         * @param series 所属K线序列
+         * @param bar    刚收盘的K线；补齐缺口后会以最新收盘K线再通知一次
+         */
+        void onBarClosed(CandleSeries series, BitgetMixMarketCandlesResp bar);
+    }
+
+    /**
+     * 单个交易对、单个周期的滚动K线
+     */
+    public final class CandleSeries {
+
+        @Getter
+        private final String symbol;
+
+        @Getter
+        private final BitgetEnum timeFrame;
+
+        private final BitgetCustomService.BitgetSession session;
+
+        private final long durationMillis;
+
+        /**
+         * K线开始时间 -> K线，按时间升序
+         */
+        private final TreeMap<Long, BitgetMixMarketCandlesResp> bars = new TreeMap<>();
+
+        private final List<BarClosedListener> listeners = new CopyOnWriteArrayList<>();
+
+        private int capacity;
+
+        /**
+         * 最近一次收到推送的本地时间（毫秒）
+         */
+        @Getter
+        private volatile long lastUpdateMillis;
+
+        private boolean repairing;
+
+        /**
+         * 有任务正在写本地存储（首次加载、补齐或追加收盘K线），同一序列同时只有一个写入方
+         */
+        private boolean writing = true;
+
+        /**
+         * 上次发起补齐时的最新K线时间，同一根最新K线只补齐一次，补齐失败时等下一根K线再重试
+         */
+        private long backfillBar = Long.MIN_VALUE;
+
+        /**
+         * 已写入本地存储的最后一根收盘K线时间
+         */
+        private long persistedUpTo = Long.MIN_VALUE;
+
+        private CandleSeries(BitgetCustomService.BitgetSession session, String symbol, BitgetEnum timeFrame, int capacity) {
+            this.session = session;
+            this.symbol = symbol;
+            this.timeFrame = timeFrame;
+            this.durationMillis = timeFrame.getDuration().toMillis();
+            this.capacity = capacity;
+        }
+
+        /**
+         * 最近 limit 根K线的副本
+         */
+        public synchronized List<BitgetMixMarketCandlesResp> getCandles(int limit) {
+            List<BitgetMixMarketCandlesResp> list = new ArrayList<>(Math.min(limit, bars.size()));
+            Iterator<BitgetMixMarketCandlesResp> it = bars.descendingMap().values().iterator();
+            while (it.hasNext() && list.size() < limit) {
+                list.add(it.next());
+            }
+            Collections.reverse(list);
+            return list;
+        }
+
+        public synchronized int size() {
+            return bars.size();
+        }
+
+        /**
+         * 推送未失效且没有正在补齐的缺口，首次加载完成并收到推送之前为 false
+         */
+        public synchronized boolean isLive() {
+            return !repairing && System.currentTimeMillis() - lastUpdateMillis < STALE_MILLIS;
+        }
+
+        private synchronized void ensureCapacity(int capacity) {
+            this.capacity = Math.max(this.capacity, capacity);
+        }
+
+        /**
+         * 在 {@link #repairExecutor} 上执行，先读本地已存的最近 capacity 根K线，再通过 REST 分段加载最后一根已存K线之后的部分；
+         * 本地没有数据或缺口超过 {@link #MAX_BACKFILL_BARS} 时加载最近 capacity 根K线
+         * 创建时即持有写入权，加载结束后写入剩余的收盘K线并释放
+         */
+        private void load() {
+            int limit;
+            synchronized (this) {
+                limit = capacity;
+            }
+            try {
+                List<CandleStoreService.StoredCandle> stored = candleStore.readTail(CandleStoreService.VENUE_BITGET, symbol, timeFrame.getCode(), limit);
+                long missing = stored.isEmpty() ? Long.MAX_VALUE : (System.currentTimeMillis() - stored.getLast().timestamp()) / durationMillis + 1;
+                if (missing <= MAX_BACKFILL_BARS) {
+                    merge(CandleStoreService.toBitget(stored), false);
+                    synchronized (this) {
+                        persistedUpTo = stored.getLast().timestamp();
+                    }
+                    // 本地存储中的最后一根以 REST 数据为准
+                    boolean complete = fetchForward(stored.getLast().timestamp(), true);
+                    log.info("BitgetCandleService: 加载K线完成 symbol={} timeFrame={} stored={} missing={} complete={}",
+                            symbol, timeFrame.getCode(), stored.size(), missing, complete);
+                    return;
+                }
+                ResponseResult<List<BitgetMixMarketCandlesResp>> rs = session.getMinMarketCandles(symbol, BG_PRODUCT_TYPE_USDT_FUTURES,
+                        timeFrame.getCode(), Math.min(limit, REST_LIMIT));
+                if (rs.getData() != null) {
+                    merge(rs.getData(), true);
+                }
+                log.info("BitgetCandleService: 加载K线完成 symbol={} timeFrame={} stored={} fetched={}",
+                        symbol, timeFrame.getCode(), stored.size(), rs.getData() == null ? 0 : rs.getData().size());
+            } catch (Exception e) {
+                log.error("BitgetCandleService: 加载历史K线失败 symbol={} timeFrame={}", symbol, timeFrame.getCode(), e);
+            } finally {
+                writeClosed();
+            }
+        }
+
+        /**
+         * 合并推送的K线，最新K线时间前进时发布上一根K线收盘事件，中间有缺失时异步补齐
+         */
+        private void onCandles(List<WsCandle> candles) {
+            if (candles.isEmpty()) {
+                return;
+            }
+            BitgetMixMarketCandlesResp closed = null;
+            boolean gap = false;
+            long gapFrom = 0L, gapTo = 0L;
+            synchronized (this) {
+                Long prevLast = bars.isEmpty() ? null : bars.lastKey();
+                for (WsCandle candle : candles) {
+                    bars.put(candle.ts(), toResp(candle));
+                }
+                trim();
+                lastUpdateMillis = System.currentTimeMillis();
+                long last = bars.lastKey();
+                if (prevLast == null || last <= prevLast) {
+                    return;
+                }
+                Map.Entry<Long, BitgetMixMarketCandlesResp> previous = bars.lowerEntry(last);
+                closed = previous == null ? null : previous.getValue();
+                // 上一次最新K线到本次最新K线之间应当连续
+                long expected = (last - prevLast) / durationMillis;
+                if (bars.subMap(prevLast, false, last, true).size() < expected && !repairing) {
+                    repairing = true;
+                    gap = true;
+                    gapFrom = prevLast;
+                    gapTo = last;
+                }
+            }
+            if (gap) {
+                long from = gapFrom, to = gapTo;
+                repairExecutor.execute(() -> repair(from, to));
+            }
+            if (closed != null) {
+                persistClosed();
+                fireBarClosed(closed);
+            }
+        }
+
+        /**
+         * 通过 REST 补齐 (from, to) 之间缺失的K线
+         */
+        private void repair(long from, long to) {
+            try {
+                int limit = (int) Math.min(REST_LIMIT, (to - from) / durationMillis + 1);
+                ResponseResult<List<BitgetMixMarketCandlesResp>> rs = session.getMinMarketCandles(symbol, BG_PRODUCT_TYPE_USDT_FUTURES,
+                        timeFrame.getCode(), limit, String.valueOf(from), String.valueOf(to));
+                if (rs.getData() != null && !rs.getData().isEmpty()) {
+                    merge(rs.getData(), false);
+                }
+                log.info("BitgetCandleService: K线缺口已补齐 symbol={} timeFrame={} from={} to={} size={}",
+                        symbol, timeFrame.getCode(), from, to, rs.getData() == null ? 0 : rs.getData().size());
+            } catch (Exception e) {
+                log.error("BitgetCandleService: 补齐K线缺口失败 symbol={} timeFrame={} from={} to={}", symbol, timeFrame.getCode(), from, to, e);
+            } finally {
+                BitgetMixMarketCandlesResp closed;
+                synchronized (this) {
+                    repairing = false;
+                    Map.Entry<Long, BitgetMixMarketCandlesResp> previous = bars.isEmpty() ? null : bars.lowerEntry(bars.lastKey());
+                    closed = previous == null ? null : previous.getValue();
+                }
+                persistClosed();
+                if (closed != null) {
+                    fireBarClosed(closed);
+                }
+            }
+        }
+
+        /**
+         * 合并 REST 或本地存储的K线
+         *
+         * @param overwrite 为 false 时只补充缺失的K线，不覆盖推送的更新
+         */
+        private synchronized void merge(List<BitgetMixMarketCandlesResp> candles, boolean overwrite) {
+            for (BitgetMixMarketCandlesResp candle : candles) {
+                if (overwrite) {
+                    bars.put(candle.getTimestamp(), candle);
+                } else {
+                    bars.putIfAbsent(candle.getTimestamp(), candle);
+                }
+            }
+            trim();
+        }
+
+        /**
+         * 有尚未写入的收盘K线且没有其他写入方时，取得写入权并交给 {@link #repairExecutor} 写入，
+         * 不在调用线程（websocket 分发线程）上写文件
+         */
+        private void persistClosed() {
+            synchronized (this) {
+                if (writing || !hasUnpersisted()) {
+                    return;
+                }
+                writing = true;
+            }
+            repairExecutor.execute(this::writeClosed);
+        }
+
+        /**
+         * 持有写入权时调用：在锁内复制尚未写入的收盘K线（除最新一根外），在锁外写入本地存储，直到没有新的收盘K线后释放写入权；
+         * 补齐缺口期间不写入，由补齐结束时再次触发；与已存K线不连续时只写入连续的部分，剩余缺口交给 {@link #backfill(long)} 处理
+         */
+        private void writeClosed() {
+            try {
+                while (true) {
+                    long last;
+                    List<BitgetMixMarketCandlesResp> pending;
+                    synchronized (this) {
+                        if (repairing || !hasUnpersisted()) {
+                            writing = false;
+                            return;
+                        }
+                        last = bars.lastKey();
+                        pending = new ArrayList<>(bars.subMap(persistedUpTo, false, last, false).values());
+                    }
+                    if (appendClosed(pending)) {
+                        continue;
+                    }
+                    long from;
+                    synchronized (this) {
+                        if (backfillBar == last) {
+                            writing = false;
+                            return;
+                        }
+                        backfillBar = last;
+                        from = persistedUpTo;
+                    }
+                    log.warn("BitgetCandleService: 本地K线不连续，开始补齐 symbol={} timeFrame={} persistedUpTo={}", symbol, timeFrame.getCode(), from);
+                    backfill(from);
+                }
+            } catch (RuntimeException e) {
+                log.error("BitgetCandleService: 写入本地K线失败 symbol={} timeFrame={}", symbol, timeFrame.getCode(), e);
+                synchronized (this) {
+                    writing = false;
+                }
+            }
+        }
+
+        /**
+         * 调用方须持有锁
+         */
+        private boolean hasUnpersisted() {
+            return bars.size() >= 2 && persistedUpTo < bars.lowerKey(bars.lastKey());
+        }
+
+        /**
+         * 持有写入权时调用：追加比 persistedUpTo 更新的收盘K线，只写入与已存K线连续的部分
+         *
+         * @return 全部写入时返回 true
+         */
+        private boolean appendClosed(List<BitgetMixMarketCandlesResp> closed) {
+            List<BitgetMixMarketCandlesResp> pending = new ArrayList<>(closed.size());
+            synchronized (this) {
+                for (BitgetMixMarketCandlesResp candle : closed) {
+                    if (candle.getTimestamp() > persistedUpTo) {
+                        pending.add(candle);
+                    }
+                }
+            }
+            if (pending.isEmpty()) {
+                return true;
+            }
+            boolean contiguous = candleStore.appendContiguous(CandleStoreService.VENUE_BITGET, symbol, timeFrame.getCode(), durationMillis,
+                    CandleStoreService.fromBitget(pending));
+            long upTo = contiguous ? pending.getLast().getTimestamp() : candleStore.lastTimestamp(CandleStoreService.VENUE_BITGET, symbol, timeFrame.getCode());
+            synchronized (this) {
+                persistedUpTo = upTo;
+            }
+            return contiguous;
+        }
+
+        /**
+         * 持有写入权时调用：补齐本地存储最后一根K线 from 到当前时间之间的缺口；缺口超过 {@link #MAX_BACKFILL_BARS} 或存储为空时，
+         * 以内存中最新的连续收盘K线重写存储
+         */
+        private void backfill(long from) {
+            if (from != Long.MIN_VALUE && (System.currentTimeMillis() - from) / durationMillis + 1 <= MAX_BACKFILL_BARS) {
+                boolean complete = fetchForward(from, false);
+                log.info("BitgetCandleService: 本地K线补齐结束 symbol={} timeFrame={} from={} complete={}", symbol, timeFrame.getCode(), from, complete);
+                return;
+            }
+            List<BitgetMixMarketCandlesResp> closed;
+            synchronized (this) {
+                closed = contiguousClosedTail();
+            }
+            if (closed.isEmpty()) {
+                return;
+            }
+            candleStore.replace(CandleStoreService.VENUE_BITGET, symbol, timeFrame.getCode(), CandleStoreService.fromBitget(closed));
+            synchronized (this) {
+                persistedUpTo = closed.getLast().getTimestamp();
+            }
+            log.warn("BitgetCandleService: 本地K线缺口过大，已重写存储 symbol={} timeFrame={} from={} size={}", symbol, timeFrame.getCode(), from, closed.size());
+        }
+
+        /**
+         * 持有写入权时调用：从 from 开始按单次请求上限分段请求到当前时间，收盘K线直接追加到本地存储（不受内存容量限制），全部K线合并到内存
+         *
+         * @return 全部分段请求成功且写入连续时返回 true
+         */
+        private boolean fetchForward(long from, boolean overwrite) {
+            long now = System.currentTimeMillis();
+            long step = (long) REST_LIMIT * durationMillis;
+            for (long start = from; start <= now; start += step) {
+                long end = Math.min(start + step - durationMillis, now);
+                List<BitgetMixMarketCandlesResp> candles;
+                try {
+                    ResponseResult<List<BitgetMixMarketCandlesResp>> rs = session.getMinMarketCandles(symbol, BG_PRODUCT_TYPE_USDT_FUTURES,
+                            timeFrame.getCode(), REST_LIMIT, String.valueOf(start), String.valueOf(end));
+                    candles = rs.getData() == null ? new ArrayList<>() : new ArrayList<>(rs.getData());
+                } catch (Exception e) {
+                    log.error("BitgetCandleService: 加载K线失败 symbol={} timeFrame={} from={} to={}", symbol, timeFrame.getCode(), start, end, e);
+                    return false;
+                }
+                candles.sort(Comparator.comparing(BitgetMixMarketCandlesResp::getTimestamp));
+                List<BitgetMixMarketCandlesResp> closed = new ArrayList<>(candles.size());
+                for (BitgetMixMarketCandlesResp candle : candles) {
+                    if (candle.getTimestamp() + durationMillis <= now) {
+                        closed.add(candle);
+                    }
+                }
+                boolean contiguous = appendClosed(closed);
+                merge(candles, overwrite);
+                if (!contiguous) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 内存中以最新一根收盘K线结尾、时间连续的收盘K线，调用方须持有锁
+         */
+        private List<BitgetMixMarketCandlesResp> contiguousClosedTail() {
+            LinkedList<BitgetMixMarketCandlesResp> closed = new LinkedList<>();
+            if (bars.size() < 2) {
+                return closed;
+            }
+            for (BitgetMixMarketCandlesResp candle : bars.headMap(bars.lastKey(), false).descendingMap().values()) {
+                if (!closed.isEmpty() && closed.getFirst().getTimestamp() - candle.getTimestamp() != durationMillis) {
+                    break;
+                }
+                closed.addFirst(candle);
+            }
+            return closed;
+        }
+
+        private void trim() {
+            while (bars.size() > capacity) {
+                bars.pollFirstEntry();
+            }
+        }
+
+        private void fireBarClosed(BitgetMixMarketCandlesResp bar) {
+            for (BarClosedListener listener : listeners) {
+                try {
+                    listener.onBarClosed(this, bar);
+                } catch (Exception e) {
+                    log.error("BitgetCandleService: K线收盘监听器异常 symbol={} timeFrame={}", symbol, timeFrame.getCode(), e);
+                }
+            }
+        }
+
+        private BitgetMixMarketCandlesResp toResp(WsCandle candle) {
+            BitgetMixMarketCandlesResp resp = new BitgetMixMarketCandlesResp();
+            resp.setTimestamp(candle.ts());
+            resp.setOpenPrice(new BigDecimal(candle.open()));
+            resp.setHighPrice(new BigDecimal(candle.high()));
+            resp.setLowPrice(new BigDecimal(candle.low()));
+            resp.setClosePrice(new BigDecimal(candle.close()));
+            resp.setBaseVolume(new BigDecimal(candle.baseVolume()));
+            resp.setQuoteVolume(new BigDecimal(candle.quoteVolume()));
+            return resp;
+        }
+    }
+}
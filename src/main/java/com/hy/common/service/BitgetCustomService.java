@@ -1,30 +1,46 @@
 package com.hy.common.service;
 
+import com.bitget.custom.api.BitgetMixApi;
 import com.bitget.custom.entity.*;
+import com.bitget.openapi.common.client.BitgetHttpTransport;
 import com.bitget.openapi.common.client.BitgetRestClient;
+import com.bitget.openapi.common.constant.HttpHeader;
 import com.bitget.openapi.common.domain.ClientParameter;
+import com.bitget.openapi.common.enums.EndpointGroupEnum;
+import com.bitget.openapi.common.enums.RequestPriorityEnum;
 import com.bitget.openapi.common.enums.SignTypeEnum;
 import com.bitget.openapi.common.enums.SupportedLocaleEnum;
+import com.bitget.openapi.common.utils.ResponseUtils;
 import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.response.ResponseResult;
-import com.bitget.openapi.ws.BitgetWsClient;
-import com.bitget.openapi.ws.BitgetWsHandle;
-import com.bitget.openapi.ws.SubscriptionListener;
+import com.bitget.openapi.ws.*;
 import com.google.common.collect.Maps;
 import com.hy.common.config.BitgetProperties;
 import com.hy.common.enums.BitgetAccountType;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-
-import static com.hy.common.constants.BitgetConstant.BG_PRODUCT_TYPE_USDT_FUTURES;
-import static com.hy.common.constants.BitgetConstant.DEFAULT_CURRENCY_USDT;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static com.hy.common.constants.BitgetConstant.*;
 import static com.hy.common.utils.json.JsonUtil.*;
 
 /**
@@ -44,6 +60,21 @@ public class BitgetCustomService {
      **/
     private final Map<String, BitgetRestClient> clients = new HashMap<>();
 
+    /**
+     * websocket 连接池，key 为推送地址
+     **/
+    private final Map<String, BitgetWsConnectionPool> wsPools = new ConcurrentHashMap<>();
+
+    /**
+     * 私有频道 websocket 连接，key 为账号名称，每个账号一条登录后的连接
+     **/
+    private final Map<String, BitgetWsClient> wsPrivateClients = new ConcurrentHashMap<>();
+
+    /**
+     * 拉取深度 REST 快照的执行器，避免阻塞 websocket 读线程
+     **/
+    private final Executor bookSnapshotExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bitget-book-snapshot-", 0).factory());
+
 
     public BitgetCustomService(BitgetProperties properties) {
         this.properties = properties;
@@ -67,6 +98,18 @@ public class BitgetCustomService {
 
             log.info("初始化 BitgetRestClient 成功, account={}", account.getName());
         }
+        // 所有账号共用连接池，按接口地址预建连接并定时保活，下单不必等待握手
+        BitgetHttpTransport.shared().keepAlive(StringUtils.defaultIfBlank(properties.getBaseUrl(), HttpHeader.BASE_URL));
+    }
+
+    /**
+     * 停止连接保活，关闭所有websocket连接
+     */
+    @PreDestroy
+    public void destroy() {
+        BitgetHttpTransport.shared().stopKeepAlive();
+        wsPools.values().forEach(BitgetWsConnectionPool::close);
+        wsPrivateClients.values().forEach(BitgetWsClient::close);
     }
 
     /**
@@ -83,13 +126,138 @@ public class BitgetCustomService {
 
     /**
      * 订阅websocket合约公共频道
+     * 同一推送地址共享连接池，相同频道只订阅一次，消息分发给所有监听器
+     * 连接异步建立，订阅请求在连接成功后自动发送，不会阻塞调用线程
+     **/
+    public WsSubscription subscribeWsClientContractPublic(List<SubscribeReq> list, SubscriptionListener listener) {
+        return publicWsPool().subscribe(list, listener);
+    }
+
+    /**
+     * 公共频道行情延迟统计，可按频道或交易对查询
+     **/
+    public WsLatencyRecorder getWsPublicLatencyRecorder() {
+        return publicWsPool().getLatencyRecorder();
+    }
+
+    /**
+     * 公共频道监听器分发器，可查看各分区队列深度和丢弃数
+     **/
+    public WsDispatcher getWsPublicDispatcher() {
+        return publicWsPool().getDispatcher();
+    }
+
+    private BitgetWsConnectionPool publicWsPool() {
+        return wsPools.computeIfAbsent(properties.getWsPublicUrl(), url -> new BitgetWsConnectionPool(url)
+                .bookSnapshotLoader(this::loadBookSnapshot)
+                .dispatcher(new WsDispatcher()));
+    }
+
+    /**
+     * 深度频道序列中断时通过 REST 接口拉取全量深度，使用任意已配置账号的 client
      **/
-    public BitgetWsClient subscribeWsClientContractPublic(List<SubscribeReq> list, SubscriptionListener listener) {
-        BitgetWsClient client = BitgetWsHandle.builder().pushUrl(properties.getWsPublicUrl()).build();
+    private CompletableFuture<WsBookData> loadBookSnapshot(WsChannelKey key) {
+        return CompletableFuture.supplyAsync(() -> {
+            BitgetRestClient client = clients.values().stream().findFirst()
+                    .orElseThrow(() -> new IllegalStateException("未初始化 BitgetRestClient"));
+            try {
+                ResponseResult<BitgetMixMarketOrderbookResp> rs = new BitgetSession(client, null).getMixMarketOrderbook(key.instId(), key.instType(), 100);
+                if (rs == null || rs.getData() == null) {
+                    throw new IllegalStateException("深度快照为空: " + key);
+                }
+                BitgetMixMarketOrderbookResp orderbook = rs.getData();
+                WsBookData data = new WsBookData();
+                if (orderbook.getAsks() != null) {
+                    orderbook.getAsks().forEach(level -> data.addAsk(toPlainString(level.get(0)), toPlainString(level.get(1))));
+                }
+                if (orderbook.getBids() != null) {
+                    orderbook.getBids().forEach(level -> data.addBid(toPlainString(level.get(0)), toPlainString(level.get(1))));
+                }
+                if (orderbook.getTs() != null) {
+                    data.setTs(Long.parseLong(orderbook.getTs()));
+                }
+                return data;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, bookSnapshotExecutor);
+    }
+
+    /**
+     * Jackson 按原文保留数字文本，这里只防御 REST 以科学计数法（如 1E-5）返回的价格或数量：
+     * 推送中均为普通小数，校验和按原文计算，格式不同会使回放后的校验和不一致
+     **/
+    private static String toPlainString(String number) {
+        return new BigDecimal(number).toPlainString();
+    }
+
+    /**
+     * 订阅websocket合约公共 ticker 频道，监听器直接接收解码后的行情
+     **/
+    public WsSubscription subscribeWsClientContractTicker(List<SubscribeReq> list, WsTickerListener listener) {
+        return subscribeWsClientContractPublic(list, listener);
+    }
+
+    /**
+     * 订阅websocket合约私有频道
+     * 同一账号共用一条连接，连接建立后使用 RSA 签名登录，订阅在登录成功后发送，断线重连后自动重新登录并回放订阅；
+     * 同一频道被多次订阅时每个监听器都会收到推送
+     **/
+    public BitgetWsClient subscribeWsClientContractPrivate(BitgetAccountType accountType, List<SubscribeReq> list, SubscriptionListener listener) {
+        BitgetWsClient client = wsPrivateClients.computeIfAbsent(accountType.name(), this::buildPrivateWsClient);
         client.subscribe(list, listener);
         return client;
     }
 
+    /**
+     * 订阅合约订单推送（全部交易对）
+     **/
+    public BitgetWsClient subscribeContractOrders(BitgetAccountType accountType, Consumer<List<BitgetWsOrderResp>> consumer) {
+        return subscribeWsClientContractPrivate(accountType, List.of(privateChannel(BG_CHANNEL_ORDERS)), WsDataListener.of(BitgetWsOrderResp.class, consumer));
+    }
+
+    /**
+     * 订阅合约持仓推送（全部交易对），推送内容为当前全部持仓
+     **/
+    public BitgetWsClient subscribeContractPositions(BitgetAccountType accountType, Consumer<List<BitgetWsPositionResp>> consumer) {
+        return subscribeWsClientContractPrivate(accountType, List.of(privateChannel(BG_CHANNEL_POSITIONS)), WsDataListener.of(BitgetWsPositionResp.class, consumer));
+    }
+
+    /**
+     * 订阅合约账户推送
+     **/
+    public BitgetWsClient subscribeContractAccount(BitgetAccountType accountType, Consumer<List<BitgetWsAccountResp>> consumer) {
+        SubscribeReq req = SubscribeReq.builder().instType(BG_PRODUCT_TYPE_USDT_FUTURES).channel(BG_CHANNEL_ACCOUNT).coin(BG_WS_ALL_DEFAULT).build();
+        return subscribeWsClientContractPrivate(accountType, List.of(req), WsDataListener.of(BitgetWsAccountResp.class, consumer));
+    }
+
+    /**
+     * 订阅合约计划委托推送（全部交易对）
+     **/
+    public BitgetWsClient subscribeContractOrdersAlgo(BitgetAccountType accountType, Consumer<List<BitgetWsOrderAlgoResp>> consumer) {
+        return subscribeWsClientContractPrivate(accountType, List.of(privateChannel(BG_CHANNEL_ORDERS_ALGO)), WsDataListener.of(BitgetWsOrderAlgoResp.class, consumer));
+    }
+
+    private static SubscribeReq privateChannel(String channel) {
+        return SubscribeReq.builder().instType(BG_PRODUCT_TYPE_USDT_FUTURES).channel(channel).instId(BG_WS_ALL_DEFAULT).build();
+    }
+
+    private BitgetWsClient buildPrivateWsClient(String accountName) {
+        BitgetProperties.Account account = properties.getAccounts().stream()
+                .filter(a -> accountName.equals(a.getName()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("未找到账号配置: " + accountName));
+        log.info("初始化私有频道 websocket, account={}", accountName);
+        return BitgetWsHandle.builder()
+                .pushUrl(properties.getWsPrivateUrl())
+                .apiKey(account.getApiKey())
+                .secretKey(account.getSecretKey())
+                .passPhrase(account.getPassphrase())
+                .signType(SignTypeEnum.RSA) // 与 REST client 一致使用RSA签名
+                .isLogin(true)
+                .build();
+    }
+
     /**
      * 订阅websocket合约公共频道
      **/
@@ -107,9 +275,94 @@ public class BitgetCustomService {
         @Getter
         private final String accountName;
 
+        /**
+         * 响应体直接解码为 {@code ResponseResult<T>}，代理按 ApiClient 缓存
+         **/
+        private final BitgetMixApi api;
+
+        /**
+         * 限流排队优先级，为空时使用接口组的默认优先级
+         **/
+        private final RequestPriorityEnum priority;
+
+        /**
+         * 查询合并的结果缓存时长，为空时不合并
+         **/
+        private final Duration coalesceTtl;
+
         public BitgetSession(BitgetRestClient client, String accountName) {
+            this(client, accountName, null, null);
+        }
+
+        private BitgetSession(BitgetRestClient client, String accountName, RequestPriorityEnum priority, Duration coalesceTtl) {
             this.client = client;
             this.accountName = accountName;
+            this.api = client.bitget().v2().createRetrofit(BitgetMixApi.class);
+            this.priority = priority;
+            this.coalesceTtl = coalesceTtl;
+        }
+
+        /**
+         * 返回使用指定限流优先级的会话，共用同一账号的令牌桶
+         * 例如历史K线下载使用 {@link RequestPriorityEnum#BACKGROUND}，令牌不足时让位于下单和行情轮询
+         **/
+        public BitgetSession withPriority(RequestPriorityEnum priority) {
+            return new BitgetSession(client, accountName, priority, coalesceTtl);
+        }
+
+        /**
+         * 返回开启查询合并的会话
+         * 同一账号上参数相同的并发 getAccounts / getAllPosition / getOrdersPlanPending 只发起一次请求，
+         * ttl 内的重复调用直接返回上次结果；下单、撤单、平仓、调整账户设置成功后缓存立即失效
+         * 返回结果由多个调用方共享，不要修改
+         *
+         * @param ttl 结果缓存时长，{@link Duration#ZERO} 表示只合并同时在途的请求
+         **/
+        public BitgetSession coalescing(Duration ttl) {
+            return new BitgetSession(client, accountName, priority, ttl);
+        }
+
+        /**
+         * 按接口组获取令牌后通过 {@link Call#enqueue} 异步执行，等待令牌和网络响应都不占用调用线程
+         * 会改变账户状态的接口执行后使查询合并缓存失效
+         **/
+        private <T> CompletableFuture<ResponseResult<T>> executeAsync(EndpointGroupEnum group, Call<ResponseResult<T>> call) {
+            return client.rateLimiter().acquire(group, priority)
+                    .thenCompose(granted -> enqueue(call))
+                    .thenApply(rs -> {
+                        ResponseUtils.handleTypedResponse(rs);
+                        if (group.getDefaultPriority() == RequestPriorityEnum.ORDER || group == EndpointGroupEnum.ACCOUNT_SETTING) {
+                            client.coalescer().invalidate();
+                        }
+                        return rs;
+                    });
+        }
+
+        /**
+         * 开启查询合并时按 请求路径 + 排序后的参数 合并，否则直接执行
+         **/
+        private <T> CompletableFuture<ResponseResult<T>> executeCoalescedAsync(EndpointGroupEnum group, Call<ResponseResult<T>> call, Map<String, String> paramMap) {
+            if (coalesceTtl == null) {
+                return executeAsync(group, call);
+            }
+            String key = call.request().url().encodedPath() + new TreeMap<>(paramMap);
+            return client.coalescer().execute(key, coalesceTtl, () -> executeAsync(group, call));
+        }
+
+        private static <T> CompletableFuture<T> enqueue(Call<T> call) {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            call.enqueue(new Callback<>() {
+                @Override
+                public void onResponse(Call<T> c, Response<T> response) {
+                    future.complete(response.body());
+                }
+
+                @Override
+                public void onFailure(Call<T> c, Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            });
+            return future;
         }
 
         /**
@@ -117,10 +370,16 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/account/Get-Account-List">获取账户信息列表</a>
          **/
         public ResponseResult<List<BitgetAccountsResp>> getAccounts() throws IOException {
+            return ResponseUtils.await(getAccountsAsync());
+        }
+
+        /**
+         * {@link #getAccounts} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetAccountsResp>>> getAccountsAsync() {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object accounts = client.bitget().v2().mixAccount().getAccounts(paramMap);
-            return toBean(toJson(accounts), ResponseResult.class, List.class, BitgetAccountsResp.class);
+            return executeCoalescedAsync(EndpointGroupEnum.ACCOUNT, api.accounts(paramMap), paramMap);
         }
 
         /**
@@ -128,12 +387,18 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/account/Get-Single-Account">获取单个交易对账户信息</a>
          **/
         public ResponseResult<BitgetAccountResp> getAccount(String symbol) throws IOException {
+            return ResponseUtils.await(getAccountAsync(symbol));
+        }
+
+        /**
+         * {@link #getAccount} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetAccountResp>> getAccountAsync(String symbol) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("marginCoin", DEFAULT_CURRENCY_USDT);
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object account = client.bitget().v2().mixAccount().getAccount(paramMap);
-            return toBean(toJson(account), ResponseResult.class, BitgetAccountResp.class);
+            return executeAsync(EndpointGroupEnum.ACCOUNT, api.account(paramMap));
         }
 
         /**
@@ -141,11 +406,17 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/position/get-all-position">获取全部合约仓位信息</a>
          **/
         public ResponseResult<List<BitgetAllPositionResp>> getAllPosition() throws IOException {
+            return ResponseUtils.await(getAllPositionAsync());
+        }
+
+        /**
+         * {@link #getAllPosition} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetAllPositionResp>>> getAllPositionAsync() {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("marginCoin", DEFAULT_CURRENCY_USDT);
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object allPosition = client.bitget().v2().mixAccount().allPosition(paramMap);
-            return toBean(toJson(allPosition), ResponseResult.class, List.class, BitgetAllPositionResp.class);
+            return executeCoalescedAsync(EndpointGroupEnum.ACCOUNT, api.allPosition(paramMap), paramMap);
         }
 
         /**
@@ -154,12 +425,18 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.com/zh-CN/api-doc/contract/position/get-single-position">获取单个合约仓位信息</a>
          **/
         public ResponseResult<List<BitgetAllPositionResp>> getSinglePosition(String symbol) throws IOException {
+            return ResponseUtils.await(getSinglePositionAsync(symbol));
+        }
+
+        /**
+         * {@link #getSinglePosition} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetAllPositionResp>>> getSinglePositionAsync(String symbol) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("marginCoin", DEFAULT_CURRENCY_USDT);
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object allPosition = client.bitget().v2().mixAccount().singlePosition(paramMap);
-            return toBean(toJson(allPosition), ResponseResult.class, List.class, BitgetAllPositionResp.class);
+            return executeAsync(EndpointGroupEnum.ACCOUNT, api.singlePosition(paramMap));
         }
 
         /**
@@ -175,6 +452,13 @@ public class BitgetCustomService {
             return placeOrder(orderNo, symbol, size, side, tradeSide, orderType, marginMode, null);
         }
 
+        /**
+         * {@link #placeOrder} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetPlaceOrderResp>> placeOrderAsync(String orderNo, String symbol, String size, String side, String tradeSide, String orderType, String marginMode) {
+            return placeOrderAsync(orderNo, symbol, size, side, tradeSide, orderType, marginMode, null);
+        }
+
         /**
          * 下单
          * 普通用户限速10次/S 根据uid限频
@@ -185,6 +469,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/trade/Place-Order">下单</a>
          **/
         public ResponseResult<BitgetPlaceOrderResp> placeOrder(String orderNo, String symbol, String size, String side, String tradeSide, String orderType, String marginMode, String presetStopLossPrice) throws IOException {
+            return ResponseUtils.await(placeOrderAsync(orderNo, symbol, size, side, tradeSide, orderType, marginMode, presetStopLossPrice));
+        }
+
+        /**
+         * {@link #placeOrder} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetPlaceOrderResp>> placeOrderAsync(String orderNo, String symbol, String size, String side, String tradeSide, String orderType, String marginMode, String presetStopLossPrice) {
             Map<String, String> paramMap = Maps.newHashMap();
             //自定义订单id,幂等时间为20分钟
             paramMap.put("clientOid", orderNo);
@@ -214,8 +505,7 @@ public class BitgetCustomService {
             if (presetStopLossPrice != null && !presetStopLossPrice.isEmpty()) {
                 paramMap.put("presetStopLossPrice", presetStopLossPrice);
             }
-            Object placeOrder = client.bitget().v2().mixOrder().placeOrder(paramMap);
-            return toBean(toJson(placeOrder), ResponseResult.class, BitgetPlaceOrderResp.class);
+            return executeAsync(EndpointGroupEnum.PLACE_ORDER, api.placeOrder(paramMap));
         }
 
 
@@ -228,12 +518,26 @@ public class BitgetCustomService {
             return getOrderDetail(symbol, orderId, null);
         }
 
+        /**
+         * {@link #getOrderDetail} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetOrderDetailResp>> getOrderDetailAsync(String symbol, String orderId) {
+            return getOrderDetailAsync(symbol, orderId, null);
+        }
+
         /**
          * 获取订单详情
          * 限速规则: 10次/1s (uid)
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/trade/Get-Order-Details">获取订单详情</a>
          **/
         public ResponseResult<BitgetOrderDetailResp> getOrderDetail(String symbol, String orderId, String clientOid) throws IOException {
+            return ResponseUtils.await(getOrderDetailAsync(symbol, orderId, clientOid));
+        }
+
+        /**
+         * {@link #getOrderDetail} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetOrderDetailResp>> getOrderDetailAsync(String symbol, String orderId, String clientOid) {
             Map<String, String> paramMap = Maps.newHashMap();
             if (orderId != null && !orderId.isEmpty()) {
                 paramMap.put("orderId", orderId);
@@ -243,8 +547,7 @@ public class BitgetCustomService {
             if (clientOid != null && !clientOid.isEmpty()) {
                 paramMap.put("clientOid", clientOid);
             }
-            Object rs = client.bitget().v2().mixOrder().orderDetail(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetOrderDetailResp.class);
+            return executeAsync(EndpointGroupEnum.ORDER_QUERY, api.orderDetail(paramMap));
         }
 
         public ResponseResult<BitgetOrderDetailResp> getOrderDetailByClientOid(String symbol, String clientOid) throws IOException {
@@ -260,11 +563,17 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/position/Get-Query-Position-Lever">获取某交易对的仓位档位梯度配置</a>
          **/
         public ResponseResult<List<BitgetQueryPositionLeverResp>> queryPositionLever(String symbol) throws IOException {
+            return ResponseUtils.await(queryPositionLeverAsync(symbol));
+        }
+
+        /**
+         * {@link #queryPositionLever} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetQueryPositionLeverResp>>> queryPositionLeverAsync(String symbol) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object queryPositionLever = client.bitget().v2().mixMarket().queryPositionLever(paramMap);
-            return toBean(toJson(queryPositionLever), ResponseResult.class, List.class, BitgetQueryPositionLeverResp.class);
+            return executeAsync(EndpointGroupEnum.POSITION_LEVER, api.queryPositionLever(paramMap));
         }
 
         /**
@@ -272,6 +581,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.fit/zh-CN/api-doc/contract/account/Est-Open-Count">获取可开数量</a>
          **/
         public ResponseResult<BitgetOpenCountResp> openCount(String symbol, String openAmount, String openPrice, String leverage) throws IOException {
+            return ResponseUtils.await(openCountAsync(symbol, openAmount, openPrice, leverage));
+        }
+
+        /**
+         * {@link #openCount} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetOpenCountResp>> openCountAsync(String symbol, String openAmount, String openPrice, String leverage) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("openAmount", openAmount);
@@ -279,28 +595,8 @@ public class BitgetCustomService {
             paramMap.put("leverage", leverage);
             paramMap.put("marginCoin", DEFAULT_CURRENCY_USDT);
             paramMap.put("productType", BG_PRODUCT_TYPE_USDT_FUTURES);
-            Object openCount = client.bitget().v2().mixAccount().openCount(paramMap);
-            return toBean(toJson(openCount), ResponseResult.class, BitgetOpenCountResp.class);
-        }
-
-
-//        /**
-//         * 订阅websocket合约私有频道
-//         **/
-//        public void subscribeWsClientContractPrivate(List<SubscribeReq> list, SubscriptionListener listener) {
-//            BitgetWsClient client = BitgetWsHandle.builder()
-//                    .pushUrl(wsPrivateUrl)
-//                    .apiKey(apiKey)
-//                    .secretKey(secretKey) // 如果是RSA类型则设置RSA私钥
-//                    .passPhrase(passphrase)
-//                    .signType(SignTypeEnum.RSA) // 如果你的apikey是RSA类型则主动设置签名类型为RSA
-//                    .isLogin(true).build();
-////        List<SubscribeReq> list = new ArrayList<>() {{
-////            add(SubscribeReq.builder().instType("USDT-FUTURES").channel("ticker").instId("XRPUSDT").build());
-////            add(SubscribeReq.builder().instType("USDT-FUTURES").channel("ticker").instId("BTCUSDT").build());
-////        }};
-//            client.subscribe(list, listener);
-//        }
+            return executeAsync(EndpointGroupEnum.ACCOUNT, api.openCount(paramMap));
+        }
 
 
         /**
@@ -328,6 +624,13 @@ public class BitgetCustomService {
          * 默认100，最大1000
          **/
         public ResponseResult<List<BitgetCandlesResp>> getSpotMarketCandles(String symbol, String granularity, String startTime, String endTime, Integer limit) throws IOException {
+            return ResponseUtils.await(getSpotMarketCandlesAsync(symbol, granularity, startTime, endTime, limit));
+        }
+
+        /**
+         * {@link #getSpotMarketCandles} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetCandlesResp>>> getSpotMarketCandlesAsync(String symbol, String granularity, String startTime, String endTime, Integer limit) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("granularity", granularity);
@@ -340,21 +643,7 @@ public class BitgetCustomService {
             if (limit != null) {
                 paramMap.put("limit", limit.toString());
             }
-            ResponseResult<List<List<String>>> candlesResult = client.bitget().v2().spotMarket().candles(paramMap);
-            List<BitgetCandlesResp> candlesList = new ArrayList<>();
-            List<List<String>> datas = candlesResult.getData();
-            if (datas != null && !datas.isEmpty()) {
-                for (List<String> data : datas) {
-                    candlesList.add(new BitgetCandlesResp(data));
-                }
-            }
-            ResponseResult<List<BitgetCandlesResp>> newCandlesResult = new ResponseResult<>();
-            newCandlesResult.setHttpCode(candlesResult.getHttpCode());
-            newCandlesResult.setRequestTime(candlesResult.getRequestTime());
-            newCandlesResult.setCode(candlesResult.getCode());
-            newCandlesResult.setMsg(candlesResult.getMsg());
-            newCandlesResult.setData(candlesList);
-            return newCandlesResult;
+            return executeAsync(EndpointGroupEnum.MARKET, api.spotCandles(paramMap));
         }
 
 
@@ -366,7 +655,21 @@ public class BitgetCustomService {
             return getMinMarketCandles(symbol, productType, granularity, limit, null, null);
         }
 
+        /**
+         * {@link #getMinMarketCandles} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetMixMarketCandlesResp>>> getMinMarketCandlesAsync(String symbol, String productType, String granularity, Integer limit) {
+            return getMinMarketCandlesAsync(symbol, productType, granularity, limit, null, null);
+        }
+
         public ResponseResult<List<BitgetMixMarketCandlesResp>> getMinMarketCandles(String symbol, String productType, String granularity, Integer limit, String startTime, String endTime) throws IOException {
+            return ResponseUtils.await(getMinMarketCandlesAsync(symbol, productType, granularity, limit, startTime, endTime));
+        }
+
+        /**
+         * {@link #getMinMarketCandles} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetMixMarketCandlesResp>>> getMinMarketCandlesAsync(String symbol, String productType, String granularity, Integer limit, String startTime, String endTime) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
@@ -380,21 +683,7 @@ public class BitgetCustomService {
             if (endTime != null && !endTime.isEmpty()) {
                 paramMap.put("endTime", endTime);
             }
-            ResponseResult<List<List<String>>> candlesResult = client.bitget().v2().mixMarket().candles(paramMap);
-            List<BitgetMixMarketCandlesResp> candlesList = new ArrayList<>();
-            List<List<String>> datas = candlesResult.getData();
-            if (datas != null && !datas.isEmpty()) {
-                for (List<String> data : datas) {
-                    candlesList.add(new BitgetMixMarketCandlesResp(data));
-                }
-            }
-            ResponseResult<List<BitgetMixMarketCandlesResp>> newCandlesResult = new ResponseResult<>();
-            newCandlesResult.setHttpCode(candlesResult.getHttpCode());
-            newCandlesResult.setRequestTime(candlesResult.getRequestTime());
-            newCandlesResult.setCode(candlesResult.getCode());
-            newCandlesResult.setMsg(candlesResult.getMsg());
-            newCandlesResult.setData(candlesList);
-            return newCandlesResult;
+            return executeAsync(EndpointGroupEnum.MARKET, api.candles(paramMap));
         }
 
         /**
@@ -421,6 +710,13 @@ public class BitgetCustomService {
          * 逐仓模式：单向持仓，holdSide 参数不用填; 双向持仓，holdSide 参数必填。
          **/
         public ResponseResult<BitgetSetLeverageResp> setLeverage(String symbol, String productType, String marginCoin, String leverage, String holdSide) throws IOException {
+            return ResponseUtils.await(setLeverageAsync(symbol, productType, marginCoin, leverage, holdSide));
+        }
+
+        /**
+         * {@link #setLeverage} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetSetLeverageResp>> setLeverageAsync(String symbol, String productType, String marginCoin, String leverage, String holdSide) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
@@ -429,8 +725,7 @@ public class BitgetCustomService {
             if (holdSide != null && !holdSide.isEmpty()) {
                 paramMap.put("holdSide", holdSide);
             }
-            Object rs = client.bitget().v2().mixAccount().setLeverage(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetSetLeverageResp.class);
+            return executeAsync(EndpointGroupEnum.ACCOUNT_SETTING, api.setLeverage(paramMap));
         }
 
         /**
@@ -441,11 +736,17 @@ public class BitgetCustomService {
          * 指定productType任意币对任意side存在仓位/委托的情况下，请求会失败
          **/
         public ResponseResult<BitgetSetPositionModeResp> setPositionMode(String productType, String posMode) throws IOException {
+            return ResponseUtils.await(setPositionModeAsync(productType, posMode));
+        }
+
+        /**
+         * {@link #setPositionMode} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetSetPositionModeResp>> setPositionModeAsync(String productType, String posMode) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("productType", productType);
             paramMap.put("posMode", posMode);
-            Object rs = client.bitget().v2().mixAccount().setPositionMode(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetSetPositionModeResp.class);
+            return executeAsync(EndpointGroupEnum.ACCOUNT_SETTING, api.setPositionMode(paramMap));
         }
 
         /**
@@ -468,13 +769,19 @@ public class BitgetCustomService {
          * crossed: 全仓模式
          **/
         public ResponseResult<BitgetSetMarginModeResp> setMarginMode(String symbol, String productType, String marginCoin, String marginMode) throws IOException {
+            return ResponseUtils.await(setMarginModeAsync(symbol, productType, marginCoin, marginMode));
+        }
+
+        /**
+         * {@link #setMarginMode} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetSetMarginModeResp>> setMarginModeAsync(String symbol, String productType, String marginCoin, String marginMode) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
             paramMap.put("marginCoin", marginCoin);
             paramMap.put("marginMode", marginMode);
-            Object rs = client.bitget().v2().mixAccount().setMarginMode(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetSetMarginModeResp.class);
+            return executeAsync(EndpointGroupEnum.ACCOUNT_SETTING, api.setMarginMode(paramMap));
         }
 
 
@@ -485,10 +792,16 @@ public class BitgetCustomService {
          * 获取公共行情信息，支持单个及批量查询
          **/
         public ResponseResult<List<BitgetTickersResp>> getSpotMarketTickers(String symbol) throws IOException {
+            return ResponseUtils.await(getSpotMarketTickersAsync(symbol));
+        }
+
+        /**
+         * {@link #getSpotMarketTickers} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetTickersResp>>> getSpotMarketTickersAsync(String symbol) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
-            Object rs = client.bitget().v2().spotMarket().tickers(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, List.class, BitgetTickersResp.class);
+            return executeAsync(EndpointGroupEnum.MARKET, api.spotTickers(paramMap));
         }
 
         /**
@@ -498,11 +811,57 @@ public class BitgetCustomService {
          * 获取公共行情信息，支持单个及批量查询
          **/
         public ResponseResult<List<BitgetMixMarketTickerResp>> getMixMarketTicker(String symbol, String productType) throws IOException {
+            return ResponseUtils.await(getMixMarketTickerAsync(symbol, productType));
+        }
+
+        /**
+         * {@link #getMixMarketTicker} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetMixMarketTickerResp>>> getMixMarketTickerAsync(String symbol, String productType) {
+            Map<String, String> paramMap = Maps.newHashMap();
+            paramMap.put("symbol", symbol);
+            paramMap.put("productType", productType);
+            return executeAsync(EndpointGroupEnum.MARKET, api.ticker(paramMap));
+        }
+
+        /**
+         * 获取全部交易对行情
+         * 限速规则 20次/1s (IP)
+         * 描述
+         * 一次返回该产品类型下所有交易对的行情
+         **/
+        public ResponseResult<List<BitgetMixMarketTickerResp>> getMixMarketTickers(String productType) throws IOException {
+            return ResponseUtils.await(getMixMarketTickersAsync(productType));
+        }
+
+        /**
+         * {@link #getMixMarketTickers} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetMixMarketTickerResp>>> getMixMarketTickersAsync(String productType) {
+            Map<String, String> paramMap = Maps.newHashMap();
+            paramMap.put("productType", productType);
+            return executeAsync(EndpointGroupEnum.MARKET, api.tickers(paramMap));
+        }
+
+        /**
+         * 获取合约深度
+         * 限速规则 20次/1s (IP)
+         **/
+        public ResponseResult<BitgetMixMarketOrderbookResp> getMixMarketOrderbook(String symbol, String productType, Integer limit) throws IOException {
+            return ResponseUtils.await(getMixMarketOrderbookAsync(symbol, productType, limit));
+        }
+
+        /**
+         * {@link #getMixMarketOrderbook} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetMixMarketOrderbookResp>> getMixMarketOrderbookAsync(String symbol, String productType, Integer limit) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
-            Object rs = client.bitget().v2().mixMarket().ticker(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, List.class, BitgetMixMarketTickerResp.class);
+            if (limit != null) {
+                paramMap.put("limit", limit.toString());
+            }
+            return executeAsync(EndpointGroupEnum.MARKET, api.orderbook(paramMap));
         }
 
         /**
@@ -516,11 +875,17 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.com/zh-CN/api-doc/contract/market/Get-All-Symbols-Contracts">获取合约信息</a>
          **/
         public ResponseResult<List<BitgetContractsResp>> getContracts(String symbol, String productType) throws IOException {
+            return ResponseUtils.await(getContractsAsync(symbol, productType));
+        }
+
+        /**
+         * {@link #getContracts} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetContractsResp>>> getContractsAsync(String symbol, String productType) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
-            Object rs = client.bitget().v2().mixMarket().contracts(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, List.class, BitgetContractsResp.class);
+            return executeAsync(EndpointGroupEnum.MARKET, api.contracts(paramMap));
         }
 
 
@@ -529,6 +894,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitgetapps.com/zh-CN/api-doc/contract/plan/Place-Tpsl-Order">止盈止损计划委托下单</a>
          **/
         public ResponseResult<BitgetPlaceTpslOrderResp> placeTpslOrder(BitgetPlaceTpslOrderParam param) throws IOException {
+            return ResponseUtils.await(placeTpslOrderAsync(param));
+        }
+
+        /**
+         * {@link #placeTpslOrder} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetPlaceTpslOrderResp>> placeTpslOrderAsync(BitgetPlaceTpslOrderParam param) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("marginCoin", param.getMarginCoin());
             paramMap.put("productType", param.getProductType());
@@ -552,9 +924,7 @@ public class BitgetCustomService {
             if (param.getStpMode() != null && !param.getStpMode().isEmpty()) {
                 paramMap.put("stpMode", param.getStpMode());
             }
-
-            Object rs = client.bitget().v2().mixOrder().placeTpslOrder(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetPlaceTpslOrderResp.class);
+            return executeAsync(EndpointGroupEnum.TPSL_ORDER, api.placeTpslOrder(paramMap));
         }
 
         /**
@@ -562,6 +932,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitgetapps.com/zh-CN/api-doc/contract/plan/Modify-Tpsl-Order">修改止盈止损计划委托</a>
          **/
         public ResponseResult<BitgetPlaceTpslOrderResp> modifyTpslOrder(BitgetModifyTpslOrderParam param) throws IOException {
+            return ResponseUtils.await(modifyTpslOrderAsync(param));
+        }
+
+        /**
+         * {@link #modifyTpslOrder} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetPlaceTpslOrderResp>> modifyTpslOrderAsync(BitgetModifyTpslOrderParam param) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("marginCoin", param.getMarginCoin());
             paramMap.put("productType", param.getProductType());
@@ -580,9 +957,7 @@ public class BitgetCustomService {
                 paramMap.put("rangeRate", param.getRangeRate());
             }
             paramMap.put("orderId", param.getOrderId());
-
-            Object rs = client.bitget().v2().mixOrder().modifyTpslOrder(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetPlaceTpslOrderResp.class);
+            return executeAsync(EndpointGroupEnum.TPSL_ORDER, api.modifyTpslOrder(paramMap));
         }
 
 
@@ -590,11 +965,17 @@ public class BitgetCustomService {
          * 获取当前计划委托
          **/
         public ResponseResult<BitgetOrdersPlanPendingResp> getOrdersPlanPending(String planType, String productType) throws IOException {
+            return ResponseUtils.await(getOrdersPlanPendingAsync(planType, productType));
+        }
+
+        /**
+         * {@link #getOrdersPlanPending} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetOrdersPlanPendingResp>> getOrdersPlanPendingAsync(String planType, String productType) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("planType", planType);
             paramMap.put("productType", productType);
-            Object rs = client.bitget().v2().mixOrder().ordersPlanPending(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetOrdersPlanPendingResp.class);
+            return executeCoalescedAsync(EndpointGroupEnum.ORDER_QUERY, api.ordersPlanPending(paramMap), paramMap);
         }
 
         /**
@@ -602,23 +983,31 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.com/zh-CN/api-doc/contract/position/Get-History-Position">获取合约历史持仓列表</a>
          **/
         public ResponseResult<List<BitgetHistoryPositionResp>> getHistoryPosition(String symbol, Integer limit) throws IOException {
+            return ResponseUtils.await(getHistoryPositionAsync(symbol, limit));
+        }
+
+        /**
+         * {@link #getHistoryPosition} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetHistoryPositionResp>>> getHistoryPositionAsync(String symbol, Integer limit) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             if (limit != null) {
                 paramMap.put("limit", limit.toString());
             }
-            ResponseResult<Map<String, Object>> historyPosition = client.bitget().v2().mixAccount().historyPosition(paramMap);
-            Map<String, Object> data = historyPosition.getData();
-            ResponseResult<List<BitgetHistoryPositionResp>> result = new ResponseResult<>();
-            result.setHttpCode(historyPosition.getHttpCode());
-            result.setRequestTime(historyPosition.getRequestTime());
-            result.setCode(historyPosition.getCode());
-            result.setMsg(historyPosition.getMsg());
-            if (data.containsKey("list")) {
-                List<BitgetHistoryPositionResp> list = toList(toJson(data.get("list")), BitgetHistoryPositionResp.class);
-                result.setData(list);
-            }
-            return result;
+            return executeAsync(EndpointGroupEnum.ACCOUNT, api.historyPosition(paramMap)).thenApply(historyPosition -> {
+                Map<String, Object> data = historyPosition.getData();
+                ResponseResult<List<BitgetHistoryPositionResp>> result = new ResponseResult<>();
+                result.setHttpCode(historyPosition.getHttpCode());
+                result.setRequestTime(historyPosition.getRequestTime());
+                result.setCode(historyPosition.getCode());
+                result.setMsg(historyPosition.getMsg());
+                if (data != null && data.containsKey("list")) {
+                    List<BitgetHistoryPositionResp> list = toList(toJson(data.get("list")), BitgetHistoryPositionResp.class);
+                    result.setData(list);
+                }
+                return result;
+            });
         }
 
 
@@ -627,6 +1016,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.com/zh-CN/api-doc/contract/market/Get-History-Candle-Data">获取合约历史K线数据</a>
          **/
         public ResponseResult<List<BitgetMixMarketCandlesResp>> getMixMarketHistoryCandles(String symbol, String productType, String granularity, Integer limit, String startTime, String endTime) throws IOException {
+            return ResponseUtils.await(getMixMarketHistoryCandlesAsync(symbol, productType, granularity, limit, startTime, endTime));
+        }
+
+        /**
+         * {@link #getMixMarketHistoryCandles} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<List<BitgetMixMarketCandlesResp>>> getMixMarketHistoryCandlesAsync(String symbol, String productType, String granularity, Integer limit, String startTime, String endTime) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
@@ -640,21 +1036,7 @@ public class BitgetCustomService {
             if (endTime != null && !endTime.isEmpty()) {
                 paramMap.put("endTime", endTime);
             }
-            ResponseResult<List<List<String>>> candlesResult = client.bitget().v2().mixMarket().historyCandles(paramMap);
-            List<BitgetMixMarketCandlesResp> candlesList = new ArrayList<>();
-            List<List<String>> datas = candlesResult.getData();
-            if (datas != null && !datas.isEmpty()) {
-                for (List<String> data : datas) {
-                    candlesList.add(new BitgetMixMarketCandlesResp(data));
-                }
-            }
-            ResponseResult<List<BitgetMixMarketCandlesResp>> newCandlesResult = new ResponseResult<>();
-            newCandlesResult.setHttpCode(candlesResult.getHttpCode());
-            newCandlesResult.setRequestTime(candlesResult.getRequestTime());
-            newCandlesResult.setCode(candlesResult.getCode());
-            newCandlesResult.setMsg(candlesResult.getMsg());
-            newCandlesResult.setData(candlesList);
-            return newCandlesResult;
+            return executeAsync(EndpointGroupEnum.MARKET, api.historyCandles(paramMap));
         }
 
         /**
@@ -669,14 +1051,20 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.cloud/zh-CN/api-doc/contract/trade/Batch-Order">批量下单</a>
          **/
         public ResponseResult<BitgetBatchPlaceOrderResp> batchPlaceOrder(BitgetBatchPlaceOrderParam param) throws IOException {
+            return ResponseUtils.await(batchPlaceOrderAsync(param));
+        }
+
+        /**
+         * {@link #batchPlaceOrder} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetBatchPlaceOrderResp>> batchPlaceOrderAsync(BitgetBatchPlaceOrderParam param) {
             Map<String, Object> paramMap = Maps.newHashMap();
             paramMap.put("symbol", param.getSymbol());
             paramMap.put("productType", param.getProductType());
             paramMap.put("marginCoin", param.getMarginCoin());
             paramMap.put("marginMode", param.getMarginMode());
             paramMap.put("orderList", param.getOrderList());
-            ResponseResult order = client.bitget().v2().mixOrder().batchPlaceOrder(paramMap);
-            return toBean(toJson(order), ResponseResult.class, BitgetBatchPlaceOrderResp.class);
+            return executeAsync(EndpointGroupEnum.BATCH_PLACE_ORDER, api.batchPlaceOrder(paramMap));
         }
 
 
@@ -689,6 +1077,13 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.cloud/zh-CN/api-doc/contract/trade/Batch-Cancel-Orders">批量撤单</a>
          **/
         public ResponseResult<BitgetBatchCancelOrdersResp> batchCancelOrders(BitgetBatchCancelOrdersParam param) throws IOException {
+            return ResponseUtils.await(batchCancelOrdersAsync(param));
+        }
+
+        /**
+         * {@link #batchCancelOrders} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetBatchCancelOrdersResp>> batchCancelOrdersAsync(BitgetBatchCancelOrdersParam param) {
             Map<String, Object> paramMap = Maps.newHashMap();
             if (param.getSymbol() != null) {
                 paramMap.put("symbol", param.getSymbol());
@@ -698,8 +1093,7 @@ public class BitgetCustomService {
             if (param.getOrderIdList() != null && !param.getOrderIdList().isEmpty()) {
                 paramMap.put("orderList", param.getOrderIdList());
             }
-            ResponseResult order = client.bitget().v2().mixOrder().batchCancelOrders(paramMap);
-            return toBean(toJson(order), ResponseResult.class, BitgetBatchCancelOrdersResp.class);
+            return executeAsync(EndpointGroupEnum.CANCEL_ORDER, api.batchCancelOrders(paramMap));
         }
 
 
@@ -712,11 +1106,17 @@ public class BitgetCustomService {
          * <a href="https://www.bitget.cloud/zh-CN/api-doc/contract/trade/Get-Orders-Pending">查询当前委托</a>
          **/
         public ResponseResult<BitgetOrdersPendingResp> getOrdersPending(String symbol, String productType) throws IOException {
+            return ResponseUtils.await(getOrdersPendingAsync(symbol, productType));
+        }
+
+        /**
+         * {@link #getOrdersPending} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetOrdersPendingResp>> getOrdersPendingAsync(String symbol, String productType) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
-            Object rs = client.bitget().v2().mixOrder().ordersPending(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetOrdersPendingResp.class);
+            return executeAsync(EndpointGroupEnum.ORDER_QUERY, api.ordersPending(paramMap));
         }
 
         /**
@@ -724,11 +1124,17 @@ public class BitgetCustomService {
          * 限速规则: 1次/1s (uid)
          **/
         public ResponseResult<BitgetClosePositionsResp> closePositions(String symbol, String productType) throws IOException {
+            return ResponseUtils.await(closePositionsAsync(symbol, productType));
+        }
+
+        /**
+         * {@link #closePositions} 的异步版本
+         **/
+        public CompletableFuture<ResponseResult<BitgetClosePositionsResp>> closePositionsAsync(String symbol, String productType) {
             Map<String, String> paramMap = Maps.newHashMap();
             paramMap.put("symbol", symbol);
             paramMap.put("productType", productType);
-            Object rs = client.bitget().v2().mixOrder().closePositions(paramMap);
-            return toBean(toJson(rs), ResponseResult.class, BitgetClosePositionsResp.class);
+            return executeAsync(EndpointGroupEnum.CLOSE_POSITIONS, api.closePositions(paramMap));
         }
     }
 
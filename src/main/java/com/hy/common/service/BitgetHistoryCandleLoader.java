@@ -0,0 +1,146 @@
+package com.hy.common.service;
+
+import com.bitget.custom.entity.BitgetMixMarketCandlesResp;
+import com.hy.common.enums.BitgetEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hy.common.constants.BitgetConstant.BG_PRODUCT_TYPE_USDT_FUTURES;
+
+/**
+ * 合约历史K线并发下载
+ * 按单次请求上限把时间范围切成连续的窗口，所有窗口同时发起，请求频率由会话的账号限流器按接口组控制；
+ * 单个窗口失败只重试该窗口，全部窗口成功后按窗口顺序拼接，不再对整个列表去重排序
+ **/
+@Slf4j
+@Service
+public class BitgetHistoryCandleLoader {
+
+    /**
+     * 单个窗口最多请求次数
+     **/
+    private static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * 重试等待基数，第 n 次重试前等待 n 倍
+     **/
+    private static final long RETRY_BACKOFF_MILLIS = 500L;
+
+    /**
+     * 下载 [startMillis, endMillis) 内的历史K线
+     *
+     * @param session     发起请求的会话，历史下载应使用后台优先级，避免占用下单的令牌
+     * @param symbol      交易对
+     * @param granularity K线周期
+     * @param limit       单次请求条数，同时决定窗口大小（limit 根K线）
+     * @param startMillis 开始时间（毫秒）
+     * @param endMillis   结束时间（毫秒）
+     * @param listener    每完成一个窗口回调一次，可为空
+     * @return 按时间升序、无重复的K线；任一窗口重试后仍失败时异常完成
+     */
+    public CompletableFuture<List<BitgetMixMarketCandlesResp>> load(BitgetCustomService.BitgetSession session, String symbol, BitgetEnum granularity,
+                                                                     int limit, long startMillis, long endMillis, ProgressListener listener) {
+        List<Window> windows = split(startMillis, endMillis, limit * granularity.getDuration().toMillis());
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<List<BitgetMixMarketCandlesResp>>> futures = new ArrayList<>(windows.size());
+        for (Window window : windows) {
+            futures.add(fetch(session, symbol, granularity, limit, window, 1).whenComplete((candles, e) -> {
+                if (e == null && listener != null) {
+                    listener.onProgress(symbol, completed.incrementAndGet(), windows.size());
+                }
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> merge(futures));
+    }
+
+    private CompletableFuture<List<BitgetMixMarketCandlesResp>> fetch(BitgetCustomService.BitgetSession session, String symbol, BitgetEnum granularity,
+                                                                      int limit, Window window, int attempt) {
+        return session.getMixMarketHistoryCandlesAsync(symbol, BG_PRODUCT_TYPE_USDT_FUTURES, granularity.getCode(), limit,
+                        String.valueOf(window.startMillis), String.valueOf(window.endMillis))
+                .thenApply(rs -> {
+                    if (rs.getData() == null || rs.getData().isEmpty()) {
+                        throw new IllegalStateException(String.format("未获取到K线数据: symbol=%s, timeRange=(%s, %s)", symbol, window.startMillis, window.endMillis));
+                    }
+                    return rs.getData();
+                })
+                .exceptionallyCompose(e -> {
+                    if (attempt >= MAX_ATTEMPTS) {
+                        return CompletableFuture.failedFuture(e);
+                    }
+                    log.warn("BitgetHistoryCandleLoader: 获取历史K线失败，稍后重试 symbol={} timeRange=({}, {}) attempt={} error={}",
+                            symbol, window.startMillis, window.endMillis, attempt, e.getMessage());
+                    return CompletableFuture.runAsync(() -> {
+                            }, CompletableFuture.delayedExecutor(RETRY_BACKOFF_MILLIS * attempt, TimeUnit.MILLISECONDS))
+                            .thenCompose(v -> fetch(session, symbol, granularity, limit, window, attempt + 1));
+                });
+    }
+
+    /**
+     * 窗口按时间先后排列且互不重叠，逐个拼接，只跳过相邻窗口边界上重复的K线
+     */
+    private static List<BitgetMixMarketCandlesResp> merge(List<CompletableFuture<List<BitgetMixMarketCandlesResp>>> futures) {
+        int size = 0;
+        for (CompletableFuture<List<BitgetMixMarketCandlesResp>> future : futures) {
+            size += future.join().size();
+        }
+        List<BitgetMixMarketCandlesResp> merged = new ArrayList<>(size);
+        long lastTimestamp = Long.MIN_VALUE;
+        for (CompletableFuture<List<BitgetMixMarketCandlesResp>> future : futures) {
+            List<BitgetMixMarketCandlesResp> candles = future.join();
+            if (!isAscending(candles)) {
+                candles = new ArrayList<>(candles);
+                candles.sort(Comparator.comparing(BitgetMixMarketCandlesResp::getTimestamp));
+            }
+            for (BitgetMixMarketCandlesResp candle : candles) {
+                if (candle.getTimestamp() > lastTimestamp) {
+                    merged.add(candle);
+                    lastTimestamp = candle.getTimestamp();
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isAscending(List<BitgetMixMarketCandlesResp> candles) {
+        for (int i = 1; i < candles.size(); i++) {
+            if (candles.get(i).getTimestamp() < candles.get(i - 1).getTimestamp()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<Window> split(long startMillis, long endMillis, long stepMillis) {
+        List<Window> windows = new ArrayList<>();
+        for (long time = startMillis; time < endMillis; ) {
+            long end = Math.min(time + stepMillis, endMillis);
+            windows.add(new Window(time, end));
+            time = end;
+        }
+        return windows;
+    }
+
+    private record Window(long startMillis, long endMillis) {
+    }
+
+    /**
+     * 下载进度监听器，在完成请求的线程上回调，不应阻塞
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param symbol    交易对
+         * @param completed 已完成的窗口数
+         * @param total     窗口总数
+         */
+        void onProgress(String symbol, int completed, int total);
+    }
+}
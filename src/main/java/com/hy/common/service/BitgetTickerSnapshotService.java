@@ -0,0 +1,249 @@
+package com.hy.common.service;
+
+import com.bitget.custom.entity.BitgetMixMarketTickerResp;
+import com.bitget.openapi.ws.WsTicker;
+import com.hy.common.enums.MarketFeedSource;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import static com.hy.common.constants.BitgetConstant.BG_PRODUCT_TYPE_USDT_FUTURES;
+
+/**
+ * 合约行情源监控与全量行情快照服务
+ * 各策略以 websocket ticker 为主行情源，按交易对记录最近一次推送时间：推送失效的交易对切换到 REST，推送恢复后切回 websocket；
+ * REST 回退时一次请求 tickers 接口拿到全部交易对行情，同一时间窗口内的多个策略共用一份快照，REST 请求数与交易对数量无关
+ **/
+@Slf4j
+@Service
+public class BitgetTickerSnapshotService {
+
+    /**
+     * 超过该时长没有收到推送视为失效
+     **/
+    private static final long STALE_MILLIS = 3_000L;
+
+    /**
+     * 快照有效期，窗口内的回退请求复用同一份快照
+     **/
+    private static final long SNAPSHOT_TTL_MILLIS = 900L;
+
+    private final List<TickerFeed> feeds = new CopyOnWriteArrayList<>();
+
+    private volatile Snapshot snapshot = new Snapshot(0L, Map.of());
+
+    /**
+     * 正在进行的快照请求，同一时间只发起一次
+     **/
+    private final AtomicReference<CompletableFuture<Snapshot>> loading = new AtomicReference<>();
+
+    /**
+     * 注册一个策略的行情源，注册后所有交易对在收到第一条推送前都视为失效
+     *
+     * @param name    策略名称，用于日志
+     * @param symbols 交易对
+     * @param sink    价格写入方，websocket 推送与 REST 回退都通过它更新策略的价格缓存
+     */
+    public TickerFeed register(String name, Collection<String> symbols, BiConsumer<String, BigDecimal> sink) {
+        TickerFeed feed = new TickerFeed(name, symbols, sink);
+        feeds.add(feed);
+        return feed;
+    }
+
+    /**
+     * 检查所有行情源，推送失效的交易对切换到 REST 并补齐价格，没有失效的交易对时不发起请求
+     * 请求异步执行，不阻塞调用线程
+     */
+    public void refreshStale(BitgetCustomService.BitgetSession session) {
+        long now = System.currentTimeMillis();
+        boolean anyStale = false;
+        for (TickerFeed feed : feeds) {
+            anyStale |= feed.checkStale(now);
+        }
+        if (!anyStale) {
+            return;
+        }
+        snapshot(session, now).whenComplete((s, e) -> {
+            if (e != null) {
+                log.error("refreshStale-error: 获取全量行情失败", e);
+                return;
+            }
+            long publishAt = System.currentTimeMillis();
+            feeds.forEach(feed -> feed.publishRest(s, publishAt));
+        });
+    }
+
+    /**
+     * 所有行情源每个交易对当前的来源与价格延迟
+     */
+    public List<FeedStatus> getStatuses() {
+        long now = System.currentTimeMillis();
+        List<FeedStatus> statuses = new ArrayList<>();
+        for (TickerFeed feed : feeds) {
+            feed.symbols.forEach((symbol, state) -> statuses.add(state.toStatus(feed.name, symbol, now)));
+        }
+        return statuses;
+    }
+
+    private CompletableFuture<Snapshot> snapshot(BitgetCustomService.BitgetSession session, long now) {
+        Snapshot current = snapshot;
+        if (now - current.fetchedAtMillis < SNAPSHOT_TTL_MILLIS) {
+            return CompletableFuture.completedFuture(current);
+        }
+        CompletableFuture<Snapshot> created = new CompletableFuture<>();
+        CompletableFuture<Snapshot> existing = loading.compareAndExchange(null, created);
+        if (existing != null) {
+            return existing;
+        }
+        session.getMixMarketTickersAsync(BG_PRODUCT_TYPE_USDT_FUTURES).whenComplete((rs, e) -> {
+            if (e != null) {
+                loading.set(null);
+                created.completeExceptionally(e);
+                return;
+            }
+            Map<String, String> prices = new HashMap<>();
+            if (rs.getData() != null) {
+                for (BitgetMixMarketTickerResp ticker : rs.getData()) {
+                    if (ticker.getSymbol() != null && ticker.getLastPr() != null) {
+                        prices.put(ticker.getSymbol(), ticker.getLastPr());
+                    }
+                }
+            }
+            Snapshot s = new Snapshot(System.currentTimeMillis(), prices);
+            snapshot = s;
+            loading.set(null);
+            created.complete(s);
+        });
+        return created;
+    }
+
+    /**
+     * 一次 tickers 请求的结果，价格在发布时才转换为 BigDecimal
+     */
+    private record Snapshot(long fetchedAtMillis, Map<String, String> prices) {
+    }
+
+    /**
+     * 单个交易对的行情状态
+     *
+     * @param feed            行情源名称
+     * @param symbol          交易对
+     * @param source          当前价格来源
+     * @param stalenessMillis 距最近一次价格更新的时长（毫秒），从未更新时为 -1
+     */
+    public record FeedStatus(String feed, String symbol, MarketFeedSource source, long stalenessMillis) {
+    }
+
+    /**
+     * 单个策略的行情源，按交易对记录推送时间与当前来源
+     */
+    public static final class TickerFeed {
+
+        @Getter
+        private final String name;
+
+        private final BiConsumer<String, BigDecimal> sink;
+
+        private final Map<String, SymbolState> symbols = new ConcurrentHashMap<>();
+
+        private TickerFeed(String name, Collection<String> symbols, BiConsumer<String, BigDecimal> sink) {
+            this.name = name;
+            this.sink = sink;
+            symbols.forEach(symbol -> this.symbols.put(symbol, new SymbolState()));
+        }
+
+        /**
+         * websocket ticker 回调，更新价格并刷新推送时间，处于 REST 回退的交易对切回 websocket，未注册的交易对忽略
+         */
+        public void onWsTicker(WsTicker ticker) {
+            SymbolState state = symbols.get(ticker.instId());
+            if (state == null || ticker.lastPr() == null) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            state.lastWsMillis = now;
+            state.lastUpdateMillis = now;
+            if (state.source != MarketFeedSource.WEBSOCKET) {
+                state.source = MarketFeedSource.WEBSOCKET;
+                log.info("TickerFeed: 收到行情推送，切换到 websocket feed={} symbol={}", name, ticker.instId());
+            }
+            sink.accept(ticker.instId(), new BigDecimal(ticker.lastPr()));
+        }
+
+        public boolean isStale(String symbol) {
+            SymbolState state = symbols.get(symbol);
+            return state == null || System.currentTimeMillis() - state.lastWsMillis >= STALE_MILLIS;
+        }
+
+        /**
+         * 交易对当前的来源与价格延迟，未注册时返回 null
+         */
+        public FeedStatus getStatus(String symbol) {
+            SymbolState state = symbols.get(symbol);
+            return state == null ? null : state.toStatus(name, symbol, System.currentTimeMillis());
+        }
+
+        /**
+         * 推送失效的交易对切换到 REST，返回是否存在需要 REST 补齐的交易对
+         */
+        private boolean checkStale(long now) {
+            boolean anyStale = false;
+            for (Map.Entry<String, SymbolState> entry : symbols.entrySet()) {
+                SymbolState state = entry.getValue();
+                if (now - state.lastWsMillis < STALE_MILLIS) {
+                    continue;
+                }
+                anyStale = true;
+                if (state.source == MarketFeedSource.WEBSOCKET) {
+                    state.source = MarketFeedSource.REST;
+                    log.warn("TickerFeed: 行情推送失效，切换到 REST feed={} symbol={} stale={}ms", name, entry.getKey(), now - state.lastWsMillis);
+                }
+            }
+            return anyStale;
+        }
+
+        /**
+         * 只写入处于 REST 回退且推送仍然失效的交易对，推送已恢复的交易对不会被较旧的快照覆盖
+         */
+        private void publishRest(Snapshot snapshot, long now) {
+            symbols.forEach((symbol, state) -> {
+                if (state.source != MarketFeedSource.REST || now - state.lastWsMillis < STALE_MILLIS) {
+                    return;
+                }
+                String price = snapshot.prices.get(symbol);
+                if (price != null) {
+                    state.lastUpdateMillis = Math.max(state.lastUpdateMillis, snapshot.fetchedAtMillis);
+                    sink.accept(symbol, new BigDecimal(price));
+                }
+            });
+        }
+    }
+
+    private static final class SymbolState {
+
+        /**
+         * 收到第一条推送前为 REST
+         */
+        private volatile MarketFeedSource source = MarketFeedSource.REST;
+
+        private volatile long lastWsMillis;
+
+        /**
+         * 最近一次价格更新（推送或快照）的时间
+         */
+        private volatile long lastUpdateMillis;
+
+        private FeedStatus toStatus(String feed, String symbol, long now) {
+            long last = lastUpdateMillis;
+            return new FeedStatus(feed, symbol, source, last == 0L ? -1L : now - last);
+        }
+    }
+}
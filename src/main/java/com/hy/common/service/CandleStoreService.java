@@ -0,0 +1,392 @@
+package com.hy.common.service;
+
+import com.bitget.custom.entity.BitgetMixMarketCandlesResp;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 本地K线存储
+ * 按 (交易所, 交易对, 周期) 每个 key 一个文件，只追加、按列存储、内存映射读写；
+ * 启动时只读取需要的尾部K线，网络请求只需补齐最后一根已存K线之后的部分。
+ * 价格与成交量按 double 存储，读取时通过 {@link BigDecimal#valueOf(double)} 还原，15 位有效数字以内无精度损失；
+ * 存储读写失败时只记录日志，读取返回空列表，调用方按无缓存处理
+ **/
+@Slf4j
+@Service
+public class CandleStoreService {
+
+    public static final String VENUE_BITGET = "bitget";
+
+    public static final String VENUE_HYPERLIQUID = "hyperliquid";
+
+    private final Path baseDir;
+
+    /**
+     * key 为文件路径
+     **/
+    private final Map<Path, CandleFile> files = new ConcurrentHashMap<>();
+
+    public CandleStoreService(@Value("${candle.store.dir:data/candles}") String baseDir) {
+        this.baseDir = Path.of(baseDir);
+    }
+
+    /**
+     * 最近 limit 根K线，按时间升序
+     */
+    public List<StoredCandle> readTail(String venue, String symbol, String granularity, int limit) {
+        try {
+            CandleFile file = file(venue, symbol, granularity);
+            return file.read(Math.max(0, file.count() - limit));
+        } catch (Exception e) {
+            log.error("CandleStoreService: 读取K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 开始时间不早于 fromTimestamp 的K线，按时间升序
+     */
+    public List<StoredCandle> readFrom(String venue, String symbol, String granularity, long fromTimestamp) {
+        try {
+            CandleFile file = file(venue, symbol, granularity);
+            return file.read(file.lowerBound(fromTimestamp));
+        } catch (Exception e) {
+            log.error("CandleStoreService: 读取K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 追加K线，输入需按时间升序：时间与最后一根相同的覆盖最后一根，更早的忽略
+     */
+    public void append(String venue, String symbol, String granularity, List<StoredCandle> candles) {
+        if (candles.isEmpty()) return;
+        try {
+            file(venue, symbol, granularity).append(candles);
+        } catch (Exception e) {
+            log.error("CandleStoreService: 写入K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+        }
+    }
+
+    /**
+     * 只追加与已存K线连续的部分：时间与最后一根相同的覆盖，更早的忽略，遇到间隔超过一个周期的K线时停止，不在文件中留下缺口
+     *
+     * @param durationMillis 单根K线时长（毫秒）
+     * @return 给定K线全部写入（或已存在）时返回 true；出现缺口或写入失败时返回 false
+     */
+    public boolean appendContiguous(String venue, String symbol, String granularity, long durationMillis, List<StoredCandle> candles) {
+        if (candles.isEmpty()) return true;
+        try {
+            return file(venue, symbol, granularity).appendContiguous(candles, durationMillis);
+        } catch (Exception e) {
+            log.error("CandleStoreService: 写入K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+            return false;
+        }
+    }
+
+    /**
+     * 最后一根已存K线的时间，没有数据或读取失败时返回 {@link Long#MIN_VALUE}
+     */
+    public long lastTimestamp(String venue, String symbol, String granularity) {
+        try {
+            return file(venue, symbol, granularity).lastTimestamp();
+        } catch (Exception e) {
+            log.error("CandleStoreService: 读取K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 以给定K线重写已存数据，用于补齐比已存数据更早的历史；已存的比给定K线更新的数据保留在其后
+     */
+    public void replace(String venue, String symbol, String granularity, List<StoredCandle> candles) {
+        try {
+            file(venue, symbol, granularity).replace(candles);
+        } catch (Exception e) {
+            log.error("CandleStoreService: 替换K线失败 venue={} symbol={} granularity={}", venue, symbol, granularity, e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        files.values().forEach(CandleFile::close);
+        files.clear();
+    }
+
+    /**
+     * 绑定交易所的存储适配，供 {@link CandleSyncCursor} 首次同步读取与收盘K线写回
+     */
+    public CandleSyncCursor.Store<StoredCandle> cursorStore(String venue) {
+        return new CandleSyncCursor.Store<>() {
+            @Override
+            public List<StoredCandle> load(String symbol, String granularity, int limit) {
+                return readTail(venue, symbol, granularity, limit);
+            }
+
+            @Override
+            public boolean appendContiguous(String symbol, String granularity, long durationMillis, List<StoredCandle> closed) {
+                return CandleStoreService.this.appendContiguous(venue, symbol, granularity, durationMillis, closed);
+            }
+
+            @Override
+            public void replace(String symbol, String granularity, List<StoredCandle> closed) {
+                CandleStoreService.this.replace(venue, symbol, granularity, closed);
+            }
+        };
+    }
+
+    public static StoredCandle fromBitget(BitgetMixMarketCandlesResp candle) {
+        return new StoredCandle(candle.getTimestamp(), candle.getOpenPrice().doubleValue(), candle.getHighPrice().doubleValue(),
+                candle.getLowPrice().doubleValue(), candle.getClosePrice().doubleValue(), candle.getBaseVolume().doubleValue(),
+                candle.getQuoteVolume().doubleValue());
+    }
+
+    public static List<StoredCandle> fromBitget(List<BitgetMixMarketCandlesResp> candles) {
+        List<StoredCandle> list = new ArrayList<>(candles.size());
+        for (BitgetMixMarketCandlesResp candle : candles) {
+            list.add(fromBitget(candle));
+        }
+        return list;
+    }
+
+    public static BitgetMixMarketCandlesResp toBitget(StoredCandle candle) {
+        BitgetMixMarketCandlesResp resp = new BitgetMixMarketCandlesResp();
+        resp.setTimestamp(candle.timestamp());
+        resp.setOpenPrice(BigDecimal.valueOf(candle.open()));
+        resp.setHighPrice(BigDecimal.valueOf(candle.high()));
+        resp.setLowPrice(BigDecimal.valueOf(candle.low()));
+        resp.setClosePrice(BigDecimal.valueOf(candle.close()));
+        resp.setBaseVolume(BigDecimal.valueOf(candle.baseVolume()));
+        resp.setQuoteVolume(BigDecimal.valueOf(candle.quoteVolume()));
+        return resp;
+    }
+
+    public static List<BitgetMixMarketCandlesResp> toBitget(List<StoredCandle> candles) {
+        List<BitgetMixMarketCandlesResp> list = new ArrayList<>(candles.size());
+        for (StoredCandle candle : candles) {
+            list.add(toBitget(candle));
+        }
+        return list;
+    }
+
+    private CandleFile file(String venue, String symbol, String granularity) {
+        Path path = baseDir.resolve(venue).resolve(symbol + "_" + granularity + ".candles");
+        return files.computeIfAbsent(path, CandleFile::new);
+    }
+
+    /**
+     * 一根K线
+     *
+     * @param timestamp 开始时间（毫秒）
+     */
+    public record StoredCandle(long timestamp, double open, double high, double low, double close, double baseVolume, double quoteVolume) {
+    }
+
+    /**
+     * 单个 key 的K线文件
+     * 文件头之后按块排列，每块 {@link #BLOCK_ROWS} 行，块内按列连续存放（时间戳、开、高、低、收、成交量、成交额），
+     * 追加时只映射新的块，不移动已有数据；读取尾部时只访问尾部所在的块
+     */
+    private static final class CandleFile {
+
+        private static final long MAGIC = 0x48594B4C494E4531L;
+
+        private static final int VERSION = 1;
+
+        private static final int HEADER_BYTES = 64;
+
+        private static final int COUNT_OFFSET = 16;
+
+        private static final int COLUMNS = 7;
+
+        private static final int BLOCK_ROWS = 4096;
+
+        private static final long BLOCK_BYTES = (long) BLOCK_ROWS * COLUMNS * Long.BYTES;
+
+        private final Path path;
+
+        private FileChannel channel;
+
+        private MappedByteBuffer header;
+
+        private final List<MappedByteBuffer> blocks = new ArrayList<>();
+
+        private int count;
+
+        private CandleFile(Path path) {
+            this.path = path;
+            try {
+                open();
+            } catch (IOException e) {
+                throw new IllegalStateException("open candle file failed: " + path, e);
+            }
+        }
+
+        private void open() throws IOException {
+            Files.createDirectories(path.getParent());
+            boolean exists = Files.exists(path) && Files.size(path) >= HEADER_BYTES;
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            blocks.clear();
+            if (exists && header.getLong(0) == MAGIC && header.getInt(8) == VERSION && header.getInt(12) == BLOCK_ROWS) {
+                count = header.getInt(COUNT_OFFSET);
+            } else {
+                header.putLong(0, MAGIC);
+                header.putInt(8, VERSION);
+                header.putInt(12, BLOCK_ROWS);
+                header.putInt(COUNT_OFFSET, 0);
+                count = 0;
+            }
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized List<StoredCandle> read(int from) throws IOException {
+            List<StoredCandle> list = new ArrayList<>(Math.max(0, count - from));
+            for (int row = from; row < count; row++) {
+                MappedByteBuffer block = block(row / BLOCK_ROWS);
+                int index = row % BLOCK_ROWS;
+                list.add(new StoredCandle(block.getLong(offset(0, index)), block.getDouble(offset(1, index)), block.getDouble(offset(2, index)),
+                        block.getDouble(offset(3, index)), block.getDouble(offset(4, index)), block.getDouble(offset(5, index)),
+                        block.getDouble(offset(6, index))));
+            }
+            return list;
+        }
+
+        /**
+         * 第一根时间不早于 timestamp 的K线下标
+         */
+        synchronized int lowerBound(long timestamp) throws IOException {
+            int low = 0, high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestampAt(mid) < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        synchronized void append(List<StoredCandle> candles) throws IOException {
+            long last = count == 0 ? Long.MIN_VALUE : timestampAt(count - 1);
+            for (StoredCandle candle : candles) {
+                if (candle.timestamp() < last) {
+                    continue;
+                }
+                int row = candle.timestamp() == last ? count - 1 : count;
+                write(row, candle);
+                if (row == count) {
+                    count++;
+                }
+                last = candle.timestamp();
+            }
+            // 数据写完后再更新行数，进程中途退出时不会读到写了一半的行
+            header.putInt(COUNT_OFFSET, count);
+        }
+
+        synchronized boolean appendContiguous(List<StoredCandle> candles, long durationMillis) throws IOException {
+            long last = count == 0 ? Long.MIN_VALUE : timestampAt(count - 1);
+            boolean contiguous = true;
+            for (StoredCandle candle : candles) {
+                if (candle.timestamp() < last) {
+                    continue;
+                }
+                if (count > 0 && candle.timestamp() > last + durationMillis) {
+                    contiguous = false;
+                    break;
+                }
+                int row = candle.timestamp() == last ? count - 1 : count;
+                write(row, candle);
+                if (row == count) {
+                    count++;
+                }
+                last = candle.timestamp();
+            }
+            header.putInt(COUNT_OFFSET, count);
+            return contiguous;
+        }
+
+        synchronized long lastTimestamp() throws IOException {
+            return count == 0 ? Long.MIN_VALUE : timestampAt(count - 1);
+        }
+
+        synchronized void replace(List<StoredCandle> candles) throws IOException {
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.deleteIfExists(tmp);
+            List<StoredCandle> newer = candles.isEmpty() ? read(0) : read(lowerBound(candles.getLast().timestamp() + 1));
+            CandleFile rewritten = new CandleFile(tmp);
+            rewritten.append(candles);
+            rewritten.append(newer);
+            rewritten.close();
+            close();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            open();
+        }
+
+        synchronized void close() {
+            try {
+                header.force();
+                blocks.forEach(MappedByteBuffer::force);
+                channel.close();
+            } catch (IOException e) {
+                log.error("CandleStoreService: 关闭K线文件失败 path={}", path, e);
+            }
+            blocks.clear();
+        }
+
+        private long timestampAt(int row) throws IOException {
+            return block(row / BLOCK_ROWS).getLong(offset(0, row % BLOCK_ROWS));
+        }
+
+        private void write(int row, StoredCandle candle) throws IOException {
+            MappedByteBuffer block = block(row / BLOCK_ROWS);
+            int index = row % BLOCK_ROWS;
+            block.putLong(offset(0, index), candle.timestamp());
+            block.putDouble(offset(1, index), candle.open());
+            block.putDouble(offset(2, index), candle.high());
+            block.putDouble(offset(3, index), candle.low());
+            block.putDouble(offset(4, index), candle.close());
+            block.putDouble(offset(5, index), candle.baseVolume());
+            block.putDouble(offset(6, index), candle.quoteVolume());
+        }
+
+        /**
+         * 按需映射块，超出文件末尾时映射会扩展文件
+         */
+        private MappedByteBuffer block(int index) throws IOException {
+            while (blocks.size() <= index) {
+                blocks.add(null);
+            }
+            MappedByteBuffer block = blocks.get(index);
+            if (block == null) {
+                block = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + index * BLOCK_BYTES, BLOCK_BYTES);
+                blocks.set(index, block);
+            }
+            return block;
+        }
+
+        private static int offset(int column, int index) {
+            return (column * BLOCK_ROWS + index) * Long.BYTES;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.hy.common.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * K线增量同步游标
+ * 按 (交易对, 周期) 维护一份滚动K线：首次同步加载最近 capacity 根，之后只请求最后一根K线（上次同步时可能尚未收盘）及其之后的K线，
+ * 合并到已有序列；距上次同步已超过 capacity 根K线时重新全量加载。
+ * 可选绑定本地存储：首次同步先读已存K线，新收盘的K线同步后写回；全量加载后以加载的K线重写存储，存储中不会留下缺口
+ **/
+@Slf4j
+public class CandleSyncCursor<T> {
+
+    private final int capacity;
+
+    private final ToLongFunction<T> timestamp;
+
+    private final Store<T> store;
+
+    /**
+     * key 为 交易对 + 周期
+     **/
+    private final Map<String, Series<T>> seriesMap = new ConcurrentHashMap<>();
+
+    public CandleSyncCursor(int capacity, ToLongFunction<T> timestamp) {
+        this(capacity, timestamp, null);
+    }
+
+    /**
+     * @param capacity  保留的K线根数，也是全量加载的条数
+     * @param timestamp K线开始时间（毫秒）
+     * @param store     本地存储，可为空
+     */
+    public CandleSyncCursor(int capacity, ToLongFunction<T> timestamp, Store<T> store) {
+        this.capacity = capacity;
+        this.timestamp = timestamp;
+        this.store = store;
+    }
+
+    /**
+     * 同步并返回最近的K线（按时间升序，含未收盘的当前K线），同一 key 的并发调用串行执行
+     *
+     * @param symbol         交易对
+     * @param granularity    周期
+     * @param durationMillis 单根K线时长（毫秒）
+     * @param fetcher        实际发起请求，请求失败时抛出异常，已有序列保持不变
+     */
+    public List<T> sync(String symbol, String granularity, long durationMillis, Fetcher<T> fetcher) throws Exception {
+        Series<T> series = seriesMap.computeIfAbsent(symbol + "_" + granularity, k -> new Series<>());
+        synchronized (series) {
+            if (!series.seeded) {
+                series.seeded = true;
+                if (store != null) {
+                    List<T> stored = store.load(symbol, granularity, capacity);
+                    merge(series, stored);
+                    if (!stored.isEmpty()) {
+                        series.persistedUpTo = timestamp.applyAsLong(stored.getLast());
+                    }
+                }
+            }
+            long missing = series.bars.isEmpty() ? Long.MAX_VALUE : (System.currentTimeMillis() - series.bars.lastKey()) / durationMillis + 1;
+            if (missing < capacity) {
+                merge(series, fetcher.fetch(series.bars.lastKey(), (int) missing));
+            } else {
+                List<T> fetched = fetcher.fetch(null, capacity);
+                series.bars.clear();
+                merge(series, fetched);
+                // 与已存K线之间的缺口无法补齐，以本次加载的K线重写存储
+                series.rewrite = true;
+            }
+            persistClosed(symbol, granularity, durationMillis, series);
+            return new ArrayList<>(series.bars.values());
+        }
+    }
+
+    /**
+     * 请求K线的结果直接覆盖同一时间的已有K线，未收盘的K线以最新一次请求为准
+     */
+    private void merge(Series<T> series, List<T> candles) {
+        if (candles != null) {
+            for (T candle : candles) {
+                series.bars.put(timestamp.applyAsLong(candle), candle);
+            }
+        }
+        while (series.bars.size() > capacity) {
+            series.bars.pollFirstEntry();
+        }
+    }
+
+    /**
+     * 把尚未写入的收盘K线（除最新一根外）写入本地存储；全量加载后或与已存K线不连续时，以内存中连续的收盘K线重写存储
+     */
+    private void persistClosed(String symbol, String granularity, long durationMillis, Series<T> series) {
+        if (store == null || series.bars.size() < 2) {
+            return;
+        }
+        long last = series.bars.lastKey();
+        long closedUpTo = series.bars.lowerKey(last);
+        try {
+            if (!series.rewrite) {
+                if (series.persistedUpTo >= closedUpTo) {
+                    return;
+                }
+                List<T> closed = new ArrayList<>(series.bars.subMap(series.persistedUpTo, false, last, false).values());
+                if (store.appendContiguous(symbol, granularity, durationMillis, closed)) {
+                    series.persistedUpTo = closedUpTo;
+                    return;
+                }
+                log.warn("CandleSyncCursor: K线与已存K线不连续，重写存储 symbol={} granularity={}", symbol, granularity);
+            }
+            List<T> closed = contiguousClosedTail(series, durationMillis);
+            store.replace(symbol, granularity, closed);
+            series.persistedUpTo = closedUpTo;
+            series.rewrite = false;
+        } catch (Exception e) {
+            log.error("CandleSyncCursor: 写入K线失败 symbol={} granularity={}", symbol, granularity, e);
+        }
+    }
+
+    /**
+     * 以最新一根收盘K线结尾、时间连续的收盘K线
+     */
+    private List<T> contiguousClosedTail(Series<T> series, long durationMillis) {
+        List<T> closed = new ArrayList<>();
+        long expected = Long.MIN_VALUE;
+        for (Map.Entry<Long, T> entry : series.bars.headMap(series.bars.lastKey(), false).descendingMap().entrySet()) {
+            if (expected != Long.MIN_VALUE && entry.getKey() != expected) {
+                break;
+            }
+            closed.add(entry.getValue());
+            expected = entry.getKey() - durationMillis;
+        }
+        Collections.reverse(closed);
+        return closed;
+    }
+
+    private static final class Series<T> {
+
+        /**
+         * K线开始时间 -> K线，按时间升序
+         */
+        private final TreeMap<Long, T> bars = new TreeMap<>();
+
+        private boolean seeded;
+
+        /**
+         * 下次写入时重写存储
+         */
+        private boolean rewrite;
+
+        private long persistedUpTo = Long.MIN_VALUE;
+    }
+
+    /**
+     * K线请求
+     */
+    @FunctionalInterface
+    public interface Fetcher<T> {
+
+        /**
+         * @param startMillis 开始时间（毫秒，含），为空时请求最近 limit 根K线
+         * @param limit       最多需要的条数
+         */
+        List<T> fetch(Long startMillis, int limit) throws Exception;
+    }
+
+    /**
+     * 本地K线存储
+     */
+    public interface Store<T> {
+
+        /**
+         * 最近 limit 根已存K线，按时间升序
+         */
+        List<T> load(String symbol, String granularity, int limit);
+
+        /**
+         * 追加新收盘的K线（按时间升序），只写入与已存K线连续的部分
+         *
+         * @return 全部写入时返回 true，出现缺口时返回 false
+         */
+        boolean appendContiguous(String symbol, String granularity, long durationMillis, List<T> closed);
+
+        /**
+         * 以给定的收盘K线（按时间升序）重写存储
+         */
+        void replace(String symbol, String granularity, List<T> closed);
+    }
+}
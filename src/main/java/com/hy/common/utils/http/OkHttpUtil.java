@@ -2,6 +2,7 @@ package com.hy.common.utils.http;
 
 
 import cn.hutool.core.util.StrUtil;
+import com.bitget.openapi.common.client.BitgetHttpTransport;
 import com.hy.common.utils.json.JsonUtil;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
@@ -15,7 +16,7 @@ import java.util.concurrent.TimeUnit;
  * OkHttp 工具类 - 优化版
  * 改进点:
  * 1. 修复资源泄漏问题（使用try-with-resources）
- * 2. 优化连接池配置（最大连接数50，保活5分钟）
+ * 2. 连接池与 Bitget 客户端共用（最大空闲连接32，保活5分钟）
  * 3. 添加超时配置（连接/读取/写入超时各30秒）
  * 4. 完善异常处理（统一日志记录）
  * 5. 添加空值检查（防止NPE）
@@ -28,15 +29,14 @@ public class OkHttpUtil {
 
     /**
      * 优化后的OkHttpClient配置:
-     * - 连接池: 最大50个空闲连接，保活5分钟
+     * - 连接池、调度器: 与 Bitget 客户端共用 {@link BitgetHttpTransport}
      * - 连接超时: 30秒
      * - 读取超时: 30秒
      * - 写入超时: 30秒
      * - 重试机制: 启用（最多3次）
      */
-    private static final OkHttpClient client = new OkHttpClient
-            .Builder()
-            .connectionPool(new ConnectionPool(50, 5, TimeUnit.MINUTES))
+    private static final OkHttpClient client = BitgetHttpTransport.shared()
+            .newBuilder()
             .connectTimeout(30, TimeUnit.SECONDS)
             .readTimeout(30, TimeUnit.SECONDS)
             .writeTimeout(30, TimeUnit.SECONDS)
@@ -5,10 +5,14 @@ import cn.hutool.core.util.IdUtil;
 import com.bitget.custom.entity.*;
 import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.response.ResponseResult;
+import com.bitget.openapi.ws.WsTickerListener;
 import com.hy.common.enums.BitgetAccountType;
 import com.hy.common.enums.BitgetEnum;
 import com.hy.common.enums.SymbolEnum;
+import com.hy.common.service.BitgetCandleService;
 import com.hy.common.service.BitgetCustomService;
+import com.hy.common.service.BitgetTickerSnapshotService;
+import com.hy.common.service.CandleSyncCursor;
 import com.hy.common.service.MailService;
 import com.hy.common.utils.json.JsonUtil;
 import com.hy.modules.cex.entity.DoubleMovingAverageData;
@@ -59,6 +63,21 @@ public class DoubleMovingAverageStrategyService {
 
     private final BitgetCustomService.BitgetSession bitgetSession;
 
+    /**
+     * K线实时维护服务
+     **/
+    private final BitgetCandleService bitgetCandleService;
+
+    /**
+     * 全量行情快照服务，websocket 推送失效时回退到 REST
+     **/
+    private final BitgetTickerSnapshotService tickerSnapshotService;
+
+    /**
+     * 本策略的行情源，websocket 推送与 REST 回退都写入价格缓存
+     **/
+    private final BitgetTickerSnapshotService.TickerFeed tickerFeed;
+
     /**
      * 邮件通知服务
      */
@@ -101,6 +120,11 @@ public class DoubleMovingAverageStrategyService {
      **/
     private final static Integer LIMIT = 1000;
 
+    /**
+     * REST 回退时的K线增量同步游标
+     **/
+    private final CandleSyncCursor<BitgetMixMarketCandlesResp> candleCursor = new CandleSyncCursor<>(LIMIT, BitgetMixMarketCandlesResp::getTimestamp);
+
     /**
      * 中间价偏离度
      * 用于跟踪趋势下单时的价格容忍范围
@@ -235,9 +259,12 @@ public class DoubleMovingAverageStrategyService {
     private String emailRecipient;
 
 
-    public DoubleMovingAverageStrategyService(BitgetCustomService bitgetCustomService, MailService mailService, @Qualifier("applicationTaskExecutor") SimpleAsyncTaskExecutor taskExecutor, @Qualifier("taskScheduler") SimpleAsyncTaskScheduler taskScheduler) {
+    public DoubleMovingAverageStrategyService(BitgetCustomService bitgetCustomService, BitgetCandleService bitgetCandleService, BitgetTickerSnapshotService tickerSnapshotService, MailService mailService, @Qualifier("applicationTaskExecutor") SimpleAsyncTaskExecutor taskExecutor, @Qualifier("taskScheduler") SimpleAsyncTaskScheduler taskScheduler) {
         this.bitgetCustomService = bitgetCustomService;
-        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE);
+        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE).coalescing(Duration.ofMillis(BG_QUERY_COALESCE_TTL_MILLIS));
+        this.bitgetCandleService = bitgetCandleService;
+        this.tickerSnapshotService = tickerSnapshotService;
+        this.tickerFeed = tickerSnapshotService.register("DoubleMovingAverage", CONFIG_MAP.keySet(), LATEST_PRICE_CACHE::put);
         this.mailService = mailService;
         this.taskExecutor = taskExecutor;
         this.taskScheduler = taskScheduler;
@@ -253,6 +280,8 @@ public class DoubleMovingAverageStrategyService {
         startOrderConsumer();
         //通过WebSocket订阅行情数据
         subscribeMarketDataViaWebSocket();
+        //通过WebSocket订阅K线，收盘后立即更新指标
+        subscribeCandlesViaWebSocket();
         log.info("双均线策略加载完成, 当前配置: {}", JsonUtil.toJson(CONFIG_MAP));
     }
 
@@ -314,24 +343,29 @@ public class DoubleMovingAverageStrategyService {
     /**
      * 更新双均线指标数据
      * 计算并缓存MA/EMA指标，同时缓存BarSeries用于震荡过滤计算
+     * 优先使用WebSocket维护的K线，推送失效时回退到REST增量同步
      **/
     public void updateDoubleMovingAverageIndicators() {
         for (DoubleMovingAverageStrategyConfig config : CONFIG_MAP.values()) {
             taskExecutor.execute(() -> {
                 try {
-                    ResponseResult<List<BitgetMixMarketCandlesResp>> rs = bitgetSession.getMinMarketCandles(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getTimeFrame(), LIMIT);
-                    if (rs.getData() == null || rs.getData().isEmpty()) return;
-                    if (rs.getData().size() < 500) return;
                     // 建议改为更友好的错误处理
                     BitgetEnum bitgetEnum = BitgetEnum.getByCode(config.getTimeFrame());
                     if (bitgetEnum == null) {
                         log.error("updateDoubleMovingAverageIndicators: 未知的时间周期, symbol={}, timeFrame={}", config.getSymbol(), config.getTimeFrame());
                         return;
                     }
-                    BarSeries barSeries = buildSeriesFromBitgetCandles(rs.getData(), bitgetEnum.getDuration());
-                    DoubleMovingAverageData data = calculateIndicators(barSeries, config.getPricePlace());
-                    // 缓存双均线指标数据
-                    DMAS_CACHE.put(config.getSymbol(), data);
+                    List<BitgetMixMarketCandlesResp> candles = bitgetCandleService.getCandles(config.getSymbol(), bitgetEnum, LIMIT);
+                    if (candles.isEmpty()) {
+                        // 推送失效时通过 REST 增量同步，只请求上次同步的最后一根K线及之后的部分
+                        candles = candleCursor.sync(config.getSymbol(), config.getTimeFrame(), bitgetEnum.getDuration().toMillis(), (startMillis, limit) -> {
+                            ResponseResult<List<BitgetMixMarketCandlesResp>> rs = startMillis == null
+                                    ? bitgetSession.getMinMarketCandles(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getTimeFrame(), limit)
+                                    : bitgetSession.getMinMarketCandles(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getTimeFrame(), limit, String.valueOf(startMillis), null);
+                            return rs.getData();
+                        });
+                    }
+                    updateIndicators(config, bitgetEnum, candles);
                 } catch (Exception e) {
                     log.error("updateDoubleMovingAverageIndicators-error:{}", config.getSymbol(), e);
                 }
@@ -339,22 +373,23 @@ public class DoubleMovingAverageStrategyService {
         }
     }
 
+    /**
+     * 根据K线计算并缓存双均线指标，K线不足500根时跳过
+     **/
+    private void updateIndicators(DoubleMovingAverageStrategyConfig config, BitgetEnum bitgetEnum, List<BitgetMixMarketCandlesResp> candles) {
+        if (candles == null || candles.size() < 500) return;
+        BarSeries barSeries = buildSeriesFromBitgetCandles(candles, bitgetEnum.getDuration());
+        DoubleMovingAverageData data = calculateIndicators(barSeries, config.getPricePlace());
+        // 缓存双均线指标数据
+        DMAS_CACHE.put(config.getSymbol(), data);
+    }
+
     /**
      * 刷新市场价格缓存
-     * 通过REST API获取最新价格并更新缓存
+     * 价格由 websocket 推送维护，推送失效的交易对通过一次全量行情快照补齐
      */
     public void refreshMarketPriceCache() {
-        for (DoubleMovingAverageStrategyConfig config : CONFIG_MAP.values()) {
-            taskExecutor.execute(() -> {
-                try {
-                    ResponseResult<List<BitgetMixMarketTickerResp>> rs = bitgetSession.getMixMarketTicker(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES);
-                    if (rs.getData() == null || rs.getData().isEmpty()) return;
-                    LATEST_PRICE_CACHE.put(config.getSymbol(), new BigDecimal(rs.getData().getFirst().getLastPr()));
-                } catch (Exception e) {
-                    log.error("refreshMarketPriceCache-error:{}", config.getSymbol(), e);
-                }
-            });
-        }
+        tickerSnapshotService.refreshStale(bitgetSession);
     }
 
     /**
@@ -996,21 +1031,37 @@ public class DoubleMovingAverageStrategyService {
         if (list.isEmpty()) return;
         taskExecutor.execute(() -> {
             try {
-                bitgetCustomService.subscribeWsClientContractPublic(list, data -> {
-                    if (data != null) {
-                        BitgetWSMarketResp marketResp = JsonUtil.toBean(data, BitgetWSMarketResp.class);
-                        if (marketResp.getData() != null && !marketResp.getData().isEmpty()) {
-                            BitgetWSMarketResp.MarketInfo info = marketResp.getData().getFirst();
-                            LATEST_PRICE_CACHE.put(info.getSymbol(), new BigDecimal(info.getLastPr()));
-                        }
-                    }
-                });
+                bitgetCustomService.subscribeWsClientContractTicker(list, WsTickerListener.latest(tickerFeed::onWsTicker));
             } catch (Exception e) {
                 log.error("subscribeMarketDataViaWebSocket-error:", e);
             }
         });
     }
 
+    /**
+     * 通过WebSocket订阅K线
+     * 内存中维护最近的K线，K线收盘后立即重新计算指标，不再等待定时任务
+     */
+    public void subscribeCandlesViaWebSocket() {
+        for (DoubleMovingAverageStrategyConfig config : CONFIG_MAP.values()) {
+            BitgetEnum bitgetEnum = BitgetEnum.getByCode(config.getTimeFrame());
+            if (bitgetEnum == null) continue;
+            taskExecutor.execute(() -> {
+                try {
+                    bitgetCandleService.subscribeContractCandles(bitgetSession, config.getSymbol(), bitgetEnum, LIMIT, (series, bar) -> taskExecutor.execute(() -> {
+                        try {
+                            updateIndicators(config, bitgetEnum, series.getCandles(LIMIT));
+                        } catch (Exception e) {
+                            log.error("subscribeCandlesViaWebSocket-updateIndicators-error:{}", config.getSymbol(), e);
+                        }
+                    }));
+                } catch (Exception e) {
+                    log.error("subscribeCandlesViaWebSocket-error:{}", config.getSymbol(), e);
+                }
+            });
+        }
+    }
+
     /**
      * 仓位管理
      */
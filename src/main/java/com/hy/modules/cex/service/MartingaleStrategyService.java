@@ -25,6 +25,7 @@ import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
@@ -87,7 +88,7 @@ public class MartingaleStrategyService {
     private static final String MARTINGALE_STRATEGY_KEY = "md_conf";
 
     public MartingaleStrategyService(BitgetCustomService bitgetCustomService, MailService mailService, @Qualifier("applicationTaskExecutor") SimpleAsyncTaskExecutor taskExecutor, StringRedisTemplate redisTemplate, @Qualifier("taskScheduler") SimpleAsyncTaskScheduler taskScheduler) {
-        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.MARTINGALE);
+        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.MARTINGALE).coalescing(Duration.ofMillis(BG_QUERY_COALESCE_TTL_MILLIS));
         this.mailService = mailService;
         this.taskExecutor = taskExecutor;
         this.redisTemplate = redisTemplate;
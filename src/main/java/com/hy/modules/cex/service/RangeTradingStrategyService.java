@@ -6,12 +6,18 @@ import cn.hutool.core.date.DateTime;
 import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
 import com.bitget.custom.entity.*;
+import com.bitget.openapi.common.enums.RequestPriorityEnum;
 import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.response.ResponseResult;
+import com.bitget.openapi.ws.WsTickerListener;
 import com.hy.common.enums.BitgetAccountType;
 import com.hy.common.enums.BitgetEnum;
 import com.hy.common.enums.SymbolEnum;
+import com.hy.common.service.BitgetCandleService;
 import com.hy.common.service.BitgetCustomService;
+import com.hy.common.service.BitgetHistoryCandleLoader;
+import com.hy.common.service.CandleStoreService;
+import com.hy.common.service.BitgetTickerSnapshotService;
 import com.hy.common.service.MailService;
 import com.hy.common.utils.json.JsonUtil;
 import com.hy.modules.cex.entity.*;
@@ -22,8 +28,10 @@ import org.springframework.core.task.TaskExecutor;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -55,6 +63,31 @@ public class RangeTradingStrategyService {
      */
     private final BitgetCustomService bitgetCustomService;
 
+    /**
+     * K线实时维护服务
+     */
+    private final BitgetCandleService bitgetCandleService;
+
+    /**
+     * 历史K线并发下载
+     **/
+    private final BitgetHistoryCandleLoader historyCandleLoader;
+
+    /**
+     * 本地K线存储，历史K线只下载最后一根已存K线之后的部分
+     **/
+    private final CandleStoreService candleStore;
+
+    /**
+     * 全量行情快照服务，websocket 推送失效时回退到 REST
+     **/
+    private final BitgetTickerSnapshotService tickerSnapshotService;
+
+    /**
+     * 本策略的行情源，websocket 推送与 REST 回退都写入价格缓存
+     **/
+    private final BitgetTickerSnapshotService.TickerFeed tickerFeed;
+
     private final BitgetCustomService.BitgetSession bitgetSession;
 
     /**
@@ -167,11 +200,16 @@ public class RangeTradingStrategyService {
     private final static Map<String, Long> DELAY_OPEN_TIME_MAP = STRATEGY_CONFIG_MAP.values().stream()
             .collect(Collectors.toMap(RangePriceStrategyConfig::getSymbol, v -> 0L));
 
-    public RangeTradingStrategyService(BitgetCustomService bitgetCustomService, MailService mailService, @Qualifier("applicationTaskExecutor") TaskExecutor executor) {
+    public RangeTradingStrategyService(BitgetCustomService bitgetCustomService, BitgetCandleService bitgetCandleService, BitgetHistoryCandleLoader historyCandleLoader, CandleStoreService candleStore, BitgetTickerSnapshotService tickerSnapshotService, MailService mailService, @Qualifier("applicationTaskExecutor") TaskExecutor executor) {
         this.bitgetCustomService = bitgetCustomService;
+        this.bitgetCandleService = bitgetCandleService;
+        this.historyCandleLoader = historyCandleLoader;
+        this.candleStore = candleStore;
+        this.tickerSnapshotService = tickerSnapshotService;
+        this.tickerFeed = tickerSnapshotService.register("RangeTrading", STRATEGY_CONFIG_MAP.keySet(), MARKET_PRICE_CACHE::put);
         this.mailService = mailService;
         this.taskExecutor = executor;
-        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE);
+        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE).coalescing(Duration.ofMillis(BG_QUERY_COALESCE_TTL_MILLIS));
     }
 
     /**
@@ -185,6 +223,8 @@ public class RangeTradingStrategyService {
         startOrderConsumer();
         // 建立WebSocket行情数据监控
         startWebSocketMarketDataMonitoring();
+        // 建立WebSocket K线数据监控
+        subscribeKlineViaWebSocket();
         // 加载历史K线数据
         startHistoricalKlineMonitoring();
         log.info("区间交易策略服务启动完成, 当前配置: {}", JsonUtil.toJson(STRATEGY_CONFIG_MAP));
@@ -255,6 +295,22 @@ public class RangeTradingStrategyService {
         }
     }
 
+    /**
+     * 通过WebSocket订阅K线
+     * 内存中维护最近的K线，K线监控优先读取内存数据，推送失效时才回退到REST
+     */
+    public void subscribeKlineViaWebSocket() {
+        for (RangePriceStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
+            taskExecutor.execute(() -> {
+                try {
+                    bitgetCandleService.subscribeContractCandles(bitgetSession, config.getSymbol(), config.getGranularity(), KLINE_DATA_LIMIT, null);
+                } catch (Exception e) {
+                    log.error("subscribeKlineViaWebSocket-error: symbol={}", config.getSymbol(), e);
+                }
+            });
+        }
+    }
+
     /**
      * 启动K线数据监控
      * 为每个启用的币种异步获取K线数据并计算区间价格
@@ -263,13 +319,17 @@ public class RangeTradingStrategyService {
         for (RangePriceStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
             taskExecutor.execute(() -> {
                 try {
-                    // 获取K线数据
-                    ResponseResult<List<BitgetMixMarketCandlesResp>> rs = bitgetSession.getMinMarketCandles(
-                            config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getGranularity().getCode(), KLINE_DATA_LIMIT
-                    );
-                    if (!BG_RESPONSE_CODE_SUCCESS.equals(rs.getCode()) || rs.getData().isEmpty()) {
-                        log.error("startKlineMonitoring-error: 获取K线数据失败, symbol: {}, rs: {}", config.getSymbol(), JsonUtil.toJson(rs));
-                        return;
+                    // 获取K线数据，优先使用WebSocket维护的K线
+                    List<BitgetMixMarketCandlesResp> candles = bitgetCandleService.getCandles(config.getSymbol(), config.getGranularity(), KLINE_DATA_LIMIT);
+                    if (candles.isEmpty()) {
+                        ResponseResult<List<BitgetMixMarketCandlesResp>> rs = bitgetSession.getMinMarketCandles(
+                                config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getGranularity().getCode(), KLINE_DATA_LIMIT
+                        );
+                        if (!BG_RESPONSE_CODE_SUCCESS.equals(rs.getCode()) || rs.getData().isEmpty()) {
+                            log.error("startKlineMonitoring-error: 获取K线数据失败, symbol: {}, rs: {}", config.getSymbol(), JsonUtil.toJson(rs));
+                            return;
+                        }
+                        candles = rs.getData();
                     }
                     // 先取旧数据（如果没有则初始化为空列表）
                     List<BitgetMixMarketCandlesResp> oldList = HISTORICAL_KLINE_CACHE.getOrDefault(config.getSymbol(), new ArrayList<>());
@@ -277,7 +337,7 @@ public class RangeTradingStrategyService {
                     if (oldList.isEmpty()) return;
                     // 新建一个副本，避免直接操作缓存里的 List
                     List<BitgetMixMarketCandlesResp> merged = new ArrayList<>(oldList);
-                    merged.addAll(rs.getData());
+                    merged.addAll(candles);
                     // 去重并按时间排序
                     List<BitgetMixMarketCandlesResp> newCandles = distinctAndSortByTimestamp(merged);
                     // 覆盖回缓存
@@ -421,20 +481,10 @@ public class RangeTradingStrategyService {
 
     /**
      * 启动行情数据监控
-     * 通过REST API获取实时行情数据
+     * 价格由 websocket 推送维护，推送失效的交易对通过一次全量行情快照补齐
      */
     public void startMarketDataMonitoring() {
-        for (RangePriceStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
-            taskExecutor.execute(() -> {
-                try {
-                    ResponseResult<List<BitgetMixMarketTickerResp>> rs = bitgetSession.getMixMarketTicker(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES);
-                    if (rs.getData() == null || rs.getData().isEmpty()) return;
-                    MARKET_PRICE_CACHE.put(config.getSymbol(), new BigDecimal(rs.getData().getFirst().getLastPr()));
-                } catch (Exception e) {
-                    log.error("startMarketDataMonitoring-error: symbol={}", config.getSymbol(), e);
-                }
-            });
-        }
+        tickerSnapshotService.refreshStale(bitgetSession);
     }
 
     /**
@@ -535,11 +585,15 @@ public class RangeTradingStrategyService {
                     try {
                         RangePricePlaceOrderParam orderParam = ORDER_QUEUE.take(); // 阻塞直到有数据
 
+                        // 仓位和账户余额两次查询互不依赖，并行发起
+                        CompletableFuture<ResponseResult<List<BitgetAllPositionResp>>> positionFuture = bitgetSession.getAllPositionAsync();
+                        CompletableFuture<Map<String, BitgetAccountsResp>> accountFuture = getAccountInfoAsync();
+
                         // 校验当前是否已有仓位
-                        if (hasExistingPosition(orderParam.getSymbol())) continue;
+                        if (hasExistingPosition(orderParam.getSymbol(), positionFuture.join())) continue;
 
                         // 校验账户余额
-                        if (!validateAccountBalance(orderParam)) continue;
+                        if (!validateAccountBalance(orderParam, accountFuture.join())) continue;
 
                         //计算并设置杠杆倍数
                         Integer leverage = calculateAndSetLeverage(orderParam.getSymbol());
@@ -609,16 +663,15 @@ public class RangeTradingStrategyService {
     /**
      * 检查是否已有仓位
      */
-    private boolean hasExistingPosition(String symbol) throws Exception {
-        List<BitgetAllPositionResp> positions = Optional.ofNullable(bitgetSession.getAllPosition().getData()).orElse(Collections.emptyList());
+    private boolean hasExistingPosition(String symbol, ResponseResult<List<BitgetAllPositionResp>> positionResp) {
+        List<BitgetAllPositionResp> positions = Optional.ofNullable(positionResp.getData()).orElse(Collections.emptyList());
         return positions.stream().anyMatch(pos -> symbol.equals(pos.getSymbol()));
     }
 
     /**
      * 验证账户余额
      */
-    private boolean validateAccountBalance(RangePricePlaceOrderParam orderParam) {
-        Map<String, BitgetAccountsResp> accountMap = getAccountInfo();
+    private boolean validateAccountBalance(RangePricePlaceOrderParam orderParam, Map<String, BitgetAccountsResp> accountMap) {
         BitgetAccountsResp accountsResp = accountMap.get(DEFAULT_CURRENCY_USDT);
         if (accountsResp == null) {
             log.warn("validateAccountBalance: 未获取到USDT账户信息，无法执行下单! 订单: {}", JsonUtil.toJson(orderParam));
@@ -747,18 +800,26 @@ public class RangeTradingStrategyService {
      * 获取账户信息
      */
     public Map<String, BitgetAccountsResp> getAccountInfo() {
-        try {
-            ResponseResult<List<BitgetAccountsResp>> accountsResp = bitgetSession.getAccounts();
+        return getAccountInfoAsync().join();
+    }
+
+    /**
+     * 异步获取账户信息，失败时返回空 Map
+     */
+    public CompletableFuture<Map<String, BitgetAccountsResp>> getAccountInfoAsync() {
+        return bitgetSession.getAccountsAsync().handle((accountsResp, e) -> {
+            if (e != null) {
+                log.error("getAccountInfo-error", e);
+                return new ConcurrentHashMap<>();
+            }
             if (accountsResp != null && BG_RESPONSE_CODE_SUCCESS.equals(accountsResp.getCode())) {
                 List<BitgetAccountsResp> accounts = accountsResp.getData();
                 if (accounts != null && !accounts.isEmpty()) {
                     return accounts.stream().collect(Collectors.toMap(BitgetAccountsResp::getMarginCoin, v -> v, (k1, k2) -> k1));
                 }
             }
-        } catch (Exception e) {
-            log.error("getAccountInfo-error", e);
-        }
-        return new ConcurrentHashMap<>();
+            return new ConcurrentHashMap<>();
+        });
     }
 
     /**
@@ -951,15 +1012,7 @@ public class RangeTradingStrategyService {
 
         taskExecutor.execute(() -> {
             try {
-                bitgetCustomService.subscribeWsClientContractPublic(subscribeRequests, data -> {
-                    if (data != null) {
-                        BitgetWSMarketResp marketResp = JsonUtil.toBean(data, BitgetWSMarketResp.class);
-                        if (marketResp.getData() != null && !marketResp.getData().isEmpty()) {
-                            BitgetWSMarketResp.MarketInfo info = marketResp.getData().getFirst();
-                            MARKET_PRICE_CACHE.put(info.getSymbol(), new BigDecimal(info.getLastPr()));
-                        }
-                    }
-                });
+                bitgetCustomService.subscribeWsClientContractTicker(subscribeRequests, WsTickerListener.latest(tickerFeed::onWsTicker));
             } catch (Exception e) {
                 log.error("startWebSocketMarketDataMonitoring-error:", e);
             }
@@ -988,6 +1041,7 @@ public class RangeTradingStrategyService {
                     .append("<th>最低价</th>")
                     .append("<th>最低价时间</th>")
                     .append("<th>区间数</th>")
+                    .append("<th>行情源</th>")
                     .append("</tr></thead>");
             content.append("<tbody>");
 
@@ -1002,6 +1056,7 @@ public class RangeTradingStrategyService {
                         .append("<td>").append(rangePrice.getLowPrice()).append("</td>")
                         .append("<td>").append(DateUtil.formatDateTime(new Date(rangePrice.getLowPriceTimestamp()))).append("</td>")
                         .append("<td>").append(rangePrice.getRangeCount()).append("</td>")
+                        .append("<td>").append(feedStatusText(rangePrice.getSymbol())).append("</td>")
                         .append("</tr>");
             }
             content.append("</tbody></table>");
@@ -1015,6 +1070,15 @@ public class RangeTradingStrategyService {
         }
     }
 
+    /**
+     * 交易对当前的行情来源与价格延迟，如 WEBSOCKET 120ms
+     */
+    private String feedStatusText(String symbol) {
+        BitgetTickerSnapshotService.FeedStatus status = tickerFeed.getStatus(symbol);
+        if (status == null) return "-";
+        return status.source() + (status.stalenessMillis() < 0 ? "" : " " + status.stalenessMillis() + "ms");
+    }
+
     /**
      * 生成K线时间段
      *
@@ -1060,50 +1124,56 @@ public class RangeTradingStrategyService {
 
     /**
      * 启动历史K线监控
-     * 通过REST API获取历史K线数据，必须全部成功才加入缓存
+     * 先读本地已存K线，已覆盖时间范围起点时只通过REST API下载最后一根已存K线之后的部分，否则下载整个时间范围；
+     * 必须全部成功才加入缓存并写入本地存储
      */
     public void startHistoricalKlineMonitoring() {
         // 获取过去6个月，每段200小时的时间段
         List<CandlesDate> candlesDate = getCandlesDate(6, 200);
+        if (candlesDate.isEmpty()) return;
+        long startTime = candlesDate.getFirst().getStartTime();
+        long endTime = candlesDate.getLast().getEndTime();
+        // 历史下载以后台优先级排队限流，令牌不足时让位于下单和实时行情
+        BitgetCustomService.BitgetSession historySession = bitgetSession.withPriority(RequestPriorityEnum.BACKGROUND);
         for (RangePriceStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
-            taskExecutor.execute(() -> {
-                List<BitgetMixMarketCandlesResp> allCandles = new ArrayList<>();
-                try {
-                    for (CandlesDate date : candlesDate) {
-                        ResponseResult<List<BitgetMixMarketCandlesResp>> rs =
-                                bitgetSession.getMixMarketHistoryCandles(
-                                        config.getSymbol(),
-                                        BG_PRODUCT_TYPE_USDT_FUTURES,
-                                        config.getGranularity().getCode(),
-                                        HISTORICAL_KLINE_DATA_LIMIT,
-                                        date.getStartTime().toString(),
-                                        date.getEndTime().toString());
-
-                        if (rs.getData() == null || rs.getData().isEmpty()) {
-                            throw new RuntimeException(String.format("未获取到K线数据: symbol=%s, timeRange=(%s, %s)", config.getSymbol(), date.getStartTime(), date.getEndTime()));
+            long begin = System.currentTimeMillis();
+            String granularity = config.getGranularity().getCode();
+            List<CandleStoreService.StoredCandle> stored = candleStore.readFrom(CandleStoreService.VENUE_BITGET, config.getSymbol(), granularity, startTime);
+            boolean covered = !stored.isEmpty() && stored.getFirst().timestamp() < startTime + config.getGranularity().getDuration().toMillis();
+            // 最后一根已存K线可能在写入时尚未收盘，从它开始重新下载
+            long fetchFrom = covered ? stored.getLast().timestamp() : startTime;
+            historyCandleLoader.load(historySession, config.getSymbol(), config.getGranularity(), HISTORICAL_KLINE_DATA_LIMIT, fetchFrom, endTime,
+                    (symbol, completed, total) -> {
+                        // 每完成四分之一输出一次进度
+                        if (completed == total || completed % Math.max(1, total / 4) == 0) {
+                            log.info("startHistoricalKlineMonitoring: symbol={}, 进度={}/{}", symbol, completed, total);
                         }
-                        allCandles.addAll(rs.getData());
-                        // 限流：避免请求过快
-                        sleepQuietly();
-                    }
-                    // 如果全部成功才加入缓存
-                    HISTORICAL_KLINE_CACHE.put(config.getSymbol(), distinctAndSortByTimestamp(allCandles));
-                    log.info("startHistoricalKlineMonitoring: symbol={}, 历史K线数据数量={}", config.getSymbol(), allCandles.size());
-                } catch (Exception e) {
+                    }).whenComplete((fetched, e) -> {
+                if (e != null) {
                     log.error("startHistoricalKlineMonitoring: 获取历史K线失败, symbol={}", config.getSymbol(), e);
+                    return;
+                }
+                List<BitgetMixMarketCandlesResp> candles;
+                if (covered) {
+                    candles = new ArrayList<>(stored.size() + fetched.size());
+                    for (CandleStoreService.StoredCandle candle : stored) {
+                        if (candle.timestamp() < fetchFrom) {
+                            candles.add(CandleStoreService.toBitget(candle));
+                        }
+                    }
+                    candles.addAll(fetched);
+                    if (!candleStore.appendContiguous(CandleStoreService.VENUE_BITGET, config.getSymbol(), granularity,
+                            config.getGranularity().getDuration().toMillis(), CandleStoreService.fromBitget(fetched))) {
+                        log.warn("startHistoricalKlineMonitoring: 下载的K线与本地K线不连续，只写入连续部分, symbol={}", config.getSymbol());
+                    }
+                } else {
+                    candles = fetched;
+                    candleStore.replace(CandleStoreService.VENUE_BITGET, config.getSymbol(), granularity, CandleStoreService.fromBitget(fetched));
                 }
+                HISTORICAL_KLINE_CACHE.put(config.getSymbol(), candles);
+                log.info("startHistoricalKlineMonitoring: symbol={}, 历史K线数据数量={}, 本地={}, 下载={}, 耗时={}ms", config.getSymbol(), candles.size(),
+                        candles.size() - fetched.size(), fetched.size(), System.currentTimeMillis() - begin);
             });
         }
     }
-
-    /**
-     * 安全 sleep，不抛出中断异常
-     */
-    private void sleepQuietly() {
-        try {
-            Thread.sleep(200L);
-        } catch (InterruptedException ignored) {
-            Thread.currentThread().interrupt();
-        }
-    }
 }
\ No newline at end of file
@@ -6,10 +6,13 @@ import cn.hutool.core.util.IdUtil;
 import com.bitget.custom.entity.*;
 import com.bitget.openapi.dto.request.ws.SubscribeReq;
 import com.bitget.openapi.dto.response.ResponseResult;
+import com.bitget.openapi.ws.WsTickerListener;
 import com.hy.common.enums.BitgetAccountType;
 import com.hy.common.enums.BitgetEnum;
 import com.hy.common.enums.SymbolEnum;
+import com.hy.common.service.BitgetCandleService;
 import com.hy.common.service.BitgetCustomService;
+import com.hy.common.service.BitgetTickerSnapshotService;
 import com.hy.common.service.MailService;
 import com.hy.common.utils.json.JsonUtil;
 import com.hy.modules.cex.entity.RangePriceOrder;
@@ -23,8 +26,10 @@ import org.springframework.core.task.TaskExecutor;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -56,6 +61,21 @@ public class ShortTermTradingStrategyService {
     private final BitgetCustomService bitgetCustomService;
     private final BitgetCustomService.BitgetSession bitgetSession;
 
+    /**
+     * K线实时维护服务
+     */
+    private final BitgetCandleService bitgetCandleService;
+
+    /**
+     * 全量行情快照服务，websocket 推送失效时回退到 REST
+     **/
+    private final BitgetTickerSnapshotService tickerSnapshotService;
+
+    /**
+     * 本策略的行情源，websocket 推送与 REST 回退都写入价格缓存
+     **/
+    private final BitgetTickerSnapshotService.TickerFeed tickerFeed;
+
     /**
      * 邮件通知服务
      */
@@ -152,11 +172,14 @@ public class ShortTermTradingStrategyService {
     private final static Map<String, Long> DELAY_OPEN_TIME_MAP = STRATEGY_CONFIG_MAP.values().stream()
             .collect(Collectors.toMap(ShortTermTradingStrategyConfig::getSymbol, v -> 0L));
 
-    public ShortTermTradingStrategyService(BitgetCustomService bitgetCustomService, MailService mailService, @Qualifier("applicationTaskExecutor") TaskExecutor executor) {
+    public ShortTermTradingStrategyService(BitgetCustomService bitgetCustomService, BitgetCandleService bitgetCandleService, BitgetTickerSnapshotService tickerSnapshotService, MailService mailService, @Qualifier("applicationTaskExecutor") TaskExecutor executor) {
         this.bitgetCustomService = bitgetCustomService;
+        this.bitgetCandleService = bitgetCandleService;
+        this.tickerSnapshotService = tickerSnapshotService;
+        this.tickerFeed = tickerSnapshotService.register("ShortTermTrading", STRATEGY_CONFIG_MAP.keySet(), MARKET_PRICE_CACHE::put);
         this.mailService = mailService;
         this.taskExecutor = executor;
-        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE);
+        this.bitgetSession = bitgetCustomService.use(BitgetAccountType.RANGE).coalescing(Duration.ofMillis(BG_QUERY_COALESCE_TTL_MILLIS));
     }
 
     /**
@@ -170,6 +193,8 @@ public class ShortTermTradingStrategyService {
         startOrderConsumer();
         // 建立WebSocket行情数据监控
         startWebSocketMarketDataMonitoring();
+        // 建立WebSocket K线数据监控
+        subscribeKlineViaWebSocket();
         log.info("短线交易策略服务启动完成, 当前配置: {}", JsonUtil.toJson(STRATEGY_CONFIG_MAP));
     }
 
@@ -238,6 +263,22 @@ public class ShortTermTradingStrategyService {
         }
     }
 
+    /**
+     * 通过WebSocket订阅K线
+     * 内存中维护最近的K线，K线监控优先读取内存数据，推送失效时才回退到REST
+     */
+    public void subscribeKlineViaWebSocket() {
+        for (ShortTermTradingStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
+            taskExecutor.execute(() -> {
+                try {
+                    bitgetCandleService.subscribeContractCandles(bitgetSession, config.getSymbol(), config.getGranularity(), KLINE_DATA_LIMIT, null);
+                } catch (Exception e) {
+                    log.error("subscribeKlineViaWebSocket-error: symbol={}", config.getSymbol(), e);
+                }
+            });
+        }
+    }
+
     /**
      * 启动K线数据监控
      * 为每个启用的币种异步获取K线数据并计算短线价格
@@ -246,16 +287,20 @@ public class ShortTermTradingStrategyService {
         for (ShortTermTradingStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
             taskExecutor.execute(() -> {
                 try {
-                    // 获取K线数据
-                    ResponseResult<List<BitgetMixMarketCandlesResp>> rs = bitgetSession.getMinMarketCandles(
-                            config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getGranularity().getCode(), KLINE_DATA_LIMIT
-                    );
-                    if (!BG_RESPONSE_CODE_SUCCESS.equals(rs.getCode()) || rs.getData() == null || rs.getData().isEmpty()) {
-                        log.error("startKlineMonitoring-error: 获取K线数据失败, symbol: {}, rs: {}", config.getSymbol(), JsonUtil.toJson(rs));
-                        return;
+                    // 获取K线数据，优先使用WebSocket维护的K线
+                    List<BitgetMixMarketCandlesResp> candles = bitgetCandleService.getCandles(config.getSymbol(), config.getGranularity(), KLINE_DATA_LIMIT);
+                    if (candles.isEmpty()) {
+                        ResponseResult<List<BitgetMixMarketCandlesResp>> rs = bitgetSession.getMinMarketCandles(
+                                config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES, config.getGranularity().getCode(), KLINE_DATA_LIMIT
+                        );
+                        if (!BG_RESPONSE_CODE_SUCCESS.equals(rs.getCode()) || rs.getData() == null || rs.getData().isEmpty()) {
+                            log.error("startKlineMonitoring-error: 获取K线数据失败, symbol: {}, rs: {}", config.getSymbol(), JsonUtil.toJson(rs));
+                            return;
+                        }
+                        candles = rs.getData();
                     }
                     // 计算短线价格
-                    calculateRangePrice(rs.getData(), config);
+                    calculateRangePrice(candles, config);
                 } catch (Exception e) {
                     log.error("startKlineMonitoring-error: symbol={}", config.getSymbol(), e);
                 }
@@ -325,20 +370,10 @@ public class ShortTermTradingStrategyService {
 
     /**
      * 启动行情数据监控
-     * 通过REST API获取实时行情数据
+     * 价格由 websocket 推送维护，推送失效的交易对通过一次全量行情快照补齐
      */
     public void startMarketDataMonitoring() {
-        for (ShortTermTradingStrategyConfig config : STRATEGY_CONFIG_MAP.values()) {
-            taskExecutor.execute(() -> {
-                try {
-                    ResponseResult<List<BitgetMixMarketTickerResp>> rs = bitgetSession.getMixMarketTicker(config.getSymbol(), BG_PRODUCT_TYPE_USDT_FUTURES);
-                    if (rs.getData() == null || rs.getData().isEmpty()) return;
-                    MARKET_PRICE_CACHE.put(config.getSymbol(), new BigDecimal(rs.getData().getFirst().getLastPr()));
-                } catch (Exception e) {
-                    log.error("startMarketDataMonitoring-error: symbol={}", config.getSymbol(), e);
-                }
-            });
-        }
+        tickerSnapshotService.refreshStale(bitgetSession);
     }
 
     /**
@@ -432,11 +467,15 @@ public class ShortTermTradingStrategyService {
                     try {
                         ShortTermPlaceOrderParam orderParam = ORDER_QUEUE.take(); // 阻塞直到有数据
 
+                        // 仓位和账户余额两次查询互不依赖，并行发起
+                        CompletableFuture<ResponseResult<List<BitgetAllPositionResp>>> positionFuture = bitgetSession.getAllPositionAsync();
+                        CompletableFuture<Map<String, BitgetAccountsResp>> accountFuture = getAccountInfoAsync();
+
                         // 校验当前是否已有仓位
-                        if (hasExistingPosition(orderParam.getSymbol())) continue;
+                        if (hasExistingPosition(orderParam.getSymbol(), positionFuture.join())) continue;
 
                         // 校验账户余额
-                        if (!validateAccountBalance(orderParam)) continue;
+                        if (!validateAccountBalance(orderParam, accountFuture.join())) continue;
 
                         //计算并设置杠杆倍数
                         Integer leverage = calculateAndSetLeverage(orderParam.getSymbol());
@@ -512,16 +551,15 @@ public class ShortTermTradingStrategyService {
     /**
      * 检查是否已有仓位
      */
-    private boolean hasExistingPosition(String symbol) throws Exception {
-        List<BitgetAllPositionResp> positions = Optional.ofNullable(bitgetSession.getAllPosition().getData()).orElse(Collections.emptyList());
+    private boolean hasExistingPosition(String symbol, ResponseResult<List<BitgetAllPositionResp>> positionResp) {
+        List<BitgetAllPositionResp> positions = Optional.ofNullable(positionResp.getData()).orElse(Collections.emptyList());
         return positions.stream().anyMatch(pos -> symbol.equals(pos.getSymbol()));
     }
 
     /**
      * 验证账户余额
      */
-    private boolean validateAccountBalance(ShortTermPlaceOrderParam orderParam) {
-        Map<String, BitgetAccountsResp> accountMap = getAccountInfo();
+    private boolean validateAccountBalance(ShortTermPlaceOrderParam orderParam, Map<String, BitgetAccountsResp> accountMap) {
         BitgetAccountsResp accountsResp = accountMap.get(DEFAULT_CURRENCY_USDT);
         if (accountsResp == null) {
             log.warn("validateAccountBalance: 未获取到USDT账户信息，无法执行下单! 订单: {}", JsonUtil.toJson(orderParam));
@@ -649,18 +687,26 @@ public class ShortTermTradingStrategyService {
      * 获取账户信息
      */
     public Map<String, BitgetAccountsResp> getAccountInfo() {
-        try {
-            ResponseResult<List<BitgetAccountsResp>> accountsResp = bitgetSession.getAccounts();
+        return getAccountInfoAsync().join();
+    }
+
+    /**
+     * 异步获取账户信息，失败时返回空 Map
+     */
+    public CompletableFuture<Map<String, BitgetAccountsResp>> getAccountInfoAsync() {
+        return bitgetSession.getAccountsAsync().handle((accountsResp, e) -> {
+            if (e != null) {
+                log.error("getAccountInfo-error", e);
+                return new ConcurrentHashMap<>();
+            }
             if (accountsResp != null && BG_RESPONSE_CODE_SUCCESS.equals(accountsResp.getCode())) {
                 List<BitgetAccountsResp> accounts = accountsResp.getData();
                 if (accounts != null && !accounts.isEmpty()) {
                     return accounts.stream().collect(Collectors.toMap(BitgetAccountsResp::getMarginCoin, v -> v, (k1, k2) -> k1));
                 }
             }
-        } catch (Exception e) {
-            log.error("getAccountInfo-error", e);
-        }
-        return new ConcurrentHashMap<>();
+            return new ConcurrentHashMap<>();
+        });
     }
 
     /**
@@ -853,15 +899,7 @@ public class ShortTermTradingStrategyService {
 
         taskExecutor.execute(() -> {
             try {
-                bitgetCustomService.subscribeWsClientContractPublic(subscribeRequests, data -> {
-                    if (data != null) {
-                        BitgetWSMarketResp marketResp = JsonUtil.toBean(data, BitgetWSMarketResp.class);
-                        if (marketResp.getData() != null && !marketResp.getData().isEmpty()) {
-                            BitgetWSMarketResp.MarketInfo info = marketResp.getData().getFirst();
-                            MARKET_PRICE_CACHE.put(info.getSymbol(), new BigDecimal(info.getLastPr()));
-                        }
-                    }
-                });
+                bitgetCustomService.subscribeWsClientContractTicker(subscribeRequests, WsTickerListener.latest(tickerFeed::onWsTicker));
             } catch (Exception e) {
                 log.error("startWebSocketMarketDataMonitoring-error:", e);
             }
@@ -888,6 +926,7 @@ public class ShortTermTradingStrategyService {
                     .append("<th>最高价时间</th>")
                     .append("<th>最低价</th>")
                     .append("<th>最低价时间</th>")
+                    .append("<th>行情源</th>")
                     .append("</tr></thead>");
             content.append("<tbody>");
 
@@ -900,6 +939,7 @@ public class ShortTermTradingStrategyService {
                         .append("<td>").append(DateUtil.formatDateTime(new Date(shortTermPrice.getHighPriceTimestamp()))).append("</td>")
                         .append("<td>").append(shortTermPrice.getLowPrice()).append("</td>")
                         .append("<td>").append(DateUtil.formatDateTime(new Date(shortTermPrice.getLowPriceTimestamp()))).append("</td>")
+                        .append("<td>").append(feedStatusText(shortTermPrice.getSymbol())).append("</td>")
                         .append("</tr>");
             }
             content.append("</tbody></table>");
@@ -913,4 +953,13 @@ public class ShortTermTradingStrategyService {
         }
     }
 
+    /**
+     * 交易对当前的行情来源与价格延迟，如 WEBSOCKET 120ms
+     */
+    private String feedStatusText(String symbol) {
+        BitgetTickerSnapshotService.FeedStatus status = tickerFeed.getStatus(symbol);
+        if (status == null) return "-";
+        return status.source() + (status.stalenessMillis() < 0 ? "" : " " + status.stalenessMillis() + "ms");
+    }
+
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import cn.hutool.core.date.DateUtil;
 import cn.hutool.core.util.IdUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.hy.common.enums.SymbolEnum;
+import com.hy.common.service.CandleStoreService;
+import com.hy.common.service.CandleStoreService.StoredCandle;
+import com.hy.common.service.CandleSyncCursor;
 import com.hy.common.service.MailService;
 import com.hy.modules.dex.entity.MovingAverageData;
 import com.hy.modules.dex.entity.MovingAveragePlaceOrder;
@@ -104,6 +107,11 @@ public class MovingAverageStrategyService {
      **/
     private final static Integer LIMIT = 1000;
 
+    /**
+     * K线增量同步游标，收盘K线写入本地存储，重启后只需补齐最后一根已存K线之后的部分
+     **/
+    private final CandleSyncCursor<StoredCandle> candleCursor;
+
     /**
      * 中间价偏离度
      * 用于跟踪趋势下单时的价格容忍范围
@@ -239,13 +247,14 @@ public class MovingAverageStrategyService {
     @Value("${spring.mail.username}")
     private String emailRecipient;
 
-    public MovingAverageStrategyService(MailService mailService, @Qualifier("applicationTaskExecutor") SimpleAsyncTaskExecutor taskExecutor, @Qualifier("taskScheduler") SimpleAsyncTaskScheduler taskScheduler, @Value("${hyperliquid.primary-wallet-address}") String primaryWalletAddress, @Value("${hyperliquid.api-wallet-private-key}") String apiWalletPrivateKey) {
+    public MovingAverageStrategyService(MailService mailService, CandleStoreService candleStore, @Qualifier("applicationTaskExecutor") SimpleAsyncTaskExecutor taskExecutor, @Qualifier("taskScheduler") SimpleAsyncTaskScheduler taskScheduler, @Value("${hyperliquid.primary-wallet-address}") String primaryWalletAddress, @Value("${hyperliquid.api-wallet-private-key}") String apiWalletPrivateKey) {
         this.client = HyperliquidClient.builder()
                 .addApiWallet(primaryWalletAddress, apiWalletPrivateKey)
                 .build();
         this.mailService = mailService;
         this.taskExecutor = taskExecutor;
         this.taskScheduler = taskScheduler;
+        this.candleCursor = new CandleSyncCursor<>(LIMIT, StoredCandle::timestamp, candleStore.cursorStore(CandleStoreService.VENUE_HYPERLIQUID));
     }
 
     /**
@@ -276,16 +285,19 @@ public class MovingAverageStrategyService {
     /**
      * 更新双均线指标数据
      * 计算并缓存MA/EMA指标，同时缓存BarSeries用于震荡过滤计算
+     * K线增量同步，只请求上次同步的最后一根K线及之后的部分
      **/
     public void updateMovingAverageIndicators() {
         for (MovingAverageStrategyConfig config : CONFIG_MAP.values()) {
             taskExecutor.execute(() -> {
                 try {
                     CandleInterval candleInterval = CandleInterval.fromCode(config.getTimeFrame());
-                    List<Candle> candles = client.getInfo().candleSnapshotByCount(config.getSymbol(), candleInterval, LIMIT);
-                    if (candles == null || candles.isEmpty()) return;
+                    List<StoredCandle> candles = candleCursor.sync(config.getSymbol(), config.getTimeFrame(), candleInterval.getDuration().toMillis(),
+                            (startMillis, limit) -> toStoredCandles(startMillis == null
+                                    ? client.getInfo().candleSnapshotByCount(config.getSymbol(), candleInterval, limit)
+                                    : client.getInfo().candleSnapshot(config.getSymbol(), candleInterval, startMillis, System.currentTimeMillis())));
                     if (candles.size() < 500) return;
-                    BarSeries barSeries = buildSeriesFromCandles(candles, candleInterval.getDuration());
+                    BarSeries barSeries = buildSeriesFromStoredCandles(candles, candleInterval.getDuration());
                     MovingAverageData data = calculateIndicators(barSeries, config.getPricePlace());
                     // 缓存双均线指标数据
                     DMAS_CACHE.put(config.getSymbol(), data);
@@ -711,6 +723,43 @@ public class MovingAverageStrategyService {
         return series;
     }
 
+    /**
+     * 由本地存储格式的K线构建 BarSeries，成交额沿用成交量（与 {@link #buildSeriesFromCandles} 一致）
+     */
+    public static BarSeries buildSeriesFromStoredCandles(List<StoredCandle> candles, Duration candleDuration) {
+        BarSeries series = new BaseBarSeriesBuilder().withNumFactory(DecimalNumFactory.getInstance()).build();
+        for (StoredCandle candle : candles) {
+            Bar bar = new BaseBar(
+                    candleDuration,
+                    Instant.ofEpochMilli(candle.timestamp()),
+                    null,
+                    series.numFactory().numOf(candle.open()),
+                    series.numFactory().numOf(candle.high()),
+                    series.numFactory().numOf(candle.low()),
+                    series.numFactory().numOf(candle.close()),
+                    series.numFactory().numOf(candle.baseVolume()),
+                    series.numFactory().numOf(candle.baseVolume()),
+                    0L
+            );
+            series.addBar(bar);
+        }
+        return series;
+    }
+
+    /**
+     * 转换为本地存储格式，Hyperliquid 不返回成交额，按 0 存储
+     */
+    private static List<StoredCandle> toStoredCandles(List<Candle> candles) {
+        if (candles == null) return Collections.emptyList();
+        List<StoredCandle> list = new ArrayList<>(candles.size());
+        for (Candle candle : candles) {
+            list.add(new StoredCandle(candle.getStartTimestamp(), new BigDecimal(candle.getOpenPrice()).doubleValue(),
+                    new BigDecimal(candle.getHighPrice()).doubleValue(), new BigDecimal(candle.getLowPrice()).doubleValue(),
+                    new BigDecimal(candle.getClosePrice()).doubleValue(), new BigDecimal(candle.getVolume()).doubleValue(), 0D));
+        }
+        return list;
+    }
+
     /**
      * 计算最新双均线指标
      * MA21 , EMA21 ,MA55 , EMA55, MA144 , EMA144
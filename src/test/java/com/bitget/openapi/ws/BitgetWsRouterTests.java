@@ -0,0 +1,178 @@
+package com.bitget.openapi.ws;
+
+import com.bitget.custom.entity.BitgetWsOrderResp;
+import com.bitget.custom.entity.BitgetWsPositionResp;
+import com.bitget.openapi.dto.request.ws.SubscribeReq;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 路由器为包内可见，测试放在同一包下
+ */
+public class BitgetWsRouterTests {
+
+    private static final String BOOKS_UPDATE = "{\"action\":\"update\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"books\",\"instId\":\"BTCUSDT\"},"
+            + "\"data\":[{\"asks\":[[\"3366.8\",\"9.8755\"],[\"3368\",\"0\"]],"
+            + "\"bids\":[[\"3366.1\",\"7.0306\",\"extra\"],[\"3366\",\"6.1773\"]],"
+            + "\"unknown\":{\"nested\":[1,2]},"
+            + "\"checksum\":-1282167646,\"seq\":123,\"pseq\":122,\"ts\":\"1695716059516\"},{\"asks\":[],\"bids\":[]}],"
+            + "\"ts\":1695716059517}";
+
+    private final BitgetWsRouter router = new BitgetWsRouter();
+
+    @Test
+    public void testReadBook() throws Exception {
+        WsMessage message = router.parse(BOOKS_UPDATE);
+
+        assertBook(message);
+    }
+
+    @Test
+    public void testReadBookFromBytes() throws Exception {
+        byte[] buf = ("xx" + BOOKS_UPDATE).getBytes(StandardCharsets.UTF_8);
+        WsMessage message = router.parse(buf, 2, buf.length - 2);
+
+        assertBook(message);
+    }
+
+    @Test
+    public void testReadSnapshotWithoutSequence() throws Exception {
+        WsMessage message = router.parse("{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"books5\",\"instId\":\"ETHUSDT\"},"
+                + "\"data\":[{\"asks\":[[\"1800.5\",\"1\"]],\"bids\":[[\"1800.4\",\"2\"]],\"ts\":\"1695716059516\"}]}");
+
+        WsBookData data = message.bookData;
+        assertEquals("snapshot", message.action);
+        assertEquals(1, data.askCount());
+        assertEquals(1, data.bidCount());
+        assertEquals(0L, data.getChecksum());
+        assertEquals(0L, data.getSeq());
+        assertEquals(0L, data.getPseq());
+        assertEquals(1695716059516L, data.getTs());
+    }
+
+    @Test
+    public void testNonBookChannelHasNoBookData() throws Exception {
+        WsMessage message = router.parse("{\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"trade\",\"instId\":\"BTCUSDT\"},"
+                + "\"data\":[{\"asks\":[[\"1\",\"1\"]]}]}");
+
+        assertTrue(message.hasData);
+        assertNull(message.bookData);
+    }
+
+    @Test
+    public void testTickerKeepsRawLastPrice() throws Exception {
+        WsMessage message = router.parse("{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"ticker\",\"instId\":\"BTCUSDT\"},"
+                + "\"data\":[{\"instId\":\"BTCUSDT\",\"lastPr\":\"27000.10\",\"bidPr\":\"27000.1\",\"askPr\":\"27000.2\",\"ts\":\"1695716059516\"}],"
+                + "\"ts\":1695716059517}");
+
+        WsTicker ticker = message.getTicker();
+        // 与 REST 行情一样按原始字符串转换，保留推送中的小数位
+        assertEquals("27000.10", ticker.lastPr());
+        assertEquals(new BigDecimal("27000.10"), new BigDecimal(ticker.lastPr()));
+        assertEquals(27000.1, ticker.bidPr());
+        assertEquals(1695716059516L, ticker.ts());
+
+        WsMessage empty = router.parse("{\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"ticker\",\"instId\":\"BTCUSDT\"},"
+                + "\"data\":[{\"lastPr\":\"\"}]}");
+        assertNull(empty.getTicker().lastPr());
+    }
+
+    @Test
+    public void testConflatedTickerReportsDataTimestamp() throws Exception {
+        SubscribeReq ticker = SubscribeReq.builder().instType("USDT-FUTURES").channel("ticker").instId("BTCUSDT").build();
+        router.register(ticker, WsTickerListener.latest(t -> {
+        }));
+
+        WsMessage message = router.parse("{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"ticker\",\"instId\":\"BTCUSDT\"},"
+                + "\"data\":[{\"instId\":\"BTCUSDT\",\"lastPr\":\"27000.1\",\"ts\":\"1695716059516\"}],\"ts\":1695716059517}");
+
+        // 合并模式下 data 尚未解码，延迟统计读取时间戳时解码
+        assertTrue(message.isConflated());
+        assertNull(message.ticker);
+        assertEquals(1695716059516L, message.getExchangeTs());
+        assertEquals("27000.1", message.getTicker().lastPr());
+    }
+
+    @Test
+    public void testTypedDataForEveryListenerOnRoute() throws Exception {
+        SubscribeReq orders = SubscribeReq.builder().instType("USDT-FUTURES").channel("orders").instId("default").build();
+        List<BitgetWsOrderResp> first = new ArrayList<>();
+        List<BitgetWsOrderResp> second = new ArrayList<>();
+        router.register(orders, WsDataListener.of(BitgetWsOrderResp.class, first::addAll));
+        router.register(orders, WsDataListener.of(BitgetWsOrderResp.class, second::addAll));
+        // 普通监听器与带类型的监听器可以共存
+        List<String> raw = new ArrayList<>();
+        router.register(orders, raw::add);
+
+        WsMessage message = router.parse("{\"action\":\"snapshot\",\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"orders\",\"instId\":\"default\"},"
+                + "\"data\":[{\"instId\":\"BTCUSDT\",\"orderId\":\"1\",\"price\":\"100\",\"unknown\":1},{\"instId\":\"ETHUSDT\",\"orderId\":\"2\"}]}");
+        router.lookup(message).onMessage(message);
+
+        for (List<BitgetWsOrderResp> received : List.of(first, second)) {
+            assertEquals(2, received.size());
+            assertEquals("BTCUSDT", received.get(0).getInstId());
+            assertEquals("1", received.get(0).getOrderId());
+            assertEquals("100", received.get(0).getPrice());
+            assertEquals("2", received.get(1).getOrderId());
+        }
+        assertEquals(1, raw.size());
+    }
+
+    @Test
+    public void testConflictingDataTypesRejected() {
+        SubscribeReq orders = SubscribeReq.builder().instType("USDT-FUTURES").channel("orders").instId("default").build();
+        router.register(orders, WsDataListener.of(BitgetWsOrderResp.class, data -> {
+        }));
+
+        assertThrows(IllegalArgumentException.class, () -> router.register(orders, WsDataListener.of(BitgetWsPositionResp.class, data -> {
+        })));
+    }
+
+    @Test
+    public void testListenerFailureDoesNotStopOthers() throws Exception {
+        SubscribeReq orders = SubscribeReq.builder().instType("USDT-FUTURES").channel("orders").instId("default").build();
+        List<BitgetWsOrderResp> received = new ArrayList<>();
+        router.register(orders, WsDataListener.of(BitgetWsOrderResp.class, data -> {
+            throw new IllegalStateException("strategy error");
+        }));
+        router.register(orders, WsDataListener.of(BitgetWsOrderResp.class, received::addAll));
+
+        WsMessage message = router.parse("{\"arg\":{\"instType\":\"USDT-FUTURES\",\"channel\":\"orders\",\"instId\":\"default\"},"
+                + "\"data\":[{\"orderId\":\"1\"}]}");
+        router.lookup(message).onMessage(message);
+
+        assertEquals(1, received.size());
+    }
+
+    private static void assertBook(WsMessage message) {
+        assertEquals("update", message.action);
+        assertEquals("books", message.channel);
+        assertEquals("BTCUSDT", message.instId);
+        assertEquals(1695716059517L, message.ts);
+
+        WsBookData data = message.bookData;
+        assertEquals(2, data.askCount());
+        assertEquals("3366.8", data.askPrice(0));
+        assertEquals("9.8755", data.askSize(0));
+        assertEquals("3368", data.askPrice(1));
+        assertEquals("0", data.askSize(1));
+        assertEquals(2, data.bidCount());
+        assertEquals("3366.1", data.bidPrice(0));
+        assertEquals("7.0306", data.bidSize(0));
+        assertEquals("3366", data.bidPrice(1));
+        assertEquals("6.1773", data.bidSize(1));
+        assertEquals(-1282167646L, data.getChecksum());
+        assertEquals(123L, data.getSeq());
+        assertEquals(122L, data.getPseq());
+        assertEquals(1695716059516L, data.getTs());
+    }
+}
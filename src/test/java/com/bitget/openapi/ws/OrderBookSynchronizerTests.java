@@ -0,0 +1,221 @@
+package com.bitget.openapi.ws;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 深度数据的 seq / pseq 为包内可见，测试放在同一包下
+ */
+public class OrderBookSynchronizerTests {
+
+    private static final WsChannelKey KEY = new WsChannelKey("USDT-FUTURES", "books", "BTCUSDT");
+
+    private final List<CompletableFuture<WsBookData>> loads = new ArrayList<>();
+
+    private int resubscribes;
+
+    private final OrderBookSynchronizer synchronizer = new OrderBookSynchronizer(KEY, key -> {
+        CompletableFuture<WsBookData> future = new CompletableFuture<>();
+        loads.add(future);
+        return future;
+    }, () -> resubscribes++);
+
+    @Test
+    public void testContiguousUpdatesApplied() {
+        assertTrue(synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1")));
+        assertTrue(synchronizer.onMessage("update", book(110, 11, 10, "101", "2")));
+
+        assertEquals(11, synchronizer.getOrderBook().getSeq());
+        assertEquals(101d, synchronizer.getOrderBook().bidPrice(0));
+        assertTrue(loads.isEmpty());
+        assertEquals(0, synchronizer.getResyncCount());
+    }
+
+    @Test
+    public void testUpdateBeforeSnapshotResyncs() {
+        assertFalse(synchronizer.onMessage("update", book(110, 11, 10, "101", "1")));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void testGapTriggersOneRestLoad() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+
+        assertFalse(synchronizer.onMessage("update", book(130, 13, 12, "102", "1")));
+        // 重同步期间的增量只缓存，不再发起加载
+        assertFalse(synchronizer.onMessage("update", book(140, 14, 13, "103", "1")));
+        assertFalse(synchronizer.onMessage("update", book(150, 15, 14, "104", "1")));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, loads.size());
+        assertEquals(1, synchronizer.getResyncCount());
+        assertEquals(0, resubscribes);
+    }
+
+    @Test
+    public void testReplayNewerBufferedUpdatesInOrder() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        synchronizer.onMessage("update", book(140, 14, 13, "103", "1"));
+        // 同一价位先改为 2 再改为 3，按顺序回放后应为 3
+        synchronizer.onMessage("update", book(150, 15, 14, "103", "2"));
+        synchronizer.onMessage("update", book(160, 16, 15, "103", "3"));
+
+        // 快照已包含 ts=130 及之前的变化，102 档在快照中已删除
+        loads.getFirst().complete(book(135, 0, 0, "101", "1"));
+
+        OrderBook orderBook = synchronizer.getOrderBook();
+        assertFalse(synchronizer.isResyncing());
+        assertEquals(0, resubscribes);
+        assertEquals(2, orderBook.bidDepth());
+        assertEquals(103d, orderBook.bidPrice(0));
+        assertEquals(3d, orderBook.bidSize(0));
+        assertEquals(101d, orderBook.bidPrice(1));
+        assertEquals(16, orderBook.getSeq());
+
+        // 恢复后继续按 pseq 检查
+        assertTrue(synchronizer.onMessage("update", book(170, 17, 16, "104", "1")));
+        assertEquals(104d, orderBook.bidPrice(0));
+    }
+
+    @Test
+    public void testStaleBufferedUpdatesDropped() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        synchronizer.onMessage("update", book(140, 14, 13, "102", "0"));
+
+        // 快照晚于全部缓存增量，ts=140 的删除已体现在快照中，不应再次回放
+        loads.getFirst().complete(book(150, 0, 0, "102", "5"));
+
+        OrderBook orderBook = synchronizer.getOrderBook();
+        assertFalse(synchronizer.isResyncing());
+        assertEquals(1, orderBook.bidDepth());
+        assertEquals(102d, orderBook.bidPrice(0));
+        assertEquals(5d, orderBook.bidSize(0));
+    }
+
+    @Test
+    public void testSnapshotOlderThanGapResubscribes() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+
+        // 快照早于触发重同步的增量，缺失的增量可能不在快照中
+        loads.getFirst().complete(book(120, 0, 0, "101", "1"));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, resubscribes);
+        assertTrue(synchronizer.getOrderBook().isEmpty());
+    }
+
+    @Test
+    public void testBufferedGapResubscribes() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        synchronizer.onMessage("update", book(150, 15, 14, "103", "1"));
+
+        loads.getFirst().complete(book(135, 0, 0, "101", "1"));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, resubscribes);
+    }
+
+    @Test
+    public void testChecksumMismatchAfterReplayResubscribes() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        loads.getFirst().complete(book(135, 0, 0, "101", "1.0"));
+        assertFalse(synchronizer.isResyncing());
+
+        // 推送的校验和按 "1" 计算，REST 快照的 "1.0" 使校验和不一致
+        WsBookData update = book(140, 14, 13, "99", "1");
+        update.checksum = checksum("101", "1", "99", "1");
+        assertFalse(synchronizer.onMessage("update", update));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, resubscribes);
+        // 退回重新订阅，不再拉取 REST 快照
+        assertEquals(1, loads.size());
+
+        // 收到推送快照后恢复
+        WsBookData snapshot = book(200, 20, 0, "101", "1");
+        snapshot.checksum = checksum("101", "1");
+        assertTrue(synchronizer.onMessage("snapshot", snapshot));
+        assertFalse(synchronizer.isResyncing());
+    }
+
+    @Test
+    public void testChecksumMatchAfterReplayKeepsBook() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        loads.getFirst().complete(book(135, 0, 0, "101", "1"));
+
+        WsBookData update = book(140, 14, 13, "99", "1");
+        update.checksum = checksum("101", "1", "99", "1");
+        assertTrue(synchronizer.onMessage("update", update));
+
+        // 之后的校验和不一致走正常的重同步，重新拉取 REST 快照
+        WsBookData corrupt = book(150, 15, 14, "98", "1");
+        corrupt.checksum = 1;
+        assertFalse(synchronizer.onMessage("update", corrupt));
+        assertEquals(0, resubscribes);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    public void testRestLoadFailureResubscribes() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+
+        loads.getFirst().completeExceptionally(new IllegalStateException("timeout"));
+
+        assertTrue(synchronizer.isResyncing());
+        assertEquals(1, resubscribes);
+    }
+
+    @Test
+    public void testPushSnapshotDiscardsPendingRestLoad() {
+        synchronizer.onMessage("snapshot", book(100, 10, 0, "100", "1"));
+        synchronizer.onMessage("update", book(130, 13, 12, "102", "1"));
+        assertTrue(synchronizer.onMessage("snapshot", book(140, 14, 0, "105", "1")));
+
+        // 过期的 REST 快照不再覆盖订单簿
+        loads.getFirst().complete(book(135, 0, 0, "101", "1"));
+
+        assertEquals(1, synchronizer.getOrderBook().bidDepth());
+        assertEquals(105d, synchronizer.getOrderBook().bidPrice(0));
+    }
+
+    /**
+     * 只有一档买盘的深度数据
+     */
+    private static WsBookData book(long ts, long seq, long pseq, String bidPrice, String bidSize) {
+        WsBookData data = new WsBookData();
+        data.addBid(bidPrice, bidSize);
+        data.ts = ts;
+        data.seq = seq;
+        data.pseq = pseq;
+        return data;
+    }
+
+    /**
+     * 按 价格, 数量 交替传入买盘档位，返回对应订单簿的校验和
+     */
+    private static long checksum(String... bids) {
+        WsBookData data = new WsBookData();
+        for (int i = 0; i < bids.length; i += 2) {
+            data.addBid(bids[i], bids[i + 1]);
+        }
+        OrderBook orderBook = new OrderBook(KEY.instId());
+        orderBook.applySnapshot(data);
+        return orderBook.checksum(OrderBook.CHECKSUM_GEAR);
+    }
+}
@@ -0,0 +1,118 @@
+package com.hy;
+
+import com.bitget.openapi.common.client.BitgetRateLimiter;
+import com.bitget.openapi.common.enums.EndpointGroupEnum;
+import com.bitget.openapi.common.enums.RequestPriorityEnum;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitgetRateLimiterTests {
+
+    /**
+     * 按 uid 限频、每秒 10 个令牌，每个限流器独立
+     */
+    private static final EndpointGroupEnum GROUP = EndpointGroupEnum.ACCOUNT;
+
+    @Test
+    public void testBurstUpToCapacity() {
+        BitgetRateLimiter limiter = new BitgetRateLimiter();
+
+        for (int i = 0; i < GROUP.getPermitsPerSecond(); i++) {
+            assertTrue(limiter.acquire(GROUP).isDone());
+        }
+        CompletableFuture<Void> next = limiter.acquire(GROUP);
+        assertFalse(next.isDone());
+        assertEquals(1, limiter.getWaiting(GROUP));
+
+        next.join();
+        assertEquals(0, limiter.getWaiting(GROUP));
+    }
+
+    @Test
+    public void testHigherPriorityGrantedFirst() throws Exception {
+        BitgetRateLimiter limiter = new BitgetRateLimiter();
+        drain(limiter, GROUP);
+
+        List<RequestPriorityEnum> granted = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        List<RequestPriorityEnum> queued = List.of(RequestPriorityEnum.BACKGROUND, RequestPriorityEnum.MARKET,
+                RequestPriorityEnum.QUERY, RequestPriorityEnum.BACKGROUND, RequestPriorityEnum.ORDER);
+        for (RequestPriorityEnum priority : queued) {
+            futures.add(limiter.acquire(GROUP, priority).thenRun(() -> granted.add(priority)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(RequestPriorityEnum.ORDER, RequestPriorityEnum.QUERY, RequestPriorityEnum.MARKET,
+                RequestPriorityEnum.BACKGROUND, RequestPriorityEnum.BACKGROUND), granted);
+    }
+
+    @Test
+    public void testNewCallerDoesNotOvertakeWaiters() {
+        BitgetRateLimiter limiter = new BitgetRateLimiter();
+        drain(limiter, GROUP);
+        CompletableFuture<Void> waiting = limiter.acquire(GROUP, RequestPriorityEnum.BACKGROUND);
+
+        // 有等待者时即使令牌已补充，新请求也要排队
+        assertFalse(limiter.acquire(GROUP, RequestPriorityEnum.ORDER).isDone());
+        waiting.join();
+    }
+
+    @Test
+    public void testCancelledWaitersDoNotConsumeTokens() throws Exception {
+        BitgetRateLimiter limiter = new BitgetRateLimiter();
+        drain(limiter, GROUP);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire(GROUP, RequestPriorityEnum.ORDER).cancel(false);
+        }
+        long start = System.nanoTime();
+        limiter.acquire(GROUP, RequestPriorityEnum.BACKGROUND).get(5, TimeUnit.SECONDS);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 一个令牌约 100ms 补充，排在前面的只有 drain 留下的请求；被取消的 5 个等待者若占用令牌则至少需要 700ms
+        assertTrue(waitedMillis < 450, "waited " + waitedMillis + "ms");
+        assertEquals(0, limiter.getWaiting(GROUP));
+    }
+
+    @Test
+    public void testAccountScopedGroupsAreIndependent() {
+        BitgetRateLimiter first = new BitgetRateLimiter();
+        BitgetRateLimiter second = new BitgetRateLimiter();
+
+        assertEquals(GROUP.getPermitsPerSecond(), drain(first, GROUP));
+        assertEquals(GROUP.getPermitsPerSecond(), drain(second, GROUP));
+    }
+
+    @Test
+    public void testIpScopedGroupsAreSharedAcrossLimiters() throws Exception {
+        EndpointGroupEnum group = EndpointGroupEnum.POSITION_LEVER;
+        assertTrue(group.isIpScoped());
+        // 共享令牌桶可能被之前的测试用过，等待补满
+        TimeUnit.MILLISECONDS.sleep(1100);
+        BitgetRateLimiter first = new BitgetRateLimiter();
+        BitgetRateLimiter second = new BitgetRateLimiter();
+
+        assertEquals(group.getPermitsPerSecond(), drain(first, group));
+        assertFalse(second.acquire(group).isDone());
+    }
+
+    /**
+     * 取走当前全部可立即获得的令牌，最后一次未获得令牌的请求留在队列中
+     */
+    private static int drain(BitgetRateLimiter limiter, EndpointGroupEnum group) {
+        int granted = 0;
+        while (limiter.acquire(group, RequestPriorityEnum.ORDER).isDone()) {
+            granted++;
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,178 @@
+package com.hy;
+
+import com.bitget.openapi.common.client.BitgetRequestCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BitgetRequestCoalescerTests {
+
+    private static final String KEY = "/api/v2/mix/account/accounts{productType=USDT-FUTURES}";
+
+    private final BitgetRequestCoalescer coalescer = new BitgetRequestCoalescer();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void testConcurrentCallersShareOneLoad() throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        int callers = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.execute(KEY, Duration.ZERO, () -> load(response));
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<String>> result : results) {
+                futures.add(result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            futures.forEach(future -> assertFalse(future.isDone()));
+
+            response.complete("accounts");
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("accounts", future.get(5, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testCancelOneCallerDoesNotAffectOthers() throws Exception {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        CompletableFuture<String> first = coalescer.execute(KEY, Duration.ZERO, () -> load(response));
+        CompletableFuture<String> second = coalescer.execute(KEY, Duration.ZERO, () -> load(response));
+
+        first.cancel(true);
+        response.complete("accounts");
+
+        assertEquals(1, loads.get());
+        assertTrue(first.isCancelled());
+        assertEquals("accounts", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testZeroTtlDoesNotCache() throws Exception {
+        assertEquals("a", coalescer.execute(KEY, Duration.ZERO, () -> load(CompletableFuture.completedFuture("a"))).get());
+        assertEquals("b", coalescer.execute(KEY, Duration.ZERO, () -> load(CompletableFuture.completedFuture("b"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testCachedUntilTtlExpires() throws Exception {
+        Duration ttl = Duration.ofMillis(200);
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("a"))).get());
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("b"))).get());
+        assertEquals(1, loads.get());
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        assertEquals("c", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("c"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testDifferentKeysLoadSeparately() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("a"))).get());
+        assertEquals("b", coalescer.execute(KEY + "&marginCoin=USDT", ttl, () -> load(CompletableFuture.completedFuture("b"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testFailureIsNotCached() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        CompletableFuture<String> failed = coalescer.execute(KEY, ttl, () -> load(CompletableFuture.failedFuture(new IOException("timeout"))));
+        ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IOException.class, error.getCause());
+
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("a"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testLoaderThrowingIsNotCached() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        CompletableFuture<String> failed = coalescer.execute(KEY, ttl, () -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException("no client");
+        });
+        ExecutionException error = assertThrows(ExecutionException.class, failed::get);
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("a"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateClearsCache() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        assertEquals("a", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("a"))).get());
+
+        coalescer.invalidate();
+
+        assertEquals("b", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("b"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateDuringLoadDoesNotCacheStaleValue() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        CompletableFuture<String> staleResponse = new CompletableFuture<>();
+        CompletableFuture<String> stale = coalescer.execute(KEY, ttl, () -> load(staleResponse));
+
+        // 例如下单成功，账户状态已变化
+        coalescer.invalidate();
+
+        // 失效后的调用不再合并到失效前的请求
+        CompletableFuture<String> freshResponse = new CompletableFuture<>();
+        CompletableFuture<String> fresh = coalescer.execute(KEY, ttl, () -> load(freshResponse));
+        assertEquals(2, loads.get());
+
+        staleResponse.complete("before order");
+        assertEquals("before order", stale.get());
+        freshResponse.complete("after order");
+        assertEquals("after order", fresh.get());
+
+        assertEquals("after order", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("unexpected"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testStaleValueCompletingLastIsNotCached() throws Exception {
+        Duration ttl = Duration.ofSeconds(10);
+        CompletableFuture<String> staleResponse = new CompletableFuture<>();
+        coalescer.execute(KEY, ttl, () -> load(staleResponse));
+
+        coalescer.invalidate();
+        staleResponse.complete("before order");
+
+        assertEquals("after order", coalescer.execute(KEY, ttl, () -> load(CompletableFuture.completedFuture("after order"))).get());
+        assertEquals(2, loads.get());
+    }
+
+    private <T> CompletableFuture<T> load(CompletableFuture<T> response) {
+        loads.incrementAndGet();
+        return response;
+    }
+}
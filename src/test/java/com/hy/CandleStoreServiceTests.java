@@ -0,0 +1,209 @@
+package com.hy;
+
+import com.hy.common.service.CandleStoreService;
+import com.hy.common.service.CandleStoreService.StoredCandle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hy.common.service.CandleStoreService.VENUE_BITGET;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CandleStoreServiceTests {
+
+    private static final String SYMBOL = "BTCUSDT";
+
+    private static final String GRANULARITY = "1H";
+
+    private static final long HOUR = 3_600_000L;
+
+    private static final long START = 1_700_000_000_000L / HOUR * HOUR;
+
+    /**
+     * 文件内每块的行数
+     */
+    private static final int BLOCK_ROWS = 4096;
+
+    @TempDir
+    Path dir;
+
+    private CandleStoreService store;
+
+    @AfterEach
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void testAppendAcrossBlockBoundary() {
+        store = new CandleStoreService(dir.toString());
+        int total = BLOCK_ROWS * 2 + 10;
+        // 分两次写入，第一次正好停在块边界前一行
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, BLOCK_ROWS - 1));
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(BLOCK_ROWS - 1, total));
+
+        List<StoredCandle> all = store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, Integer.MAX_VALUE);
+        assertEquals(total, all.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(candle(i), all.get(i));
+        }
+        List<StoredCandle> tail = store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 3);
+        assertEquals(List.of(candle(total - 3), candle(total - 2), candle(total - 1)), tail);
+    }
+
+    @Test
+    public void testReopenKeepsData() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, BLOCK_ROWS + 1));
+        store.close();
+
+        store = new CandleStoreService(dir.toString());
+        List<StoredCandle> all = store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, Integer.MAX_VALUE);
+        assertEquals(BLOCK_ROWS + 1, all.size());
+        assertEquals(candle(BLOCK_ROWS), all.getLast());
+    }
+
+    @Test
+    public void testLowerBound() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, BLOCK_ROWS + 100));
+
+        assertEquals(BLOCK_ROWS + 100, readFrom(Long.MIN_VALUE).size());
+        assertEquals(BLOCK_ROWS + 100, readFrom(START).size());
+        // 落在两根K线之间时从下一根开始
+        assertEquals(candle(1), readFrom(START + 1).getFirst());
+        assertEquals(candle(BLOCK_ROWS), readFrom(ts(BLOCK_ROWS)).getFirst());
+        assertEquals(100, readFrom(ts(BLOCK_ROWS)).size());
+        assertEquals(1, readFrom(ts(BLOCK_ROWS + 99)).size());
+        assertTrue(readFrom(ts(BLOCK_ROWS + 99) + 1).isEmpty());
+    }
+
+    @Test
+    public void testSameTimestampOverwritesLast() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, 3));
+
+        StoredCandle updated = new StoredCandle(ts(2), 1, 9, 0.5, 8, 100, 800);
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, List.of(candle(1), updated));
+
+        // 早于最后一根的忽略，与最后一根时间相同的覆盖
+        assertEquals(List.of(candle(0), candle(1), updated), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+    }
+
+    @Test
+    public void testAppendContiguousStopsAtGap() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, 3));
+
+        List<StoredCandle> withGap = List.of(candle(2), candle(3), candle(5), candle(6));
+        assertFalse(store.appendContiguous(VENUE_BITGET, SYMBOL, GRANULARITY, HOUR, withGap));
+        assertEquals(candles(0, 4), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+        assertEquals(ts(3), store.lastTimestamp(VENUE_BITGET, SYMBOL, GRANULARITY));
+
+        assertTrue(store.appendContiguous(VENUE_BITGET, SYMBOL, GRANULARITY, HOUR, candles(4, 7)));
+        assertEquals(candles(0, 7), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+    }
+
+    @Test
+    public void testAppendContiguousToEmptyFile() {
+        store = new CandleStoreService(dir.toString());
+
+        assertEquals(Long.MIN_VALUE, store.lastTimestamp(VENUE_BITGET, SYMBOL, GRANULARITY));
+        assertTrue(store.appendContiguous(VENUE_BITGET, SYMBOL, GRANULARITY, HOUR, candles(10, 12)));
+        assertEquals(candles(10, 12), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+    }
+
+    @Test
+    public void testReplaceKeepsNewerRows() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(100, 110));
+
+        // 补齐更早的历史，与已存数据重叠的部分以给定K线为准
+        List<StoredCandle> history = new ArrayList<>(candles(0, 104));
+        StoredCandle revised = new StoredCandle(ts(103), 2, 2, 2, 2, 2, 2);
+        history.set(103, revised);
+        store.replace(VENUE_BITGET, SYMBOL, GRANULARITY, history);
+
+        List<StoredCandle> all = store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, Integer.MAX_VALUE);
+        assertEquals(110, all.size());
+        assertEquals(candle(0), all.getFirst());
+        assertEquals(revised, all.get(103));
+        assertEquals(candles(104, 110), all.subList(104, 110));
+
+        // 替换后文件仍可继续追加
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(110, 111));
+        assertEquals(111, store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testReplaceWithEmptyListKeepsData() {
+        store = new CandleStoreService(dir.toString());
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, 5));
+
+        store.replace(VENUE_BITGET, SYMBOL, GRANULARITY, List.of());
+
+        assertEquals(candles(0, 5), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+    }
+
+    @Test
+    public void testBadHeaderStartsEmpty() throws Exception {
+        Path file = dir.resolve(VENUE_BITGET).resolve(SYMBOL + "_" + GRANULARITY + ".candles");
+        Files.createDirectories(file.getParent());
+        byte[] garbage = new byte[4096];
+        for (int i = 0; i < garbage.length; i++) {
+            garbage[i] = (byte) (i * 31 + 7);
+        }
+        Files.write(file, garbage);
+
+        store = new CandleStoreService(dir.toString());
+        assertTrue(store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10).isEmpty());
+
+        store.append(VENUE_BITGET, SYMBOL, GRANULARITY, candles(0, 3));
+        store.close();
+        store = new CandleStoreService(dir.toString());
+        assertEquals(candles(0, 3), store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10));
+    }
+
+    @Test
+    public void testTruncatedFileStartsEmpty() throws Exception {
+        Path file = dir.resolve(VENUE_BITGET).resolve(SYMBOL + "_" + GRANULARITY + ".candles");
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[10]);
+
+        store = new CandleStoreService(dir.toString());
+        assertTrue(store.readTail(VENUE_BITGET, SYMBOL, GRANULARITY, 10).isEmpty());
+        assertEquals(Long.MIN_VALUE, store.lastTimestamp(VENUE_BITGET, SYMBOL, GRANULARITY));
+    }
+
+    private List<StoredCandle> readFrom(long timestamp) {
+        return store.readFrom(VENUE_BITGET, SYMBOL, GRANULARITY, timestamp);
+    }
+
+    private static long ts(int i) {
+        return START + i * HOUR;
+    }
+
+    private static StoredCandle candle(int i) {
+        return new StoredCandle(ts(i), i, i + 1.5, i - 0.5, i + 0.25, i * 10d, i * 100d);
+    }
+
+    /**
+     * 第 from 到 to（不含）根K线
+     */
+    private static List<StoredCandle> candles(int from, int to) {
+        List<StoredCandle> list = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            list.add(candle(i));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,231 @@
+package com.hy;
+
+import com.hy.common.service.CandleStoreService.StoredCandle;
+import com.hy.common.service.CandleSyncCursor;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CandleSyncCursorTests {
+
+    private static final String SYMBOL = "BTC";
+
+    private static final String GRANULARITY = "1h";
+
+    private static final long HOUR = 3_600_000L;
+
+    private static final int CAPACITY = 100;
+
+    private final Exchange exchange = new Exchange();
+
+    private final MemoryStore store = new MemoryStore();
+
+    @Test
+    public void testFirstSyncLoadsCapacity() throws Exception {
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp);
+
+        List<StoredCandle> bars = sync(cursor);
+
+        assertEquals(1, exchange.requests.size());
+        assertNull(exchange.requests.getFirst().start());
+        assertEquals(CAPACITY, exchange.requests.getFirst().limit());
+        assertEquals(CAPACITY, bars.size());
+        assertEquals(current(), bars.getLast().timestamp());
+        assertContiguous(bars);
+    }
+
+    @Test
+    public void testIncrementalFetchFromLastBar() throws Exception {
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp);
+        sync(cursor);
+        exchange.close = 2;
+
+        List<StoredCandle> bars = sync(cursor);
+
+        // 只请求上次的最后一根（可能尚未收盘）
+        Request request = exchange.requests.getLast();
+        assertEquals(current(), request.start());
+        assertEquals(1, request.limit());
+        assertEquals(CAPACITY, bars.size());
+        assertEquals(2, bars.getLast().close());
+        assertEquals(1, bars.get(bars.size() - 2).close());
+    }
+
+    @Test
+    public void testSeedFromStore() throws Exception {
+        store.bars.addAll(exchange.range(current() - 50 * HOUR, current() - 3 * HOUR));
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp, store);
+
+        List<StoredCandle> bars = sync(cursor);
+
+        Request request = exchange.requests.getFirst();
+        assertEquals(1, exchange.requests.size());
+        assertEquals(current() - 3 * HOUR, request.start());
+        assertEquals(4, request.limit());
+        assertEquals(51, bars.size());
+        assertContiguous(bars);
+        // 只写回收盘的K线，当前K线不写入
+        assertEquals(0, store.replaces);
+        assertEquals(current() - HOUR, store.bars.getLast().timestamp());
+        assertEquals(50, store.bars.size());
+        assertContiguous(store.bars);
+    }
+
+    @Test
+    public void testFullReloadRewritesStaleStore() throws Exception {
+        store.bars.addAll(exchange.range(current() - 5000 * HOUR, current() - 4000 * HOUR));
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp, store);
+
+        List<StoredCandle> bars = sync(cursor);
+
+        assertNull(exchange.requests.getFirst().start());
+        assertEquals(CAPACITY, bars.size());
+        assertContiguous(bars);
+        // 与旧数据之间的缺口无法补齐，存储被重写而不是追加在旧数据之后
+        assertEquals(1, store.replaces);
+        assertEquals(CAPACITY - 1, store.bars.size());
+        assertEquals(current() - HOUR, store.bars.getLast().timestamp());
+        assertContiguous(store.bars);
+
+        // 之后的同步回到增量请求，不再重写
+        sync(cursor);
+        assertEquals(current(), exchange.requests.getLast().start());
+        assertEquals(1, store.replaces);
+    }
+
+    @Test
+    public void testNonContiguousAppendRewritesStore() throws Exception {
+        store.bars.addAll(exchange.range(current() - 50 * HOUR, current() - 3 * HOUR));
+        // 交易所缺失一根K线，增量结果与已存数据不连续
+        exchange.missing = current() - 2 * HOUR;
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp, store);
+
+        sync(cursor);
+
+        assertEquals(1, store.replaces);
+        assertEquals(current() - HOUR, store.bars.getLast().timestamp());
+        assertContiguous(store.bars);
+    }
+
+    @Test
+    public void testFailedFetchKeepsSeries() throws Exception {
+        CandleSyncCursor<StoredCandle> cursor = new CandleSyncCursor<>(CAPACITY, StoredCandle::timestamp);
+        List<StoredCandle> before = sync(cursor);
+
+        assertThrows(IOException.class, () -> cursor.sync(SYMBOL, GRANULARITY, HOUR, (start, limit) -> {
+            throw new IOException("timeout");
+        }));
+
+        List<StoredCandle> after = sync(cursor);
+        assertEquals(before.size(), after.size());
+        assertEquals(current(), exchange.requests.getLast().start());
+    }
+
+    private List<StoredCandle> sync(CandleSyncCursor<StoredCandle> cursor) throws Exception {
+        return cursor.sync(SYMBOL, GRANULARITY, HOUR, exchange);
+    }
+
+    private long current() {
+        return exchange.now / HOUR * HOUR;
+    }
+
+    private static void assertContiguous(List<StoredCandle> bars) {
+        for (int i = 1; i < bars.size(); i++) {
+            assertEquals(HOUR, bars.get(i).timestamp() - bars.get(i - 1).timestamp(), "gap at " + i);
+        }
+    }
+
+    private record Request(Long start, int limit) {
+    }
+
+    /**
+     * 按当前时间生成K线，now 取当前小时的半点
+     */
+    private static final class Exchange implements CandleSyncCursor.Fetcher<StoredCandle> {
+
+        private final List<Request> requests = new ArrayList<>();
+
+        private final long now = System.currentTimeMillis() / HOUR * HOUR + HOUR / 2;
+
+        private double close = 1;
+
+        /**
+         * 交易所缺失的K线时间
+         */
+        private long missing = Long.MIN_VALUE;
+
+        @Override
+        public List<StoredCandle> fetch(Long startMillis, int limit) {
+            requests.add(new Request(startMillis, limit));
+            long current = now / HOUR * HOUR;
+            long from = startMillis == null ? current - (limit - 1) * HOUR : startMillis;
+            List<StoredCandle> bars = range(from, Math.min(current, from + (limit - 1) * HOUR));
+            if (!bars.isEmpty() && bars.getLast().timestamp() == current) {
+                StoredCandle last = bars.removeLast();
+                bars.add(new StoredCandle(last.timestamp(), 1, 1, 1, close, 1, 1));
+            }
+            return bars;
+        }
+
+        /**
+         * from 到 to（含）的K线
+         */
+        private List<StoredCandle> range(long from, long to) {
+            List<StoredCandle> bars = new ArrayList<>();
+            for (long ts = from; ts <= to; ts += HOUR) {
+                if (ts == missing) {
+                    continue;
+                }
+                bars.add(new StoredCandle(ts, 1, 1, 1, 1, 1, 1));
+            }
+            return bars;
+        }
+    }
+
+    private static final class MemoryStore implements CandleSyncCursor.Store<StoredCandle> {
+
+        private final List<StoredCandle> bars = new ArrayList<>();
+
+        private int replaces;
+
+        @Override
+        public List<StoredCandle> load(String symbol, String granularity, int limit) {
+            return new ArrayList<>(bars.subList(Math.max(0, bars.size() - limit), bars.size()));
+        }
+
+        @Override
+        public boolean appendContiguous(String symbol, String granularity, long durationMillis, List<StoredCandle> closed) {
+            for (StoredCandle candle : closed) {
+                long last = bars.isEmpty() ? Long.MIN_VALUE : bars.getLast().timestamp();
+                if (candle.timestamp() < last) {
+                    continue;
+                }
+                if (!bars.isEmpty() && candle.timestamp() > last + durationMillis) {
+                    return false;
+                }
+                if (candle.timestamp() == last) {
+                    bars.set(bars.size() - 1, candle);
+                } else {
+                    bars.add(candle);
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void replace(String symbol, String granularity, List<StoredCandle> closed) {
+            replaces++;
+            long last = closed.isEmpty() ? Long.MIN_VALUE : closed.getLast().timestamp();
+            List<StoredCandle> newer = bars.stream().filter(candle -> candle.timestamp() > last).toList();
+            bars.clear();
+            bars.addAll(closed);
+            bars.addAll(newer);
+        }
+    }
+}
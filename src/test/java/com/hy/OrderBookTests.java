@@ -0,0 +1,205 @@
+package com.hy;
+
+import com.bitget.openapi.ws.OrderBook;
+import com.bitget.openapi.ws.WsBookData;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderBookTests {
+
+    /**
+     * 价格刻度为 10 位小数
+     */
+    private static final long TICKS_PER_UNIT = 10_000_000_000L;
+
+    @Test
+    public void testPriceToTicks() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        book.applyUpdate(bids("3366.1", "1", "12", "1", "0.0000000001", "1", "5.10", "1"));
+
+        assertEquals(3366 * TICKS_PER_UNIT + TICKS_PER_UNIT / 10, book.bidPriceTicks(0));
+        assertEquals(12 * TICKS_PER_UNIT, book.bidPriceTicks(1));
+        assertEquals(5 * TICKS_PER_UNIT + TICKS_PER_UNIT / 10, book.bidPriceTicks(2));
+        assertEquals(1L, book.bidPriceTicks(3));
+        assertEquals(3366.1d, book.bidPrice(0));
+    }
+
+    @Test
+    public void testPriceWithTrailingZerosBeyondScale() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        book.applyUpdate(bids("1.000000000000", "1"));
+
+        assertEquals(TICKS_PER_UNIT, book.bidPriceTicks(0));
+    }
+
+    @Test
+    public void testInvalidPrice() {
+        OrderBook book = new OrderBook("BTCUSDT");
+
+        assertThrows(NumberFormatException.class, () -> book.applyUpdate(bids("0.00000000001", "1")));
+        assertThrows(NumberFormatException.class, () -> book.applyUpdate(bids("1e5", "1")));
+        assertThrows(NumberFormatException.class, () -> book.applyUpdate(bids("-1", "1")));
+    }
+
+    @Test
+    public void testInsertKeepsBestPriceFirst() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        WsBookData data = new WsBookData();
+        data.addBid("100", "1");
+        data.addBid("102", "2");
+        data.addBid("101", "3");
+        data.addAsk("105", "1");
+        data.addAsk("103", "2");
+        data.addAsk("104", "3");
+        book.applySnapshot(data);
+
+        assertEquals(3, book.bidDepth());
+        assertEquals(102d, book.bidPrice(0));
+        assertEquals(101d, book.bidPrice(1));
+        assertEquals(100d, book.bidPrice(2));
+        assertEquals(3, book.askDepth());
+        assertEquals(103d, book.askPrice(0));
+        assertEquals(104d, book.askPrice(1));
+        assertEquals(105d, book.askPrice(2));
+        assertEquals(3d, book.bidSize(1));
+    }
+
+    @Test
+    public void testUpdateAndDeleteLevels() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        book.applySnapshot(bids("100", "1", "101", "1", "102", "1"));
+
+        // 覆盖已有档位的数量
+        book.applyUpdate(bids("101", "5"));
+        assertEquals(3, book.bidDepth());
+        assertEquals(5d, book.bidSize(1));
+
+        // 数量为0删除档位，0 的任意小数写法都视为删除
+        book.applyUpdate(bids("102", "0", "100", "0.000"));
+        assertEquals(1, book.bidDepth());
+        assertEquals(101d, book.bidPrice(0));
+
+        // 删除不存在的档位不影响订单簿
+        book.applyUpdate(bids("99", "0"));
+        assertEquals(1, book.bidDepth());
+
+        book.applyUpdate(bids("100.5", "2"));
+        assertEquals(101d, book.bidPrice(0));
+        assertEquals(100.5d, book.bidPrice(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> book.bidPrice(2));
+    }
+
+    @Test
+    public void testSnapshotReplacesAllLevels() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        book.applySnapshot(bids("100", "1", "101", "1"));
+        book.applySnapshot(bids("200", "1"));
+
+        assertEquals(1, book.bidDepth());
+        assertEquals(0, book.askDepth());
+        assertEquals(200d, book.bidPrice(0));
+    }
+
+    @Test
+    public void testGrowBeyondInitialCapacity() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        WsBookData data = new WsBookData();
+        for (int i = 1; i <= 200; i++) {
+            data.addAsk(String.valueOf(i), "1");
+        }
+        book.applySnapshot(data);
+
+        assertEquals(200, book.askDepth());
+        assertEquals(1d, book.askPrice(0));
+        assertEquals(200d, book.askPrice(199));
+    }
+
+    /**
+     * Bitget 文档规定的校验和格式：买一:量:卖一:量:买二:量:卖二:量...，使用推送中的原始文本，期望值为该字符串 CRC32 的有符号整数
+     */
+    @Test
+    public void testChecksumFormat() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        WsBookData data = new WsBookData();
+        data.addBid("3366.1", "7.0306");
+        data.addBid("3366", "6.1773");
+        data.addBid("3365.9", "1.2");
+        data.addAsk("3366.8", "9.8755");
+        data.addAsk("3368", "8.5658");
+        data.addAsk("3368.5", "0.5");
+        book.applySnapshot(data);
+
+        String expected = "3366.1:7.0306:3366.8:9.8755:3366:6.1773:3368:8.5658:3365.9:1.2:3368.5:0.5";
+        assertEquals(crc32(expected), book.checksum(OrderBook.CHECKSUM_GEAR));
+        assertEquals(-1282167646, book.checksum(OrderBook.CHECKSUM_GEAR));
+        assertTrue(book.verify(-1282167646L));
+        assertFalse(book.verify(-1282167645L));
+    }
+
+    @Test
+    public void testChecksumWithUnevenDepth() {
+        OrderBook book = new OrderBook("BTCUSDT");
+        WsBookData data = new WsBookData();
+        data.addBid("3366.1", "7.0306");
+        data.addAsk("3366.8", "9.8755");
+        data.addAsk("3368", "8.5658");
+        book.applySnapshot(data);
+
+        assertEquals(crc32("3366.1:7.0306:3366.8:9.8755:3368:8.5658"), book.checksum(OrderBook.CHECKSUM_GEAR));
+    }
+
+    @Test
+    public void testChecksumUsesFirst25Levels() {
+        OrderBook full = new OrderBook("BTCUSDT");
+        OrderBook top = new OrderBook("BTCUSDT");
+        WsBookData fullData = new WsBookData();
+        WsBookData topData = new WsBookData();
+        for (int i = 0; i < 30; i++) {
+            fullData.addBid(String.valueOf(1000 - i), "1.5");
+            fullData.addAsk(String.valueOf(1001 + i), "2.5");
+            if (i < OrderBook.CHECKSUM_GEAR) {
+                topData.addBid(String.valueOf(1000 - i), "1.5");
+                topData.addAsk(String.valueOf(1001 + i), "2.5");
+            }
+        }
+        full.applySnapshot(fullData);
+        top.applySnapshot(topData);
+
+        assertEquals(top.checksum(OrderBook.CHECKSUM_GEAR), full.checksum(OrderBook.CHECKSUM_GEAR));
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < OrderBook.CHECKSUM_GEAR; i++) {
+            expected.append(1000 - i).append(":1.5:").append(1001 + i).append(":2.5:");
+        }
+        expected.setLength(expected.length() - 1);
+        assertEquals(crc32(expected.toString()), full.checksum(OrderBook.CHECKSUM_GEAR));
+    }
+
+    @Test
+    public void testChecksumOfEmptyBook() {
+        assertEquals(crc32(""), new OrderBook("BTCUSDT").checksum(OrderBook.CHECKSUM_GEAR));
+    }
+
+    /**
+     * 按 价格, 数量 交替传入买盘档位
+     */
+    private static WsBookData bids(String... levels) {
+        WsBookData data = new WsBookData();
+        for (int i = 0; i < levels.length; i += 2) {
+            data.addBid(levels[i], levels[i + 1]);
+        }
+        return data;
+    }
+
+    private static int crc32(String text) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(text.getBytes(StandardCharsets.UTF_8));
+        return (int) crc32.getValue();
+    }
+}